@@ -0,0 +1,69 @@
+package io.jenkins.plugins.insightappsec;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a line of the build log, as written on every status change and poll failure of a scan, to a stream
+ * discarding its output, so that formatting and the timestamp are measured rather than the console.
+ *
+ * A Jenkins build log flushes on every line, compare 'autoFlush' to see the cost of that alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InsightAppSecLoggerBenchmark {
+
+    private static final String SCAN_ID = "00000000-0000-0000-0000-000000000000";
+
+    @Param({"false", "true"})
+    private boolean autoFlush;
+
+    private InsightAppSecLogger logger;
+    private InsightAppSecLogger fixedTimestampLogger;
+
+    @Setup
+    public void setup() throws UnsupportedEncodingException {
+        PrintStream printStream = new PrintStream(new NullOutputStream(), autoFlush, StandardCharsets.UTF_8.name());
+
+        logger = new InsightAppSecLogger(printStream);
+        fixedTimestampLogger = new InsightAppSecLogger(printStream, () -> "2020-01-01T00:00:00");
+    }
+
+    @Benchmark
+    public void logMessage() {
+        logger.log("Desired scan status has been reached");
+    }
+
+    @Benchmark
+    public void logTemplate() {
+        logger.log("Beginning polling for scan with id: %s", SCAN_ID);
+    }
+
+    /**
+     * As {@link #logTemplate()} without formatting the current time, i.e. the cost of the timestamp alone.
+     */
+    @Benchmark
+    public void logTemplateFixedTimestamp() {
+        fixedTimestampLogger.log("Beginning polling for scan with id: %s", SCAN_ID);
+    }
+
+}
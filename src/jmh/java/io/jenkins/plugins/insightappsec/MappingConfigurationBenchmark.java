@@ -0,0 +1,118 @@
+package io.jenkins.plugins.insightappsec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.jenkins.plugins.insightappsec.api.Identifiable;
+import io.jenkins.plugins.insightappsec.api.Page;
+import io.jenkins.plugins.insightappsec.api.scan.Scan;
+import io.jenkins.plugins.insightappsec.api.vulnerability.Vulnerability;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static io.jenkins.plugins.insightappsec.api.scan.ScanModels.aScan;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.aCompleteVulnerability;
+
+/**
+ * Measures the settings of {@link MappingConfiguration#createObjectMapper()} on the payloads the plugin maps:
+ * skipping properties of the API unknown to the models, leaving nulls out of written JSON, and the cost of a new
+ * mapper, which must resolve its serializers and deserializers again, against reuse of the shared instance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MappingConfigurationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ReadState {
+
+        @Param({"100"})
+        private int vulnerabilities;
+
+        // properties of each vulnerability the models do not map, as the API adds them
+        @Param({"0", "10"})
+        private int unknownProperties;
+
+        private JavaType type;
+        private ObjectReader reader;
+        private byte[] page;
+
+        @Setup
+        public void setup() throws IOException {
+            ObjectMapper mapper = MappingConfiguration.createObjectMapper();
+
+            ObjectNode vulnerability = mapper.valueToTree(aCompleteVulnerability().build());
+            for (int i = 0; i < unknownProperties; i++) {
+                vulnerability.put("unknown_property_" + i, "value " + i);
+            }
+
+            ObjectNode json = mapper.createObjectNode();
+            json.putObject("metadata").put("index", 0).put("total_pages", 1);
+            ArrayNode data = json.putArray("data");
+            for (int i = 0; i < vulnerabilities; i++) {
+                data.add(vulnerability);
+            }
+
+            type = mapper.getTypeFactory().constructParametricType(Page.class, Vulnerability.class);
+            reader = mapper.readerFor(type);
+            page = mapper.writeValueAsBytes(json);
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class WriteState {
+
+        @Param({"NON_NULL", "ALWAYS"})
+        private JsonInclude.Include inclusion;
+
+        private ObjectMapper mapper;
+        private Scan value;
+
+        @Setup
+        public void setup() {
+            mapper = MappingConfiguration.createObjectMapper();
+            mapper.setSerializationInclusion(inclusion);
+
+            // a scan submission, which leaves the ID and status null
+            value = aScan().scanConfig(new Identifiable("00000000-0000-0000-0000-000000000000")).build();
+        }
+
+    }
+
+    @Benchmark
+    public Page<Vulnerability> readPage(ReadState state) throws IOException {
+        return state.reader.readValue(state.page);
+    }
+
+    /**
+     * A mapper per call, as would be the case were the shared instance not reused.
+     */
+    @Benchmark
+    public Page<Vulnerability> readPageNewMapper(ReadState state) throws IOException {
+        return MappingConfiguration.createObjectMapper().readValue(state.page, state.type);
+    }
+
+    @Benchmark
+    public byte[] write(WriteState state) throws IOException {
+        return state.mapper.writeValueAsBytes(state.value);
+    }
+
+}
@@ -0,0 +1,127 @@
+package io.jenkins.plugins.insightappsec;
+
+import hudson.model.Run;
+import io.jenkins.plugins.insightappsec.api.FetchMode;
+import io.jenkins.plugins.insightappsec.api.Page;
+import io.jenkins.plugins.insightappsec.api.vulnerability.Vulnerability;
+import org.apache.commons.lang.StringUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static io.jenkins.plugins.insightappsec.MappingConfiguration.OBJECT_MAPPER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.JsonCodec.JSON_CODEC_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.scan.ScanExecutionDetailsModels.aCompleteScanExecutionDetails;
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aMetadata;
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aPageOf;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.aCompleteVariance;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.aCompleteVulnerability;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.anExchange;
+
+/**
+ * Measures saving and loading the scan results action with the XStream instance Jenkins persists builds with, as
+ * happens whenever a build with results is saved, and whenever it is loaded, e.g. to view its results.
+ *
+ * Results are parsed as builds parse them, with 'LAZY' keeping each exchange as raw JSON until it is saved.
+ * The size of the XML saved is reported as a secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScanStepActionSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int vulnerabilities;
+
+    @Param({"2048"})
+    private int exchangeSize;
+
+    @Param({"FULL", "LAZY"})
+    private FetchMode fetchMode;
+
+    private InsightAppSecScanStepAction action;
+    private byte[] xml;
+
+    @Setup
+    public void setup() throws IOException {
+        Vulnerability.Variance.Exchange exchange = anExchange().request(StringUtils.repeat("q", exchangeSize))
+                                                               .response(StringUtils.repeat("r", exchangeSize))
+                                                               .build();
+
+        Vulnerability.Variance variance = aCompleteVariance().originalExchange(exchange)
+                                                             .attackExchanges(Arrays.asList(exchange, exchange))
+                                                             .build();
+
+        Vulnerability vulnerability = aCompleteVulnerability().variances(Arrays.asList(variance, variance)).build();
+
+        byte[] json = OBJECT_MAPPER_INSTANCE.writeValueAsBytes(aPageOf(() -> vulnerability, vulnerabilities).metadata(aMetadata().index(0).totalPages(1).build())
+                                                                                                            .build());
+        Page<Vulnerability> page = JSON_CODEC_INSTANCE.pageReaderFor(Vulnerability.class, fetchMode).readValue(json);
+
+        action = new InsightAppSecScanStepAction(ScanResults.builder()
+                                                            .vulnerabilities(page.getData())
+                                                            .scanExecutionDetails(aCompleteScanExecutionDetails().build())
+                                                            .build());
+        xml = toXml();
+    }
+
+    @Benchmark
+    public byte[] save(Sizes sizes) throws IOException {
+        byte[] saved = toXml();
+        sizes.xmlBytes = saved.length;
+
+        return saved;
+    }
+
+    @Benchmark
+    public Object load() {
+        return Run.XSTREAM2.fromXML(new InputStreamReader(new ByteArrayInputStream(xml), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The size of the XML saved, the same for every save of the action.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+
+        public long xmlBytes;
+
+    }
+
+    // HELPERS
+
+    private byte[] toXml() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // as XmlFile writes build.xml
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            Run.XSTREAM2.toXML(action, writer);
+        }
+
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,211 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.util.EntityUtils;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sending concurrent requests over the Apache HTTP/1.1 transport against the JDK HTTP/2 transport, against a
+ * local stub server accepting both HTTP/1.1 and cleartext HTTP/2.
+ *
+ * The connections opened and requests sent are reported as secondary results, HTTP/2 should multiplex all requests
+ * over one connection.
+ * Requires the jdk11 profile for the http2 transport, e.g. 'mvn -P benchmark,jdk11 test-compile exec:exec'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HttpTransportBenchmark {
+
+    private static final byte[] BODY = "{\"id\":\"benchmark\",\"status\":\"RUNNING\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"apache", "http2"})
+    private String transportType;
+
+    @Param({"1", "16"})
+    private int concurrency;
+
+    @Param({"5"})
+    private long latencyMillis;
+
+    private Server server;
+    private ConnectionStatistics connections;
+    private CloseableHttpAsyncClient asyncClient;
+    private HttpTransport transport;
+    private String uri;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new Server();
+
+        HttpConfiguration configuration = new HttpConfiguration();
+        ServerConnector connector = new ServerConnector(server,
+                                                        new HttpConnectionFactory(configuration),
+                                                        new HTTP2CServerConnectionFactory(configuration));
+        connector.setPort(0);
+
+        connections = new ConnectionStatistics();
+        connector.addBean(connections);
+
+        server.addConnector(connector);
+        server.setHandler(new StubHandler(latencyMillis));
+        server.start();
+
+        uri = String.format("http://localhost:%s/ias/v1/scans/benchmark", connector.getLocalPort());
+
+        if ("http2".equals(transportType)) {
+            transport = HttpClientCache.newHttp2Transport();
+        } else {
+            asyncClient = HttpAsyncClients.custom()
+                                          .setMaxConnTotal(concurrency)
+                                          .setMaxConnPerRoute(concurrency)
+                                          .build();
+            asyncClient.start();
+
+            transport = new ApacheHttpTransport(HttpClients.createDefault(), asyncClient);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        if (asyncClient != null) {
+            asyncClient.close();
+        }
+
+        server.stop();
+    }
+
+    @Benchmark
+    public int concurrentGets(Counters counters) {
+        long connectionsBefore = connections.getConnectionsTotal();
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            CompletableFuture<Integer> response = new CompletableFuture<>();
+            transport.execute(new HttpGet(uri), new CompletingCallback(response));
+            responses.add(response);
+        }
+
+        int bytes = responses.stream().mapToInt(CompletableFuture::join).sum();
+
+        counters.requests += concurrency;
+        counters.connections += connections.getConnectionsTotal() - connectionsBefore;
+
+        return bytes;
+    }
+
+    /**
+     * The requests sent and connections opened over each iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long requests;
+        public long connections;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+            connections = 0;
+        }
+
+    }
+
+    private static class CompletingCallback implements FutureCallback<HttpResponse> {
+
+        private final CompletableFuture<Integer> response;
+
+        private CompletingCallback(CompletableFuture<Integer> response) {
+            this.response = response;
+        }
+
+        @Override
+        public void completed(HttpResponse result) {
+            try {
+                response.complete(EntityUtils.toByteArray(result.getEntity()).length);
+            } catch (IOException e) {
+                response.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void failed(Exception e) {
+            response.completeExceptionally(e);
+        }
+
+        @Override
+        public void cancelled() {
+            response.cancel(false);
+        }
+
+    }
+
+    private static class StubHandler extends AbstractHandler {
+
+        private final long latencyMillis;
+
+        private StubHandler(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public void handle(String target,
+                           Request baseRequest,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType("application/json");
+            response.setContentLength(BODY.length);
+            response.getOutputStream().write(BODY);
+
+            baseRequest.setHandled(true);
+        }
+
+    }
+
+}
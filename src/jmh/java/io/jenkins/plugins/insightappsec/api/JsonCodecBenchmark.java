@@ -0,0 +1,108 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jenkins.plugins.insightappsec.MappingConfiguration;
+import io.jenkins.plugins.insightappsec.api.search.SearchRequest;
+import io.jenkins.plugins.insightappsec.api.vulnerability.Vulnerability;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aMetadata;
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aPageOf;
+import static io.jenkins.plugins.insightappsec.api.search.SearchRequestModels.aVulnerabilitySearchRequest;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.aCompleteVulnerability;
+
+/**
+ * Compares the previous per call mapping, resolving the page type and serializing the search body for every page,
+ * against the cached readers and writers of {@link JsonCodec}, with and without generated accessors.
+ *
+ * Run with '-prof gc' to also compare the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    @Param({"100"})
+    private int vulnerabilities;
+
+    @Param({"10"})
+    private int pages;
+
+    @Param({"false", "true"})
+    private boolean afterburner;
+
+    private ObjectMapper mapper;
+    private JsonCodec codec;
+
+    private byte[] page;
+    private SearchRequest searchRequest;
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = MappingConfiguration.createObjectMapper();
+
+        codec = new JsonCodec();
+        codec.setAfterburnerEnabled(afterburner);
+
+        Vulnerability vulnerability = aCompleteVulnerability().build();
+
+        page = mapper.writeValueAsBytes(aPageOf(() -> vulnerability, vulnerabilities).metadata(aMetadata().index(0).totalPages(1).build())
+                                                                                     .build());
+
+        searchRequest = aVulnerabilitySearchRequest().query("vulnerability.app.id = '00000000-0000-0000-0000-000000000000' && vulnerability.severity = 'HIGH'")
+                                                     .build();
+    }
+
+    /**
+     * The previous implementation, resolving the page type on the mapper for every page.
+     */
+    @Benchmark
+    public Page<Vulnerability> readPageResolvingType() throws IOException {
+        JavaType type = mapper.getTypeFactory().constructParametricType(Page.class, Vulnerability.class);
+
+        return mapper.readValue(page, type);
+    }
+
+    @Benchmark
+    public Page<Vulnerability> readPageCachedReader() throws IOException {
+        return codec.pageReaderFor(Vulnerability.class).readValue(page);
+    }
+
+    /**
+     * The previous implementation, serializing the search body to a String for every page.
+     */
+    @Benchmark
+    public void writeSearchPerPage(Blackhole blackhole) throws IOException {
+        for (int i = 0; i < pages; i++) {
+            blackhole.consume(mapper.writeValueAsString(searchRequest));
+        }
+    }
+
+    @Benchmark
+    public void writeSearchOnce(Blackhole blackhole) {
+        byte[] json = codec.write(searchRequest);
+
+        for (int i = 0; i < pages; i++) {
+            blackhole.consume(json);
+        }
+    }
+
+}
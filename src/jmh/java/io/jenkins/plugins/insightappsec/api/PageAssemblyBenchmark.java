@@ -0,0 +1,120 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.api.vulnerability.Vulnerability;
+import org.apache.http.HttpRequest;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static io.jenkins.plugins.insightappsec.MappingConfiguration.OBJECT_MAPPER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.PageRetrievalPool.DEFAULT_PAGE_RETRIEVAL_PARALLELISM;
+import static io.jenkins.plugins.insightappsec.api.PageRetrievalPool.PAGE_RETRIEVAL_POOL_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aMetadata;
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aPageOf;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.aCompleteVulnerability;
+
+/**
+ * Measures assembling every page of a resource, as a list, as a stream and without blocking, from an in-memory client
+ * answering each page by its index, so that only parsing and assembly are measured.
+ *
+ * Compare parallelism 1 against the default to see what concurrent page retrieval costs when pages are free to fetch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PageAssemblyBenchmark {
+
+    private static final String PATH = "/vulnerabilities";
+
+    @Param({"1", "10", "50"})
+    private int pages;
+
+    @Param({"100"})
+    private int vulnerabilitiesPerPage;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private BenchmarkApi api;
+
+    @Setup
+    public void setup() throws IOException {
+        Vulnerability vulnerability = aCompleteVulnerability().build();
+
+        byte[][] bodies = new byte[pages][];
+        for (int index = 0; index < pages; index++) {
+            Page page = aPageOf(() -> vulnerability, vulnerabilitiesPerPage).metadata(aMetadata().index(index).totalPages(pages).build())
+                                                                            .build();
+
+            bodies[index] = OBJECT_MAPPER_INSTANCE.writeValueAsBytes(page);
+        }
+
+        PAGE_RETRIEVAL_POOL_INSTANCE.setParallelism(parallelism);
+
+        api = new BenchmarkApi(new StubHttpClient(request -> bodies[index(request)]));
+    }
+
+    @TearDown
+    public void teardown() {
+        PAGE_RETRIEVAL_POOL_INSTANCE.setParallelism(DEFAULT_PAGE_RETRIEVAL_PARALLELISM);
+    }
+
+    @Benchmark
+    public List<Vulnerability> retrieveAll() {
+        return api.getForAll(PATH, Vulnerability.class);
+    }
+
+    @Benchmark
+    public long streamAll() {
+        try (Stream<Vulnerability> vulnerabilities = api.getForStream(PATH, Vulnerability.class)) {
+            return vulnerabilities.count();
+        }
+    }
+
+    @Benchmark
+    public List<Vulnerability> retrieveAllAsync() {
+        return api.getForAllAsync(PATH, Vulnerability.class).join();
+    }
+
+    // HELPERS
+
+    private static int index(HttpRequest request) {
+        return URLEncodedUtils.parse(URI.create(request.getRequestLine().getUri()), StandardCharsets.UTF_8.name())
+                              .stream()
+                              .filter(param -> "index".equals(param.getName()))
+                              .map(NameValuePair::getValue)
+                              .mapToInt(Integer::parseInt)
+                              .findFirst()
+                              .orElse(0);
+    }
+
+    private static class BenchmarkApi extends AbstractApi {
+
+        private BenchmarkApi(StubHttpClient client) {
+            super(client, "localhost", "benchmark");
+        }
+
+    }
+
+}
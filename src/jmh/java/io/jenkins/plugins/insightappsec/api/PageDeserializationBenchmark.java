@@ -0,0 +1,103 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import com.fasterxml.jackson.databind.JavaType;
+import io.jenkins.plugins.insightappsec.api.vulnerability.Vulnerability;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.jenkins.plugins.insightappsec.MappingConfiguration.OBJECT_MAPPER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aMetadata;
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aPageOf;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.aCompleteVariance;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.aCompleteVulnerability;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.anExchange;
+
+/**
+ * Compares parsing a page of vulnerabilities from a String buffered body against parsing from the entity stream.
+ *
+ * Run with '-prof gc' and compare 'gc.alloc.rate.norm' (bytes allocated per page) between the two benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PageDeserializationBenchmark {
+
+    private static final String PATH = "/search";
+
+    @Param({"10", "100", "1000"})
+    private int vulnerabilities;
+
+    @Param({"256", "2048", "16384"})
+    private int exchangeSize;
+
+    private StubHttpClient client;
+    private BenchmarkApi api;
+
+    @Setup
+    public void setup() throws IOException {
+        Vulnerability.Variance.Exchange exchange = anExchange().request(StringUtils.repeat("q", exchangeSize))
+                                                               .response(StringUtils.repeat("r", exchangeSize))
+                                                               .build();
+
+        Vulnerability.Variance variance = aCompleteVariance().originalExchange(exchange)
+                                                             .attackExchanges(Arrays.asList(exchange, exchange))
+                                                             .build();
+
+        Vulnerability vulnerability = aCompleteVulnerability().variances(Arrays.asList(variance, variance)).build();
+
+        Page page = aPageOf(() -> vulnerability, vulnerabilities).metadata(aMetadata().index(0).totalPages(1).build())
+                                                                 .build();
+
+        client = new StubHttpClient(OBJECT_MAPPER_INSTANCE.writeValueAsBytes(page));
+        api = new BenchmarkApi(client);
+    }
+
+    /**
+     * The previous implementation, buffering the whole body as a String before parsing.
+     */
+    @Benchmark
+    public Page<Vulnerability> stringBuffered() throws IOException {
+        HttpResponse response = client.execute(new HttpGet("https://localhost/ias/v1" + PATH));
+
+        String content = IOUtils.toString(response.getEntity().getContent());
+
+        JavaType type = OBJECT_MAPPER_INSTANCE.getTypeFactory().constructParametricType(Page.class, Vulnerability.class);
+
+        return OBJECT_MAPPER_INSTANCE.readValue(content, type);
+    }
+
+    @Benchmark
+    public List<Vulnerability> streamed() {
+        return api.getForAll(PATH, Vulnerability.class);
+    }
+
+    private static class BenchmarkApi extends AbstractApi {
+
+        private BenchmarkApi(StubHttpClient client) {
+            super(client, "localhost", "benchmark");
+        }
+
+    }
+
+}
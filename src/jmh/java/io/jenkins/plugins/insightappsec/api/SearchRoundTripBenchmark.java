@@ -0,0 +1,73 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.api.search.SearchApi;
+import io.jenkins.plugins.insightappsec.api.search.SearchRequest;
+import io.jenkins.plugins.insightappsec.api.vulnerability.Vulnerability;
+import io.jenkins.plugins.insightappsec.mock.StubInsightAppSecServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.jenkins.plugins.insightappsec.api.HttpClientCache.HTTP_CLIENT_CACHE_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.search.SearchRequestModels.aVulnerabilitySearchRequest;
+
+/**
+ * Measures a full vulnerability search, as run for a completed scan, through the real client stack, i.e. connection
+ * pool, pagination, page size tuning and parsing, against {@link StubInsightAppSecServer} on the loopback interface.
+ *
+ * Compare fetch modes with '-prof gc' to see what skipping or deferring exchanges saves per search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SearchRoundTripBenchmark {
+
+    @Param({"1000"})
+    private int vulnerabilities;
+
+    @Param({"2048"})
+    private int exchangeSize;
+
+    @Param({"FULL", "SUMMARY", "LAZY"})
+    private FetchMode fetchMode;
+
+    private StubInsightAppSecServer server;
+    private SearchApi searchApi;
+    private SearchRequest searchRequest;
+
+    @Setup
+    public void setup() throws IOException {
+        server = StubInsightAppSecServer.start().withVulnerabilities(vulnerabilities, exchangeSize);
+
+        String host = server.getBaseUrl();
+        searchApi = new SearchApi(HTTP_CLIENT_CACHE_INSTANCE.getTransport(host), host, "benchmark", RateLimiter.UNLIMITED);
+        searchRequest = aVulnerabilitySearchRequest().query("vulnerability.scans.id='benchmark'").build();
+    }
+
+    @TearDown
+    public void teardown() {
+        server.close();
+    }
+
+    @Benchmark
+    public List<Vulnerability> searchAll() {
+        return searchApi.searchAll(searchRequest, Vulnerability.class, fetchMode);
+    }
+
+}
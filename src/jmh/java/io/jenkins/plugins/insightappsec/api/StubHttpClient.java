@@ -0,0 +1,80 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.util.function.Function;
+
+/**
+ * Answers requests with pre-serialized 200 responses, so benchmarks measure the client side only.
+ */
+public class StubHttpClient extends CloseableHttpClient {
+
+    private final Function<HttpRequest, byte[]> bodies;
+
+    /**
+     * Answer every request with the same body.
+     */
+    public StubHttpClient(byte[] body) {
+        this(request -> body);
+    }
+
+    /**
+     * Answer each request with a body chosen by the request, e.g. a page by its index.
+     */
+    public StubHttpClient(Function<HttpRequest, byte[]> bodies) {
+        this.bodies = bodies;
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(HttpHost target,
+                                              HttpRequest request,
+                                              HttpContext context) {
+        StubHttpResponse response = new StubHttpResponse();
+        response.setEntity(new ByteArrayEntity(bodies.apply(request), ContentType.APPLICATION_JSON));
+
+        return response;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public HttpParams getParams() {
+        return new BasicHttpParams();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public ClientConnectionManager getConnectionManager() {
+        return null;
+    }
+
+    private static class StubHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+        private StubHttpResponse() {
+            super(new BasicStatusLine(HttpVersion.HTTP_1_1, 200, "OK"));
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+
+    }
+
+}
@@ -2,6 +2,7 @@ package io.jenkins.plugins.insightappsec;
 
 import com.cloudbees.plugins.credentials.common.StandardListBoxModel;
 import io.jenkins.plugins.insightappsec.api.APIFactory;
+import io.jenkins.plugins.insightappsec.api.ListingCache;
 import io.jenkins.plugins.insightappsec.api.app.App;
 import io.jenkins.plugins.insightappsec.api.app.AppApi;
 import io.jenkins.plugins.insightappsec.api.scanconfig.ScanConfig;
@@ -16,11 +17,14 @@ import jenkins.model.Jenkins;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.HttpStatus;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
 
 public class DescriptorHelper {
 
@@ -29,16 +33,16 @@ public class DescriptorHelper {
     private final APIFactory apiFactory;
     private final InsightCredentialsHelper credentialsHelper;
     private final DurationStringParser durationStringParser;
-
-    private AppApi appApi;
-    private SearchApi searchApi;
+    private final ListingCache listingCache;
 
     public DescriptorHelper(APIFactory apiFactory,
                             InsightCredentialsHelper credentialsHelper,
-                            DurationStringParser durationStringParser) {
+                            DurationStringParser durationStringParser,
+                            ListingCache listingCache) {
         this.apiFactory = apiFactory;
         this.credentialsHelper = credentialsHelper;
         this.durationStringParser = durationStringParser;
+        this.listingCache = listingCache;
     }
 
     ListBoxModel getRegionItems() {
@@ -69,11 +73,15 @@ public class DescriptorHelper {
             && !StringUtils.isEmpty(insightCredentialsId)) {
 
             try {
-                refreshAppApi(region, insightCredentialsId);
+                AppApi appApi = apiFactory.newAppApi(region, insightCredentialsId);
+
+                // collect apps, cached sorted
+                List<App> apps = listingCache.getApps(appApi.getCredentialsKey(), () -> {
+                    List<App> sorted = new ArrayList<>(appApi.getApps());
+                    sorted.sort(Comparator.comparing(App::getName));
 
-                // collect apps
-                List<App> apps = appApi.getApps();
-                apps.sort(Comparator.comparing(App::getName));
+                    return Collections.unmodifiableList(sorted);
+                });
 
                 // populate items
                 ListBoxModel items = new ListBoxModel();
@@ -100,13 +108,18 @@ public class DescriptorHelper {
             && !StringUtils.isEmpty(appId)) {
 
             try {
-                refreshSearchApi(region, insightCredentialsId);
+                SearchApi searchApi = apiFactory.newSearchApi(region, insightCredentialsId);
 
-                // collect scan configs
-                SearchRequest searchRequest = new SearchRequest(SearchRequest.SearchType.SCAN_CONFIG,
-                                                                String.format("scanconfig.app.id='%s'", appId));
-                List<ScanConfig> scanConfigs = searchApi.searchAll(searchRequest, ScanConfig.class);
-                scanConfigs.sort(Comparator.comparing(ScanConfig::getName));
+                // collect scan configs, cached sorted
+                List<ScanConfig> scanConfigs = listingCache.getScanConfigs(searchApi.getCredentialsKey(), appId, () -> {
+                    SearchRequest searchRequest = new SearchRequest(SearchRequest.SearchType.SCAN_CONFIG,
+                                                                    String.format("scanconfig.app.id='%s'", appId));
+
+                    try (Stream<ScanConfig> stream = searchApi.searchStream(searchRequest, ScanConfig.class)) {
+                        return Collections.unmodifiableList(stream.sorted(Comparator.comparing(ScanConfig::getName))
+                                                                  .collect(toList()));
+                    }
+                });
 
                 // populate items
                 ListBoxModel items = new ListBoxModel();
@@ -163,16 +176,6 @@ public class DescriptorHelper {
 
     // HELPERS
 
-    private void refreshAppApi(String region,
-                               String insightCredentialsId) {
-        appApi = apiFactory.newAppApi(region, insightCredentialsId);
-    }
-
-    private void refreshSearchApi(String region,
-                                  String insightCredentialsId) {
-        searchApi = apiFactory.newSearchApi(region, insightCredentialsId);
-    }
-
     private ListBoxModel handleDoFillException(Exception e,
                                                String entity) {
         if (e instanceof APIException
@@ -0,0 +1,360 @@
+package io.jenkins.plugins.insightappsec;
+
+import hudson.Extension;
+import hudson.util.FormValidation;
+import io.jenkins.plugins.insightappsec.api.HttpClientCache;
+import jenkins.model.GlobalConfiguration;
+import net.sf.json.JSONObject;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest;
+
+import static io.jenkins.plugins.insightappsec.ScanStatusPoller.DEFAULT_SCAN_POLL_INTERVAL_SECONDS;
+import static io.jenkins.plugins.insightappsec.ScanStatusPoller.SCAN_STATUS_POLLER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.BackoffRetryPolicy.DEFAULT_MAX_RETRIES;
+import static io.jenkins.plugins.insightappsec.api.BackoffRetryPolicy.RETRY_POLICY_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.CircuitBreakerRegistry.CIRCUIT_BREAKER_REGISTRY_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.CircuitBreakerRegistry.DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+import static io.jenkins.plugins.insightappsec.api.CircuitBreakerRegistry.DEFAULT_CIRCUIT_BREAKER_OPEN_SECONDS;
+import static io.jenkins.plugins.insightappsec.api.HttpClientCache.DEFAULT_IDLE_CONNECTION_TIMEOUT_SECONDS;
+import static io.jenkins.plugins.insightappsec.api.HttpClientCache.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+import static io.jenkins.plugins.insightappsec.api.HttpClientCache.DEFAULT_MAX_CONNECTIONS_TOTAL;
+import static io.jenkins.plugins.insightappsec.api.HttpClientCache.HTTP_CLIENT_CACHE_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.JsonCodec.JSON_CODEC_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.ListingCache.DEFAULT_LISTING_CACHE_TTL_SECONDS;
+import static io.jenkins.plugins.insightappsec.api.ListingCache.LISTING_CACHE_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.PageRetrievalPool.DEFAULT_PAGE_RETRIEVAL_PARALLELISM;
+import static io.jenkins.plugins.insightappsec.api.PageRetrievalPool.PAGE_RETRIEVAL_POOL_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.PageSizeTuner.DEFAULT_TARGET_PAGE_KILOBYTES;
+import static io.jenkins.plugins.insightappsec.api.PageSizeTuner.DEFAULT_TARGET_PAGE_MILLIS;
+import static io.jenkins.plugins.insightappsec.api.PageSizeTuner.PAGE_SIZE_TUNER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.RateLimiterRegistry.DEFAULT_REQUESTS_PER_SECOND;
+import static io.jenkins.plugins.insightappsec.api.RateLimiterRegistry.DEFAULT_REQUEST_BURST;
+import static io.jenkins.plugins.insightappsec.api.RateLimiterRegistry.RATE_LIMITER_REGISTRY_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.RequestTimeouts.DEFAULT_CONNECT_TIMEOUT_SECONDS;
+import static io.jenkins.plugins.insightappsec.api.RequestTimeouts.DEFAULT_POLL_TIMEOUT_SECONDS;
+import static io.jenkins.plugins.insightappsec.api.RequestTimeouts.DEFAULT_REQUEST_TIMEOUT_SECONDS;
+import static io.jenkins.plugins.insightappsec.api.RequestTimeouts.DEFAULT_SEARCH_TIMEOUT_SECONDS;
+import static io.jenkins.plugins.insightappsec.api.RequestTimeouts.REQUEST_TIMEOUTS_INSTANCE;
+
+/**
+ * Controller-wide settings for the InsightAppSec API clients, found under 'Manage Jenkins' > 'Configure System'.
+ */
+@Extension
+public class InsightAppSecGlobalConfiguration extends GlobalConfiguration {
+
+    private int maxConnectionsTotal = DEFAULT_MAX_CONNECTIONS_TOTAL;
+    private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    private int pageRetrievalParallelism = DEFAULT_PAGE_RETRIEVAL_PARALLELISM;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private int requestsPerSecond = DEFAULT_REQUESTS_PER_SECOND;
+    private int requestBurst = DEFAULT_REQUEST_BURST;
+    private int circuitBreakerFailureThreshold = DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+    private int circuitBreakerOpenSeconds = DEFAULT_CIRCUIT_BREAKER_OPEN_SECONDS;
+    private int listingCacheTtlSeconds = DEFAULT_LISTING_CACHE_TTL_SECONDS;
+    private int scanPollIntervalSeconds = DEFAULT_SCAN_POLL_INTERVAL_SECONDS;
+    private int idleConnectionTimeoutSeconds = DEFAULT_IDLE_CONNECTION_TIMEOUT_SECONDS;
+    private int connectTimeoutSeconds = DEFAULT_CONNECT_TIMEOUT_SECONDS;
+    private int requestTimeoutSeconds = DEFAULT_REQUEST_TIMEOUT_SECONDS;
+    private int pollTimeoutSeconds = DEFAULT_POLL_TIMEOUT_SECONDS;
+    private int searchTimeoutSeconds = DEFAULT_SEARCH_TIMEOUT_SECONDS;
+    private int targetPageKilobytes = DEFAULT_TARGET_PAGE_KILOBYTES;
+    private int targetPageMillis = DEFAULT_TARGET_PAGE_MILLIS;
+    private boolean connectionLeakDetection;
+    private boolean http2;
+    private boolean jsonAfterburner;
+
+    public InsightAppSecGlobalConfiguration() {
+        load();
+        applyConfiguration();
+    }
+
+    public static InsightAppSecGlobalConfiguration get() {
+        return GlobalConfiguration.all().get(InsightAppSecGlobalConfiguration.class);
+    }
+
+    public int getMaxConnectionsTotal() {
+        return maxConnectionsTotal;
+    }
+
+    @DataBoundSetter
+    public void setMaxConnectionsTotal(int maxConnectionsTotal) {
+        this.maxConnectionsTotal = maxConnectionsTotal;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    @DataBoundSetter
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public int getPageRetrievalParallelism() {
+        return pageRetrievalParallelism;
+    }
+
+    @DataBoundSetter
+    public void setPageRetrievalParallelism(int pageRetrievalParallelism) {
+        this.pageRetrievalParallelism = pageRetrievalParallelism;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    @DataBoundSetter
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public int getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    @DataBoundSetter
+    public void setRequestsPerSecond(int requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public int getRequestBurst() {
+        return requestBurst;
+    }
+
+    @DataBoundSetter
+    public void setRequestBurst(int requestBurst) {
+        this.requestBurst = requestBurst;
+    }
+
+    public int getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    @DataBoundSetter
+    public void setCircuitBreakerFailureThreshold(int circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    }
+
+    public int getCircuitBreakerOpenSeconds() {
+        return circuitBreakerOpenSeconds;
+    }
+
+    @DataBoundSetter
+    public void setCircuitBreakerOpenSeconds(int circuitBreakerOpenSeconds) {
+        this.circuitBreakerOpenSeconds = circuitBreakerOpenSeconds;
+    }
+
+    public int getListingCacheTtlSeconds() {
+        return listingCacheTtlSeconds;
+    }
+
+    @DataBoundSetter
+    public void setListingCacheTtlSeconds(int listingCacheTtlSeconds) {
+        this.listingCacheTtlSeconds = listingCacheTtlSeconds;
+    }
+
+    public int getScanPollIntervalSeconds() {
+        return scanPollIntervalSeconds;
+    }
+
+    @DataBoundSetter
+    public void setScanPollIntervalSeconds(int scanPollIntervalSeconds) {
+        this.scanPollIntervalSeconds = scanPollIntervalSeconds;
+    }
+
+    public int getIdleConnectionTimeoutSeconds() {
+        return idleConnectionTimeoutSeconds;
+    }
+
+    @DataBoundSetter
+    public void setIdleConnectionTimeoutSeconds(int idleConnectionTimeoutSeconds) {
+        this.idleConnectionTimeoutSeconds = idleConnectionTimeoutSeconds;
+    }
+
+    public boolean isConnectionLeakDetection() {
+        return connectionLeakDetection;
+    }
+
+    @DataBoundSetter
+    public void setConnectionLeakDetection(boolean connectionLeakDetection) {
+        this.connectionLeakDetection = connectionLeakDetection;
+    }
+
+    public int getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    @DataBoundSetter
+    public void setConnectTimeoutSeconds(int connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    public int getRequestTimeoutSeconds() {
+        return requestTimeoutSeconds;
+    }
+
+    @DataBoundSetter
+    public void setRequestTimeoutSeconds(int requestTimeoutSeconds) {
+        this.requestTimeoutSeconds = requestTimeoutSeconds;
+    }
+
+    public int getPollTimeoutSeconds() {
+        return pollTimeoutSeconds;
+    }
+
+    @DataBoundSetter
+    public void setPollTimeoutSeconds(int pollTimeoutSeconds) {
+        this.pollTimeoutSeconds = pollTimeoutSeconds;
+    }
+
+    public int getSearchTimeoutSeconds() {
+        return searchTimeoutSeconds;
+    }
+
+    @DataBoundSetter
+    public void setSearchTimeoutSeconds(int searchTimeoutSeconds) {
+        this.searchTimeoutSeconds = searchTimeoutSeconds;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    @DataBoundSetter
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
+    public boolean isJsonAfterburner() {
+        return jsonAfterburner;
+    }
+
+    @DataBoundSetter
+    public void setJsonAfterburner(boolean jsonAfterburner) {
+        this.jsonAfterburner = jsonAfterburner;
+    }
+
+    public int getTargetPageKilobytes() {
+        return targetPageKilobytes;
+    }
+
+    @DataBoundSetter
+    public void setTargetPageKilobytes(int targetPageKilobytes) {
+        this.targetPageKilobytes = targetPageKilobytes;
+    }
+
+    public int getTargetPageMillis() {
+        return targetPageMillis;
+    }
+
+    @DataBoundSetter
+    public void setTargetPageMillis(int targetPageMillis) {
+        this.targetPageMillis = targetPageMillis;
+    }
+
+    @Override
+    public boolean configure(StaplerRequest req,
+                             JSONObject json) {
+        req.bindJSON(this, json);
+        save();
+        applyConfiguration();
+
+        return true;
+    }
+
+    public FormValidation doCheckHttp2(@QueryParameter boolean value) {
+        String unavailable = HttpClientCache.getHttp2Unavailable();
+
+        return value && unavailable != null ? FormValidation.warning(Messages.validation_warnings_http2Unavailable(unavailable)) :
+                                              FormValidation.ok();
+    }
+
+    public FormValidation doCheckMaxConnectionsTotal(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckMaxConnectionsPerRoute(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckPageRetrievalParallelism(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckMaxRetries(@QueryParameter String value) {
+        return FormValidation.validateNonNegativeInteger(value);
+    }
+
+    public FormValidation doCheckRequestsPerSecond(@QueryParameter String value) {
+        return FormValidation.validateNonNegativeInteger(value);
+    }
+
+    public FormValidation doCheckRequestBurst(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckCircuitBreakerFailureThreshold(@QueryParameter String value) {
+        return FormValidation.validateNonNegativeInteger(value);
+    }
+
+    public FormValidation doCheckCircuitBreakerOpenSeconds(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckListingCacheTtlSeconds(@QueryParameter String value) {
+        return FormValidation.validateNonNegativeInteger(value);
+    }
+
+    public FormValidation doCheckScanPollIntervalSeconds(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckIdleConnectionTimeoutSeconds(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckConnectTimeoutSeconds(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckRequestTimeoutSeconds(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckPollTimeoutSeconds(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckSearchTimeoutSeconds(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckTargetPageKilobytes(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    public FormValidation doCheckTargetPageMillis(@QueryParameter String value) {
+        return FormValidation.validatePositiveInteger(value);
+    }
+
+    // HELPERS
+
+    private void applyConfiguration() {
+        HTTP_CLIENT_CACHE_INSTANCE.configureConnectionPools(maxConnectionsTotal, maxConnectionsPerRoute);
+        PAGE_RETRIEVAL_POOL_INSTANCE.setParallelism(pageRetrievalParallelism);
+        RETRY_POLICY_INSTANCE.setMaxRetries(maxRetries);
+        RATE_LIMITER_REGISTRY_INSTANCE.configureRateLimiters(requestsPerSecond, requestBurst);
+        CIRCUIT_BREAKER_REGISTRY_INSTANCE.configureCircuitBreakers(circuitBreakerFailureThreshold, circuitBreakerOpenSeconds);
+        LISTING_CACHE_INSTANCE.setTtl(listingCacheTtlSeconds);
+        SCAN_STATUS_POLLER_INSTANCE.setInterval(scanPollIntervalSeconds);
+        HTTP_CLIENT_CACHE_INSTANCE.setIdleConnectionTimeout(idleConnectionTimeoutSeconds);
+        HTTP_CLIENT_CACHE_INSTANCE.getLeakDetector().setEnabled(connectionLeakDetection);
+        REQUEST_TIMEOUTS_INSTANCE.configure(connectTimeoutSeconds, requestTimeoutSeconds, pollTimeoutSeconds, searchTimeoutSeconds);
+        // after the timeouts, as HTTP/2 transports are rebuilt with the connect timeout
+        HTTP_CLIENT_CACHE_INSTANCE.setHttp2Enabled(http2);
+        JSON_CODEC_INSTANCE.setAfterburnerEnabled(jsonAfterburner);
+        PAGE_SIZE_TUNER_INSTANCE.configure(targetPageKilobytes, targetPageMillis);
+    }
+
+}
@@ -2,6 +2,8 @@ package io.jenkins.plugins.insightappsec;
 
 import io.jenkins.plugins.insightappsec.api.APIFactory;
 import io.jenkins.plugins.insightappsec.api.HttpClientCache;
+import io.jenkins.plugins.insightappsec.api.ListingCache;
+import io.jenkins.plugins.insightappsec.api.RateLimiterRegistry;
 import io.jenkins.plugins.insightappsec.api.scan.ScanApi;
 import io.jenkins.plugins.insightappsec.api.search.SearchApi;
 import io.jenkins.plugins.insightappsec.credentials.InsightCredentialsHelper;
@@ -33,9 +35,9 @@ public class InsightAppSecScanStep extends Builder implements SimpleBuildStep {
     private static final DurationStringParser DURATION_STRING_PARSER = new DurationStringParser();
     private static final ScanResultHandler SCAN_RESULT_HANDLER = new ScanResultHandler();
 
-    private static final APIFactory API_FACTORY = new APIFactory(INSIGHT_CREDENTIALS_HELPER, HttpClientCache.SEARCH_API_HTTP_CLIENT,
-                                                                                             HttpClientCache.APP_API_HTTP_CLIENT,
-                                                                                             HttpClientCache.SCAN_API_HTTP_CLIENT);
+    private static final APIFactory API_FACTORY = new APIFactory(INSIGHT_CREDENTIALS_HELPER,
+                                                                 HttpClientCache.HTTP_CLIENT_CACHE_INSTANCE,
+                                                                 RateLimiterRegistry.RATE_LIMITER_REGISTRY_INSTANCE);
 
     private final String region;
     private final String insightCredentialsId;
@@ -117,11 +119,20 @@ public class InsightAppSecScanStep extends Builder implements SimpleBuildStep {
 
         BuildAdvanceIndicator bai = BuildAdvanceIndicator.fromString(buildAdvanceIndicator);
 
-        Optional<ScanResults> scanResults = newRunner(logger).run(scanConfigId,
-                                                                  bai,
-                                                                  vulnerabilityQuery);
+        // attached up front, so that the timeline of a running build can be followed
+        ScanTimeline timeline = new ScanTimeline();
+        run.addAction(new InsightAppSecTimelineAction(timeline));
 
-        scanResults.ifPresent(sr -> SCAN_RESULT_HANDLER.handleScanResults(run, logger, bai, sr, enableScanResults));
+        try {
+            Optional<ScanResults> scanResults = newRunner(logger, timeline).run(scanConfigId,
+                                                                                bai,
+                                                                                vulnerabilityQuery,
+                                                                                enableScanResults);
+
+            scanResults.ifPresent(sr -> SCAN_RESULT_HANDLER.handleScanResults(run, logger, bai, sr, enableScanResults));
+        } finally {
+            timeline.onCompleted();
+        }
     }
 
     // HELPERS
@@ -133,14 +144,17 @@ public class InsightAppSecScanStep extends Builder implements SimpleBuildStep {
         requireNonNull(buildAdvanceIndicator, "Build Advance Indicator must not be null");
     }
 
-    private InsightAppSecScanStepRunner newRunner(InsightAppSecLogger logger) {
+    private InsightAppSecScanStepRunner newRunner(InsightAppSecLogger logger,
+                                                  ScanTimeline timeline) {
         ScanApi scanApi = API_FACTORY.newScanApi(region, insightCredentialsId);
         SearchApi searchApi = API_FACTORY.newSearchApi(region, insightCredentialsId);
 
         return new InsightAppSecScanStepRunner(scanApi,
                                                searchApi,
                                                logger,
-                                               newScanDurationHandler(scanApi, logger));
+                                               newScanDurationHandler(scanApi, logger),
+                                               ScanStatusPoller.SCAN_STATUS_POLLER_INSTANCE,
+                                               timeline);
     }
 
     private ScanDurationHandler newScanDurationHandler(ScanApi scanApi,
@@ -177,7 +191,8 @@ public class InsightAppSecScanStep extends Builder implements SimpleBuildStep {
 
         private DescriptorHelper descriptorHelper = new DescriptorHelper(API_FACTORY,
                                                                          INSIGHT_CREDENTIALS_HELPER,
-                                                                         DURATION_STRING_PARSER);
+                                                                         DURATION_STRING_PARSER,
+                                                                         ListingCache.LISTING_CACHE_INSTANCE);
 
         public ListBoxModel doFillRegionItems() {
             return descriptorHelper.getRegionItems();
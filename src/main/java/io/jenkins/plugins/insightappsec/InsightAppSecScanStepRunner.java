@@ -1,18 +1,22 @@
 package io.jenkins.plugins.insightappsec;
 
+import io.jenkins.plugins.insightappsec.api.Deadline;
+import io.jenkins.plugins.insightappsec.api.FetchMode;
 import io.jenkins.plugins.insightappsec.api.scan.Scan;
 import io.jenkins.plugins.insightappsec.api.scan.ScanApi;
 import io.jenkins.plugins.insightappsec.api.search.SearchApi;
 import io.jenkins.plugins.insightappsec.api.search.SearchRequest;
 import io.jenkins.plugins.insightappsec.api.vulnerability.Vulnerability;
 import io.jenkins.plugins.insightappsec.exception.ScanFailureException;
+import io.jenkins.plugins.insightappsec.jfr.FlightRecorderEvents;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.mutable.MutableInt;
 
 import javax.annotation.Nullable;
-import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static io.jenkins.plugins.insightappsec.jfr.FlightRecorderEvents.FLIGHT_RECORDER_EVENTS_INSTANCE;
 
 public class InsightAppSecScanStepRunner {
 
@@ -21,20 +25,47 @@ public class InsightAppSecScanStepRunner {
 
     private final InsightAppSecLogger logger;
     private final ScanDurationHandler scanDurationHandler;
+    private final ScanStatusPoller scanStatusPoller;
+    private final ScanTimeline timeline;
 
     InsightAppSecScanStepRunner(ScanApi scanApi,
                                 SearchApi searchApi,
                                 InsightAppSecLogger logger,
-                                ScanDurationHandler scanDurationHandler) {
+                                ScanDurationHandler scanDurationHandler,
+                                ScanStatusPoller scanStatusPoller) {
+        this(scanApi, searchApi, logger, scanDurationHandler, scanStatusPoller, new ScanTimeline());
+    }
+
+    /**
+     * @param timeline Records the phases of the run, and the API calls made for it other than shared status polls.
+     */
+    InsightAppSecScanStepRunner(ScanApi scanApi,
+                                SearchApi searchApi,
+                                InsightAppSecLogger logger,
+                                ScanDurationHandler scanDurationHandler,
+                                ScanStatusPoller scanStatusPoller,
+                                ScanTimeline timeline) {
         this.scanApi = scanApi;
         this.searchApi = searchApi;
         this.logger = logger;
         this.scanDurationHandler = scanDurationHandler;
+        this.scanStatusPoller = scanStatusPoller;
+        this.timeline = timeline;
     }
 
     public Optional<ScanResults> run(String scanConfigId,
                                      BuildAdvanceIndicator buildAdvanceIndicator,
                                      @Nullable String vulnerabilityQuery) throws InterruptedException {
+        return run(scanConfigId, buildAdvanceIndicator, vulnerabilityQuery, true);
+    }
+
+    /**
+     * @param retainVulnerabilities Whether vulnerabilities found should be kept in the scan results, or only counted.
+     */
+    public Optional<ScanResults> run(String scanConfigId,
+                                     BuildAdvanceIndicator buildAdvanceIndicator,
+                                     @Nullable String vulnerabilityQuery,
+                                     boolean retainVulnerabilities) throws InterruptedException {
         String scanId = submitScan(scanConfigId);
 
         switch (buildAdvanceIndicator) {
@@ -47,13 +78,11 @@ public class InsightAppSecScanStepRunner {
             case SCAN_COMPLETED:
                 blockUntilStatus(scanId, Scan.ScanStatus.COMPLETE);
 
-                return Optional.of(new ScanResults(getAllVulnerabilities(scanId, null),
-                                                   scanApi.getScanExecutionDetails(scanId)));
+                return Optional.of(getScanResults(scanId, null, retainVulnerabilities));
             case VULNERABILITY_QUERY:
                 blockUntilStatus(scanId, Scan.ScanStatus.COMPLETE);
 
-                return Optional.of(new ScanResults(getAllVulnerabilities(scanId, vulnerabilityQuery),
-                                                   scanApi.getScanExecutionDetails(scanId)));
+                return Optional.of(getScanResults(scanId, vulnerabilityQuery, retainVulnerabilities));
             default:
                 return Optional.empty();
         }
@@ -65,12 +94,23 @@ public class InsightAppSecScanStepRunner {
                                   Scan.ScanStatus desiredStatus) throws InterruptedException {
         logger.log("Beginning polling for scan with id: %s", scanId);
 
-        int pollIntervalSeconds = 15;
-        int failureThreshold = 20; // let fail up to 20 times, i.e. 5 minutes of failed polling = failed build
+        // polls are shared with any other build waiting on the same scan
+        timeline.onPollingStarted();
+        try (ScanStatusPoller.Subscription subscription = scanStatusPoller.subscribe(scanApi, searchApi, scanId)) {
+            awaitStatus(scanId, desiredStatus, subscription);
+        } finally {
+            timeline.onPollingEnded();
+        }
+    }
+
+    private void awaitStatus(String scanId,
+                             Scan.ScanStatus desiredStatus,
+                             ScanStatusPoller.Subscription subscription) throws InterruptedException {
+        int failureThreshold = 20; // let fail up to 20 times, i.e. 5 minutes of failed polling at the default interval = failed build
         MutableInt failedCount = new MutableInt(0);
 
-        // perform initial poll and log / cache initial status
-        Optional<Scan> scanOpt = tryGetScan(scanId, failureThreshold, failedCount);
+        // await initial poll and log / cache initial status
+        Optional<Scan> scanOpt = tryGetScan(scanId, subscription, failureThreshold, failedCount);
         Optional<Scan.ScanStatus> cachedStatusOpt = Optional.empty();
 
         if (scanOpt.isPresent()) {
@@ -106,8 +146,7 @@ public class InsightAppSecScanStepRunner {
                 }
             }
 
-            Thread.sleep(TimeUnit.SECONDS.toMillis(pollIntervalSeconds));
-            scanOpt = tryGetScan(scanId, failureThreshold, failedCount);
+            scanOpt = tryGetScan(scanId, subscription, failureThreshold, failedCount);
 
             scanOpt.ifPresent(scan -> {
                 scanDurationHandler.handleMaxScanPendingDuration(scanId, scan.getStatus());
@@ -119,7 +158,9 @@ public class InsightAppSecScanStepRunner {
     private String submitScan(String scanConfigId) {
         logger.log("Submitting scan for scan config with id: %s", scanConfigId);
 
-        String scanId = scanApi.submitScan(scanConfigId);
+        long startedAt = timeline.now();
+        String scanId = scanApi.withRecorder(timeline).withDeadline(requestDeadline()).submitScan(scanConfigId);
+        timeline.onSubmitted(scanId, startedAt);
 
         logger.log("Scan submitted successfully");
         logger.log("Scan id: %s", scanId);
@@ -128,15 +169,23 @@ public class InsightAppSecScanStepRunner {
     }
 
     private Optional<Scan> tryGetScan(String scanId,
+                                      ScanStatusPoller.Subscription subscription,
                                       int failureThreshold,
-                                      MutableInt failedCount) {
+                                      MutableInt failedCount) throws InterruptedException {
+        FlightRecorderEvents.Poll poll = FLIGHT_RECORDER_EVENTS_INSTANCE.beginPoll(scanId);
+        String status = null;
         try {
-            Scan scan = scanApi.getScan(scanId);
+            Scan scan = subscription.awaitPoll();
+            status = String.valueOf(scan.getStatus());
+            timeline.onPoll(scan.getStatus());
 
             failedCount.setValue(0); // reset the failure count
 
             return Optional.of(scan);
+        } catch (InterruptedException e) {
+            throw e; // re-throw
         } catch (Exception e) {
+            timeline.onPoll(null);
             failedCount.add(1);
 
             if (failedCount.toInteger() > failureThreshold) {
@@ -144,11 +193,51 @@ public class InsightAppSecScanStepRunner {
             } else {
                 return Optional.empty();
             }
+        } finally {
+            poll.end(status);
         }
     }
 
-    private List<Vulnerability> getAllVulnerabilities(String scanId,
-                                                      String vulnerabilityQuery) {
+    private ScanResults getScanResults(String scanId,
+                                       String vulnerabilityQuery,
+                                       boolean retainVulnerabilities) {
+        SearchRequest searchRequest = vulnerabilitySearchRequest(scanId, vulnerabilityQuery);
+
+        logger.log("Searching for vulnerabilities using query [%s]", searchRequest.getQuery());
+
+        // the scan is done with by now, so the results are fetched within their request timeouts alone
+        long startedAt = timeline.now();
+        SearchApi recordedSearchApi = searchApi.withRecorder(timeline);
+        ScanResults.ScanResultsBuilder scanResults = ScanResults.builder();
+
+        if (retainVulnerabilities) {
+            // exchanges are only parsed should the results page be viewed
+            scanResults.vulnerabilities(recordedSearchApi.searchAll(searchRequest, Vulnerability.class, FetchMode.LAZY));
+        } else {
+            // only a count is required, stream so that at most two pages are held at once, and skip exchanges entirely
+            try (Stream<Vulnerability> vulnerabilities = recordedSearchApi.searchStream(searchRequest, Vulnerability.class, FetchMode.SUMMARY)) {
+                scanResults.vulnerabilityCount((int) vulnerabilities.count());
+            }
+        }
+
+        scanResults.scanExecutionDetails(scanApi.withRecorder(timeline).getScanExecutionDetails(scanId));
+        timeline.onResultsFetched(startedAt);
+
+        return scanResults.build();
+    }
+
+    /**
+     * Calls made while the scan is under way, and the max scan execution duration has time remaining, must complete
+     * within it. Once exceeded, the scan is being stopped, and calls to see it out are bound by their timeouts alone.
+     */
+    private Deadline requestDeadline() {
+        return scanDurationHandler.getRemainingScanExecutionDuration()
+                                  .map(Deadline::after)
+                                  .orElse(Deadline.NONE);
+    }
+
+    private SearchRequest vulnerabilitySearchRequest(String scanId,
+                                                     String vulnerabilityQuery) {
         StringBuilder sb = new StringBuilder();
         sb.append(String.format("vulnerability.scans.id='%s'", scanId));
 
@@ -156,11 +245,7 @@ public class InsightAppSecScanStepRunner {
             sb.append(String.format(" && %s", vulnerabilityQuery));
         }
 
-        SearchRequest searchRequest = new SearchRequest(SearchRequest.SearchType.VULNERABILITY, sb.toString());
-
-        logger.log("Searching for vulnerabilities using query [%s]", searchRequest.getQuery());
-
-        return searchApi.searchAll(searchRequest, Vulnerability.class);
+        return new SearchRequest(SearchRequest.SearchType.VULNERABILITY, sb.toString());
     }
 
 }
@@ -0,0 +1,64 @@
+package io.jenkins.plugins.insightappsec;
+
+import hudson.model.Api;
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+/**
+ * Attaches the {@link ScanTimeline} of a build's scan step, served as JSON at '[build]/ias-timeline/api/json'
+ * so that where pipeline time goes can be aggregated across builds. Also exported in the build's own remote API.
+ * Has no page, so is not linked from the build.
+ */
+@ExportedBean
+public class InsightAppSecTimelineAction implements RunAction2 {
+
+    private static final String URL_NAME = "ias-timeline";
+
+    private transient Run run;
+
+    private ScanTimeline timeline;
+
+    public InsightAppSecTimelineAction(ScanTimeline timeline) {
+        this.timeline = timeline;
+    }
+
+    @Exported(inline = true)
+    public ScanTimeline getTimeline() {
+        return timeline;
+    }
+
+    public Api getApi() {
+        return new Api(this);
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> run) {
+        this.run = run;
+    }
+
+    @Override
+    public void onLoad(Run<?, ?> run) {
+        this.run = run;
+    }
+
+    public Run getRun() {
+        return run;
+    }
+
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return null;
+    }
+
+    @Override
+    public String getUrlName() {
+        return URL_NAME;
+    }
+}
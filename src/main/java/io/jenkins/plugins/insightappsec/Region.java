@@ -12,6 +12,12 @@ public enum Region {
     AU(Messages.selectors_au(), resolveAPIHost("au")),
     AP(Messages.selectors_ap(), resolveAPIHost("ap"));
 
+    /**
+     * Overrides the API of every region, e.g. '-Dio.jenkins.plugins.insightappsec.Region.apiBaseUrl=http://localhost:8080'
+     * to run against a stub server offline.
+     */
+    public static final String API_BASE_URL_PROPERTY = Region.class.getName() + ".apiBaseUrl";
+
     private String displayName;
     private String apiHost;
 
@@ -24,8 +30,13 @@ public enum Region {
         return displayName;
     }
 
+    /**
+     * @return the API host of the region, or the base URL overriding it, if set.
+     */
     public String getAPIHost() {
-        return apiHost;
+        String apiBaseUrl = System.getProperty(API_BASE_URL_PROPERTY);
+
+        return apiBaseUrl == null || apiBaseUrl.isEmpty() ? apiHost : apiBaseUrl;
     }
 
     private static String resolveAPIHost(String prefix) {
@@ -5,6 +5,8 @@ import io.jenkins.plugins.insightappsec.api.scan.ScanAction;
 import io.jenkins.plugins.insightappsec.api.scan.ScanApi;
 import io.jenkins.plugins.insightappsec.exception.DurationExceededException;
 
+import java.util.Optional;
+
 public class ScanDurationHandler {
 
     private final BuildAdvanceIndicator buildAdvanceIndicator;
@@ -78,6 +80,24 @@ public class ScanDurationHandler {
         }
     }
 
+    /**
+     * @return the time remaining of the max scan execution duration, or empty if there is no max or it has been exceeded.
+     *         The whole duration remains until the scan is seen to be running.
+     */
+    Optional<Long> getRemainingScanExecutionDuration() {
+        if (maxScanExecutionDurationMillis == null || stopInvoked) {
+            return Optional.empty();
+        }
+
+        if (scanExecutionStartTimeMillis == null) {
+            return Optional.of(maxScanExecutionDurationMillis);
+        }
+
+        long remainingMillis = scanExecutionStartTimeMillis + maxScanExecutionDurationMillis - System.currentTimeMillis();
+
+        return remainingMillis > 0 ? Optional.of(remainingMillis) : Optional.empty();
+    }
+
     // HELPERS
 
     private void initScanStartTimeIfRequired() {
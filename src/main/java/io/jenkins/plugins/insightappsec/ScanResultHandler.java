@@ -1,8 +1,10 @@
 package io.jenkins.plugins.insightappsec;
 
 import io.jenkins.plugins.insightappsec.exception.VulnerabilitySearchException;
+import io.jenkins.plugins.insightappsec.jfr.FlightRecorderEvents;
 import hudson.model.Run;
-import org.apache.commons.collections.CollectionUtils;
+
+import static io.jenkins.plugins.insightappsec.jfr.FlightRecorderEvents.FLIGHT_RECORDER_EVENTS_INSTANCE;
 
 public class ScanResultHandler {
 
@@ -11,15 +13,20 @@ public class ScanResultHandler {
                                   BuildAdvanceIndicator buildAdvanceIndicator,
                                   ScanResults scanResults,
                                   boolean enableScanResults) {
-        if (enableScanResults) {
-            run.addAction(new InsightAppSecScanStepAction(scanResults));
-        }
+        FlightRecorderEvents.ResultsProcessing event = FLIGHT_RECORDER_EVENTS_INSTANCE.beginResultsProcessing(run.getExternalizableId());
+        try {
+            if (enableScanResults) {
+                run.addAction(new InsightAppSecScanStepAction(scanResults));
+            }
 
-        if (buildAdvanceIndicator.equals(BuildAdvanceIndicator.VULNERABILITY_QUERY) &&
-            !CollectionUtils.isEmpty(scanResults.getVulnerabilities())) {
-            logger.log(String.format("Failing build due to %s non-filtered vulnerabilities", scanResults.getVulnerabilities().size()));
+            if (buildAdvanceIndicator.equals(BuildAdvanceIndicator.VULNERABILITY_QUERY) &&
+                scanResults.getVulnerabilityCount() > 0) {
+                logger.log(String.format("Failing build due to %s non-filtered vulnerabilities", scanResults.getVulnerabilityCount()));
 
-            throw new VulnerabilitySearchException();
+                throw new VulnerabilitySearchException();
+            }
+        } finally {
+            event.end(scanResults.getVulnerabilityCount());
         }
     }
 }
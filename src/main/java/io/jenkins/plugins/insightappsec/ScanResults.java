@@ -18,4 +18,15 @@ public class ScanResults {
     private List<Vulnerability> vulnerabilities;
     private ScanExecutionDetails scanExecutionDetails;
 
+    // set in place of vulnerabilities when they are counted but not retained
+    private Integer vulnerabilityCount;
+
+    public int getVulnerabilityCount() {
+        if (vulnerabilities != null) {
+            return vulnerabilities.size();
+        }
+
+        return vulnerabilityCount == null ? 0 : vulnerabilityCount;
+    }
+
 }
@@ -0,0 +1,412 @@
+package io.jenkins.plugins.insightappsec;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import io.jenkins.plugins.insightappsec.api.RequestTimeouts;
+import io.jenkins.plugins.insightappsec.api.scan.Scan;
+import io.jenkins.plugins.insightappsec.api.scan.ScanApi;
+import io.jenkins.plugins.insightappsec.api.search.SearchApi;
+import io.jenkins.plugins.insightappsec.api.search.SearchRequest;
+import io.jenkins.plugins.insightappsec.exception.APIException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static io.jenkins.plugins.insightappsec.api.RequestTimeouts.REQUEST_TIMEOUTS_INSTANCE;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Polls the status of every scan that builds are waiting on, once per interval no matter how many builds wait on it.
+ * The outcome of each poll is fanned out to every subscription to the scan, so API load is proportional to scans
+ * rather than to waiting builds.
+ * Scans are grouped by the host and API key they are polled with, and each group's scans are polled together
+ * using a single scan search. Scans the search fails to return, or all scans of a failed search, are polled by ID.
+ */
+public class ScanStatusPoller {
+
+    public static final ScanStatusPoller SCAN_STATUS_POLLER_INSTANCE = new ScanStatusPoller();
+
+    public static final int DEFAULT_SCAN_POLL_INTERVAL_SECONDS = 15;
+
+    // bounds the length of a search query
+    static final int MAX_SCANS_PER_SEARCH = 50;
+
+    private final ScheduledExecutorService scheduler;
+
+    // by credentials key and scan ID, guarded by itself, as are the groups and scans within
+    private final Map<String, TrackedScan> trackedScans = new HashMap<>();
+    private final Map<String, PollGroup> pollGroups = new HashMap<>();
+
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    private volatile long intervalMillis = TimeUnit.SECONDS.toMillis(DEFAULT_SCAN_POLL_INTERVAL_SECONDS);
+
+    ScanStatusPoller() {
+        this(Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(new DaemonThreadFactory(), "InsightAppSec scan status poller")));
+    }
+
+    ScanStatusPoller(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @param intervalSeconds The time between polls of each scan. Applies from the next poll.
+     */
+    public void setInterval(int intervalSeconds) {
+        this.intervalMillis = TimeUnit.SECONDS.toMillis(Math.max(1, intervalSeconds));
+    }
+
+    /**
+     * Subscribe to the polls of a scan, beginning to poll it if no other build is waiting on it.
+     * The first outcome is available straight away: either the last poll of the scan, or a poll made now.
+     * @param scanApi   The API to poll the scan by ID with, if the scan is not yet polled.
+     * @param searchApi The API to poll the scan by search with, if the scan is not yet polled.
+     * @param scanId    The ID of the scan.
+     * @return the subscription, which must be closed once no longer waiting.
+     */
+    public Subscription subscribe(ScanApi scanApi,
+                                  SearchApi searchApi,
+                                  String scanId) {
+        // a scan is only shared between builds using the same credentials, which are known to be authorized for it
+        String groupKey = searchApi.getCredentialsKey();
+        Subscription subscription = new Subscription(this, trackedKey(groupKey, scanId), scanId);
+
+        TrackedScan pollNow = null;
+        synchronized (trackedScans) {
+            TrackedScan tracked = trackedScans.get(subscription.trackedKey);
+
+            if (tracked == null) {
+                PollGroup group = pollGroups.get(groupKey);
+
+                if (group == null) {
+                    group = new PollGroup(groupKey, scanApi, searchApi);
+                    pollGroups.put(groupKey, group);
+
+                    schedulePoll(group, 0);
+                }
+
+                tracked = new TrackedScan(subscription.trackedKey, scanId, group);
+                tracked.subscribers.add(subscription);
+                trackedScans.put(tracked.key, tracked);
+
+                // an existing group polls the scan from its next poll, so poll once now for the first outcome
+                if (!group.scans.isEmpty()) {
+                    pollNow = tracked;
+                }
+                group.scans.add(tracked);
+            } else {
+                if (tracked.lastOutcome != null) {
+                    subscription.outcomes.add(tracked.lastOutcome);
+                }
+                tracked.subscribers.add(subscription);
+            }
+        }
+
+        // requested outside the lock, as the outcome is delivered under it
+        if (pollNow != null) {
+            pollById(pollNow);
+        }
+
+        return subscription;
+    }
+
+    /**
+     * @return the number of requests made to poll scans, by ID or by search.
+     */
+    public long getPolls() {
+        return polls.sum();
+    }
+
+    /**
+     * @return the number of searches made to poll scans.
+     */
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    /**
+     * @return the number of scans polled by ID because a search failed or did not return them.
+     */
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    /**
+     * @return the number of scans currently polled.
+     */
+    public int getTrackedScans() {
+        synchronized (trackedScans) {
+            return trackedScans.size();
+        }
+    }
+
+    // HELPERS
+
+    private void unsubscribe(Subscription subscription) {
+        synchronized (trackedScans) {
+            TrackedScan tracked = trackedScans.get(subscription.trackedKey);
+
+            if (tracked == null || !tracked.subscribers.remove(subscription) || !tracked.subscribers.isEmpty()) {
+                return;
+            }
+
+            trackedScans.remove(tracked.key);
+
+            PollGroup group = tracked.group;
+            group.scans.remove(tracked);
+
+            if (group.scans.isEmpty()) {
+                pollGroups.remove(group.key);
+
+                if (group.nextPoll != null) {
+                    group.nextPoll.cancel(false);
+                }
+            }
+        }
+    }
+
+    private void schedulePoll(PollGroup group,
+                              long delayMillis) {
+        group.nextPoll = scheduler.schedule(() -> poll(group), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll(PollGroup group) {
+        List<TrackedScan> scans;
+        synchronized (trackedScans) {
+            scans = new ArrayList<>(group.scans);
+        }
+
+        List<CompletableFuture<Void>> polled = new ArrayList<>();
+        if (scans.size() == 1) {
+            polled.add(pollById(scans.get(0)));
+        } else {
+            for (int i = 0; i < scans.size(); i += MAX_SCANS_PER_SEARCH) {
+                polled.add(pollBySearch(group, scans.subList(i, Math.min(i + MAX_SCANS_PER_SEARCH, scans.size()))));
+            }
+        }
+
+        // the group is polled again after a poll that never completes too, whose subscribers time out on their own
+        CompletableFuture<Void> done = CompletableFuture.allOf(polled.toArray(new CompletableFuture<?>[0]));
+        if (!done.isDone()) {
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> done.completeExceptionally(new TimeoutException()),
+                                                            pollTimeoutMillis(),
+                                                            TimeUnit.MILLISECONDS);
+            done.whenComplete((ignored, failure) -> timeout.cancel(false));
+        }
+
+        done.whenComplete((ignored, failure) -> {
+            synchronized (trackedScans) {
+                // all subscribers may have left while the poll was in flight
+                if (pollGroups.get(group.key) == group) {
+                    schedulePoll(group, intervalMillis);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the max time a poll of a group takes, i.e. a search followed by polls by ID of scans it did not return.
+     */
+    private static long pollTimeoutMillis() {
+        return REQUEST_TIMEOUTS_INSTANCE.getConnectTimeout()
+               + REQUEST_TIMEOUTS_INSTANCE.getTimeout(RequestTimeouts.RequestType.SEARCH)
+               + REQUEST_TIMEOUTS_INSTANCE.getTimeout(RequestTimeouts.RequestType.POLL);
+    }
+
+    /**
+     * @return the max time a subscriber waits for a poll: one that may have just started and timed out, the interval,
+     * then the next poll.
+     */
+    long awaitTimeoutMillis() {
+        return intervalMillis + 2 * pollTimeoutMillis();
+    }
+
+    private CompletableFuture<Void> pollById(TrackedScan tracked) {
+        polls.increment();
+
+        return request(() -> tracked.group.scanApi.getScanAsync(tracked.scanId)).handle((scan, failure) -> {
+            deliver(tracked, new Outcome(scan, unwrap(failure)));
+            return null;
+        });
+    }
+
+    private CompletableFuture<Void> pollBySearch(PollGroup group,
+                                                 List<TrackedScan> scans) {
+        polls.increment();
+        searches.increment();
+
+        String query = scans.stream()
+                            .map(tracked -> String.format("scan.id='%s'", tracked.scanId))
+                            .collect(joining(" || "));
+        SearchRequest searchRequest = new SearchRequest(SearchRequest.SearchType.SCAN, query);
+
+        return request(() -> group.searchApi.searchAllAsync(searchRequest, Scan.class)).handle((found, failure) -> {
+            Map<String, Scan> foundById = new HashMap<>();
+            if (failure == null) {
+                found.forEach(scan -> foundById.putIfAbsent(scan.getId(), scan));
+            }
+
+            List<CompletableFuture<Void>> polledById = new ArrayList<>();
+            for (TrackedScan tracked : scans) {
+                Scan scan = foundById.get(tracked.scanId);
+
+                if (scan != null) {
+                    deliver(tracked, new Outcome(scan, null));
+                } else {
+                    fallbacks.increment();
+                    polledById.add(pollById(tracked));
+                }
+            }
+
+            return CompletableFuture.allOf(polledById.toArray(new CompletableFuture<?>[0]));
+        }).thenCompose(Function.identity());
+    }
+
+    private void deliver(TrackedScan tracked,
+                         Outcome outcome) {
+        synchronized (trackedScans) {
+            if (trackedScans.get(tracked.key) != tracked) {
+                return;
+            }
+
+            tracked.lastOutcome = outcome;
+            tracked.subscribers.forEach(s -> s.outcomes.add(outcome));
+        }
+    }
+
+    private static String trackedKey(String groupKey,
+                                     String scanId) {
+        return groupKey + " " + scanId;
+    }
+
+    private static <T> CompletableFuture<T> request(Supplier<CompletableFuture<T>> request) {
+        try {
+            return request.get();
+        } catch (RuntimeException e) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+
+            return result;
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException ? failure.getCause() : failure;
+    }
+
+    /**
+     * A build waiting on a scan, receiving the outcome of every poll of it.
+     */
+    public static class Subscription implements AutoCloseable {
+
+        private final ScanStatusPoller poller;
+        private final String trackedKey;
+        private final String scanId;
+        private final BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+
+        Subscription(ScanStatusPoller poller,
+                     String trackedKey,
+                     String scanId) {
+            this.poller = poller;
+            this.trackedKey = trackedKey;
+            this.scanId = scanId;
+        }
+
+        /**
+         * Wait for the next poll of the scan, for no longer than a poll of it could take.
+         * @return the scan as polled.
+         * @throws RuntimeException if the poll failed, as thrown by the API, or an {@link APIException} if no poll
+         *                          completed in time.
+         */
+        public Scan awaitPoll() throws InterruptedException {
+            Outcome outcome = outcomes.poll(poller.awaitTimeoutMillis(), TimeUnit.MILLISECONDS);
+
+            if (outcome == null) {
+                throw new APIException(String.format("Timed out waiting for poll of scan with id [%s]", scanId), new TimeoutException());
+            }
+
+            if (outcome.failure instanceof RuntimeException) {
+                throw (RuntimeException) outcome.failure;
+            }
+            if (outcome.failure != null) {
+                throw new APIException(String.format("Error occurred polling scan with id [%s]", scanId), outcome.failure);
+            }
+
+            return outcome.scan;
+        }
+
+        @Override
+        public void close() {
+            poller.unsubscribe(this);
+        }
+
+    }
+
+    private static class PollGroup {
+
+        private final String key;
+        private final ScanApi scanApi;
+        private final SearchApi searchApi;
+        private final List<TrackedScan> scans = new ArrayList<>();
+
+        private ScheduledFuture<?> nextPoll;
+
+        private PollGroup(String key,
+                          ScanApi scanApi,
+                          SearchApi searchApi) {
+            this.key = key;
+            this.scanApi = scanApi;
+            this.searchApi = searchApi;
+        }
+
+    }
+
+    private static class TrackedScan {
+
+        private final String key;
+        private final String scanId;
+        private final PollGroup group;
+        private final List<Subscription> subscribers = new ArrayList<>();
+
+        private Outcome lastOutcome;
+
+        private TrackedScan(String key,
+                            String scanId,
+                            PollGroup group) {
+            this.key = key;
+            this.scanId = scanId;
+            this.group = group;
+        }
+
+    }
+
+    private static class Outcome {
+
+        private final Scan scan;
+        private final Throwable failure;
+
+        private Outcome(Scan scan,
+                        Throwable failure) {
+            this.scan = scan;
+            this.failure = failure;
+        }
+
+    }
+
+}
@@ -0,0 +1,231 @@
+package io.jenkins.plugins.insightappsec;
+
+import io.jenkins.plugins.insightappsec.api.ApiMetrics;
+import io.jenkins.plugins.insightappsec.api.scan.Scan;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Where the wall-clock time of a build's scan step went: submitting the scan, waiting in each scan status, and
+ * fetching the results, along with the cost of the API calls made on its behalf.
+ * Status polls are shared between builds, so are counted as polls awaited rather than as API calls.
+ * Durations are in millis, and are -1 for phases not reached.
+ */
+@ExportedBean
+public class ScanTimeline implements ApiMetrics.Recorder {
+
+    private final long startedAt;
+
+    private String scanId;
+    private long submitMillis = -1;
+    private final Map<String, Long> statusMillis = new LinkedHashMap<>();
+    private int polls;
+    private int failedPolls;
+    private long resultsMillis = -1;
+    private long totalMillis = -1;
+
+    private long calls;
+    private long errors;
+    private long retries;
+    private long pages;
+    private long responseBytes;
+
+    // only used while the build is running, so need not survive a restart
+    private transient LongSupplier currentTimeMillis;
+    private transient Scan.ScanStatus currentStatus;
+    private transient long currentStatusSince;
+
+    public ScanTimeline() {
+        this(System::currentTimeMillis);
+    }
+
+    ScanTimeline(LongSupplier currentTimeMillis) {
+        this.currentTimeMillis = currentTimeMillis;
+        this.startedAt = currentTimeMillis.getAsLong();
+    }
+
+    /**
+     * @return the current time, from which to time a phase.
+     */
+    public long now() {
+        return currentTimeMillis.getAsLong();
+    }
+
+    /**
+     * @param startedAt When submission started, as returned by {@link #now()}.
+     */
+    public synchronized void onSubmitted(String scanId,
+                                         long startedAt) {
+        this.scanId = scanId;
+        this.submitMillis = now() - startedAt;
+    }
+
+    /**
+     * Start timing scan statuses. Time until the first poll is attributed to the first status polled.
+     */
+    public synchronized void onPollingStarted() {
+        currentStatus = null;
+        currentStatusSince = now();
+    }
+
+    /**
+     * @param status The status polled, or null should the poll have failed.
+     */
+    public synchronized void onPoll(@Nullable Scan.ScanStatus status) {
+        polls++;
+
+        if (status == null) {
+            failedPolls++;
+            return;
+        }
+
+        if (currentStatus != null && currentStatus != status) {
+            endCurrentStatus();
+        }
+        currentStatus = status;
+    }
+
+    public synchronized void onPollingEnded() {
+        if (currentStatus != null) {
+            endCurrentStatus();
+            currentStatus = null;
+        }
+    }
+
+    /**
+     * @param startedAt When fetching the results started, as returned by {@link #now()}.
+     */
+    public synchronized void onResultsFetched(long startedAt) {
+        resultsMillis = now() - startedAt;
+    }
+
+    public synchronized void onCompleted() {
+        onPollingEnded();
+        totalMillis = now() - startedAt;
+    }
+
+    // API CALLS
+
+    @Override
+    public synchronized void onResponse(String endpoint,
+                                        int statusCode,
+                                        long nanos) {
+        calls++;
+    }
+
+    @Override
+    public synchronized void onFailure(String endpoint,
+                                       long nanos) {
+        calls++;
+        errors++;
+    }
+
+    @Override
+    public synchronized void onResponseBytes(String endpoint,
+                                             long bytes) {
+        responseBytes += bytes;
+    }
+
+    @Override
+    public synchronized void onRetry(String endpoint) {
+        retries++;
+    }
+
+    @Override
+    public synchronized void onPage(String tuningKey,
+                                    int results) {
+        pages++;
+    }
+
+    // EXPORTED
+
+    /**
+     * @return the epoch millis the step started at.
+     */
+    @Exported
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    @Exported
+    public synchronized String getScanId() {
+        return scanId;
+    }
+
+    @Exported
+    public synchronized long getSubmitMillis() {
+        return submitMillis;
+    }
+
+    /**
+     * @return the time spent in each scan status, in the order they were polled. Includes the current status so far.
+     */
+    @Exported
+    public synchronized Map<String, Long> getStatusMillis() {
+        Map<String, Long> millis = new LinkedHashMap<>(statusMillis);
+        if (currentStatus != null) {
+            millis.merge(currentStatus.name(), now() - currentStatusSince, Long::sum);
+        }
+
+        return millis;
+    }
+
+    @Exported
+    public synchronized int getPolls() {
+        return polls;
+    }
+
+    @Exported
+    public synchronized int getFailedPolls() {
+        return failedPolls;
+    }
+
+    @Exported
+    public synchronized long getResultsMillis() {
+        return resultsMillis;
+    }
+
+    @Exported
+    public synchronized long getTotalMillis() {
+        return totalMillis;
+    }
+
+    @Exported
+    public synchronized long getCalls() {
+        return calls;
+    }
+
+    @Exported
+    public synchronized long getErrors() {
+        return errors;
+    }
+
+    @Exported
+    public synchronized long getRetries() {
+        return retries;
+    }
+
+    @Exported
+    public synchronized long getPages() {
+        return pages;
+    }
+
+    @Exported
+    public synchronized long getResponseBytes() {
+        return responseBytes;
+    }
+
+    // HELPERS
+
+    private void endCurrentStatus() {
+        long now = now();
+        statusMillis.merge(currentStatus.name(), now - currentStatusSince, Long::sum);
+        currentStatusSince = now;
+    }
+
+}
@@ -5,45 +5,69 @@ import io.jenkins.plugins.insightappsec.api.app.AppApi;
 import io.jenkins.plugins.insightappsec.api.scan.ScanApi;
 import io.jenkins.plugins.insightappsec.api.search.SearchApi;
 import io.jenkins.plugins.insightappsec.credentials.InsightCredentialsHelper;
-import org.apache.http.client.HttpClient;
+
+import javax.annotation.Nullable;
 
 public class APIFactory {
 
     private final InsightCredentialsHelper insightCredentialsHelper;
+    private final HttpClientCache httpClientCache;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final String apiBaseUrl;
 
-    private final HttpClient searchApiHttpClient;
-    private final HttpClient appApiHttpClient;
-    private final HttpClient scanApiHttpClient;
+    public APIFactory(InsightCredentialsHelper insightCredentialsHelper,
+                      HttpClientCache httpClientCache,
+                      RateLimiterRegistry rateLimiterRegistry) {
+        this(insightCredentialsHelper, httpClientCache, rateLimiterRegistry, null);
+    }
 
+    /**
+     * @param apiBaseUrl The base URL of the API every region's APIs are created for, e.g. 'http://localhost:8080'
+     *                   of a stub server, or null for the API of each region.
+     */
     public APIFactory(InsightCredentialsHelper insightCredentialsHelper,
-                      HttpClient searchApiHttpClient,
-                      HttpClient appApiHttpClient,
-                      HttpClient scanApiHttpClient) {
+                      HttpClientCache httpClientCache,
+                      RateLimiterRegistry rateLimiterRegistry,
+                      @Nullable String apiBaseUrl) {
         this.insightCredentialsHelper = insightCredentialsHelper;
-        this.searchApiHttpClient = searchApiHttpClient;
-        this.appApiHttpClient = appApiHttpClient;
-        this.scanApiHttpClient = scanApiHttpClient;
+        this.httpClientCache = httpClientCache;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.apiBaseUrl = apiBaseUrl;
     }
 
     public SearchApi newSearchApi(String regionString,
                                   String insightCredentialsId) {
-        return new SearchApi(searchApiHttpClient, getHost(regionString), getApiKey(insightCredentialsId));
+        String host = getHost(regionString);
+        return new SearchApi(httpClientCache.getTransport(host),
+                             host,
+                             getApiKey(insightCredentialsId),
+                             rateLimiterRegistry.getRateLimiter(insightCredentialsId, host));
     }
 
     public AppApi newAppApi(String regionString,
                             String insightCredentialsId) {
-        return new AppApi(appApiHttpClient, getHost(regionString), getApiKey(insightCredentialsId));
+        String host = getHost(regionString);
+        return new AppApi(httpClientCache.getTransport(host),
+                          host,
+                          getApiKey(insightCredentialsId),
+                          rateLimiterRegistry.getRateLimiter(insightCredentialsId, host));
     }
 
     public ScanApi newScanApi(String regionString,
                               String insightCredentialsId) {
-        return new ScanApi(scanApiHttpClient, getHost(regionString), getApiKey(insightCredentialsId));
+        String host = getHost(regionString);
+        return new ScanApi(httpClientCache.getTransport(host),
+                           host,
+                           getApiKey(insightCredentialsId),
+                           rateLimiterRegistry.getRateLimiter(insightCredentialsId, host));
     }
 
     // HELPERS
 
     private String getHost(String regionString) {
-        return Region.fromString(regionString).getAPIHost();
+        Region region = Region.fromString(regionString);
+
+        return apiBaseUrl == null ? region.getAPIHost() : apiBaseUrl;
     }
 
     private String getApiKey(String insightCredentialsId) {
@@ -1,52 +1,205 @@
 package io.jenkins.plugins.insightappsec.api;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JavaType;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import io.jenkins.plugins.insightappsec.api.RequestTimeouts.RequestType;
 import io.jenkins.plugins.insightappsec.exception.APIException;
+import io.jenkins.plugins.insightappsec.exception.DeadlineExceededException;
+import io.jenkins.plugins.insightappsec.jfr.FlightRecorderEvents;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.lang.StringUtils;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.message.AbstractHttpMessage;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.util.EntityUtils;
 
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static io.jenkins.plugins.insightappsec.MappingConfiguration.OBJECT_MAPPER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.ApiMetrics.API_METRICS_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.JsonCodec.JSON_CODEC_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.PageSizeTuner.PAGE_SIZE_TUNER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.RequestCoalescer.REQUEST_COALESCER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.RequestTimeouts.REQUEST_TIMEOUTS_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.TransferStatistics.TRANSFER_STATISTICS_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.ValidatorCache.VALIDATOR_CACHE_INSTANCE;
+import static io.jenkins.plugins.insightappsec.jfr.FlightRecorderEvents.FLIGHT_RECORDER_EVENTS_INSTANCE;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
 public abstract class AbstractApi {
 
+    // Only schedules delayed async requests, i.e. retries and rate limited requests, which are themselves non-blocking,
+    // and aborts of requests in flight at their deadline
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            new NamingThreadFactory(new DaemonThreadFactory(), "InsightAppSec request scheduler"));
+
     // HEADERS
 
     private static final String X_API_KEY_HEADER = "x-api-key";
 
     // FIELDS
 
-    private final HttpClient client;
+    private final HttpTransport transport;
     private final String host;
     private final String apiKey;
+    private final RateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final PageRetrievalPool pageRetrievalPool;
+    private final RetryPolicy retryPolicy;
+    private final Deadline deadline;
+    private final ApiMetrics.Recorder recorder;
 
     protected AbstractApi(HttpClient client,
                           String host,
                           String apiKey) {
-        this.client = client;
+        this(client, null, host, apiKey, RateLimiter.UNLIMITED);
+    }
+
+    /**
+     * @param asyncClient The non-blocking client used by asynchronous operations.
+     *                    If null, asynchronous operations run the blocking client on the page retrieval pool.
+     * @param rateLimiter The limiter every request, including retries, acquires from before it is made.
+     */
+    protected AbstractApi(HttpClient client,
+                          HttpAsyncClient asyncClient,
+                          String host,
+                          String apiKey,
+                          RateLimiter rateLimiter) {
+        this(new ApacheHttpTransport(client, asyncClient), host, apiKey, rateLimiter);
+    }
+
+    /**
+     * @param transport   The transport every request is sent with.
+     * @param rateLimiter The limiter every request, including retries, acquires from before it is made.
+     */
+    protected AbstractApi(HttpTransport transport,
+                          String host,
+                          String apiKey,
+                          RateLimiter rateLimiter) {
+        this(transport,
+             host,
+             apiKey,
+             rateLimiter,
+             CircuitBreakerRegistry.CIRCUIT_BREAKER_REGISTRY_INSTANCE.getCircuitBreaker(host),
+             PageRetrievalPool.PAGE_RETRIEVAL_POOL_INSTANCE,
+             BackoffRetryPolicy.RETRY_POLICY_INSTANCE);
+    }
+
+    /**
+     * @param circuitBreaker The breaker of the host, failing requests fast while the host is down.
+     * @param retryPolicy    The policy for retrying failed idempotent requests, i.e. GETs and page retrievals.
+     */
+    protected AbstractApi(HttpClient client,
+                          HttpAsyncClient asyncClient,
+                          String host,
+                          String apiKey,
+                          RateLimiter rateLimiter,
+                          CircuitBreaker circuitBreaker,
+                          PageRetrievalPool pageRetrievalPool,
+                          RetryPolicy retryPolicy) {
+        this(new ApacheHttpTransport(client, asyncClient), host, apiKey, rateLimiter, circuitBreaker, pageRetrievalPool, retryPolicy);
+    }
+
+    protected AbstractApi(HttpTransport transport,
+                          String host,
+                          String apiKey,
+                          RateLimiter rateLimiter,
+                          CircuitBreaker circuitBreaker,
+                          PageRetrievalPool pageRetrievalPool,
+                          RetryPolicy retryPolicy) {
+        this.transport = transport;
         this.host = host;
         this.apiKey = apiKey;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.pageRetrievalPool = pageRetrievalPool;
+        this.retryPolicy = retryPolicy;
+        this.deadline = Deadline.NONE;
+        this.recorder = ApiMetrics.Recorder.NONE;
+    }
+
+    /**
+     * Copy an API, bounding every call made with the copy by a deadline.
+     * @param deadline The deadline of each call, which no request of the call may outlive.
+     */
+    protected AbstractApi(AbstractApi api,
+                          Deadline deadline) {
+        this(api, deadline, api.recorder);
+    }
+
+    /**
+     * Copy an API, bounding every call made with the copy by a deadline, and recording its requests.
+     * @param recorder Records the requests made with the copy, in addition to the controller-wide {@link ApiMetrics}.
+     */
+    protected AbstractApi(AbstractApi api,
+                          Deadline deadline,
+                          ApiMetrics.Recorder recorder) {
+        this.transport = api.transport;
+        this.host = api.host;
+        this.apiKey = api.apiKey;
+        this.rateLimiter = api.rateLimiter;
+        this.circuitBreaker = api.circuitBreaker;
+        this.pageRetrievalPool = api.pageRetrievalPool;
+        this.retryPolicy = api.retryPolicy;
+        this.deadline = deadline;
+        this.recorder = recorder;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    public ApiMetrics.Recorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * @return a key identifying the host and API key requests are made with, without revealing the API key.
+     *         APIs with the same key may share requests and their results.
+     */
+    public String getCredentialsKey() {
+        return host + " " + DigestUtils.sha256Hex(apiKey);
     }
 
     /**
@@ -57,29 +210,29 @@ public abstract class AbstractApi {
      */
     protected String post(String path,
                           Object body) {
-        try {
-            URI uri = buildUri(path);
-            HttpPost post = createPost(uri, body);
+        byte[] json = JSON_CODEC_INSTANCE.write(body);
 
-            HttpResponse response = client.execute(post);
+        return execute(() -> createPost(buildUri(path), json, RequestType.DEFAULT),
+                       createdIdHandler(body),
+                       postErrorMessage(body));
+    }
 
-            if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED) {
-                String locationHeader = response.getHeaders(HttpHeaders.LOCATION)[0].getValue();
-                return locationHeader.substring(locationHeader.lastIndexOf('/') + 1);
-            } else {
-                throw new APIException(format("Error occurred during POST of [%s]. Expected status code [%s]. Response was: %n %s",
-                                              body.getClass().getSimpleName(),
-                                              HttpStatus.SC_CREATED,
-                                              response),
-                                       response);
-            }
+    /**
+     * POST a resource without blocking.
+     * @see #post(String, Object)
+     */
+    protected CompletableFuture<String> postAsync(String path,
+                                                  Object body) {
+        byte[] json;
+        try {
+            json = JSON_CODEC_INSTANCE.write(body);
         } catch (APIException e) {
-            throw e; // re-throw
-        } catch (Exception e) {
-            throw new APIException(format("Error occurred during POST of [%s]",
-                                          body.getClass().getName()),
-                                   e);
+            return failedFuture(e);
         }
+
+        return executeAsync(() -> createPost(buildUri(path), json, RequestType.DEFAULT),
+                            createdIdHandler(body),
+                            postErrorMessage(body));
     }
 
     /**
@@ -89,31 +242,34 @@ public abstract class AbstractApi {
      */
     protected void put(String path,
                        Object body) {
-        try {
-            URI uri = buildUri(path);
-            HttpPut put = createPut(uri, body);
+        byte[] json = JSON_CODEC_INSTANCE.write(body);
 
-            HttpResponse response = client.execute(put);
+        execute(() -> createPut(buildUri(path), json),
+                okHandler(body),
+                putErrorMessage(body));
+    }
 
-            if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
-                throw new APIException(format("Error occurred during PUT of [%s]. Expected status code [%s]. Response was: %n %s",
-                                              body.getClass().getSimpleName(),
-                                              HttpStatus.SC_OK,
-                                              response),
-                                       response);
-            }
+    /**
+     * PUT a resource without blocking.
+     * @see #put(String, Object)
+     */
+    protected CompletableFuture<Void> putAsync(String path,
+                                               Object body) {
+        byte[] json;
+        try {
+            json = JSON_CODEC_INSTANCE.write(body);
         } catch (APIException e) {
-            throw e; // re-throw
-        } catch (Exception e) {
-            throw new APIException(format("Error occurred during PUT of [%s]",
-                                          body.getClass().getName()),
-                                   e);
+            return failedFuture(e);
         }
+
+        return executeAsync(() -> createPut(buildUri(path), json),
+                            okHandler(body),
+                            putErrorMessage(body));
     }
 
     /**
-     * GET a single resource by it's ID.
-     * @param path  The path to the resource, including it's ID.
+     * GET a single resource by its ID.
+     * @param path  The path to the resource, including its ID.
      * @param id    The ID of the resource.
      * @param clazz The class to map response content to.
      * @return the mapped resource.
@@ -121,32 +277,45 @@ public abstract class AbstractApi {
     protected <T> T getById(String path,
                             String id,
                             Class<T> clazz) {
-        try {
-            URI uri = buildUri(path);
-            HttpGet get = createGet(uri);
+        return getById(path, id, clazz, RequestType.DEFAULT);
+    }
 
-            HttpResponse response = client.execute(get);
+    /**
+     * GET a single resource by its ID, timing out as a type of request.
+     * @see #getById(String, String, Class)
+     */
+    protected <T> T getById(String path,
+                            String id,
+                            Class<T> clazz,
+                            RequestType requestType) {
+        return executeConditionalGet(() -> buildUri(path),
+                                     requestType,
+                                     resourceHandler(id, clazz),
+                                     getByIdErrorMessage(id, clazz));
+    }
 
-            if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                String content = IOUtils.toString(response.getEntity().getContent());
+    /**
+     * GET a single resource by its ID without blocking.
+     * @see #getById(String, String, Class)
+     */
+    protected <T> CompletableFuture<T> getByIdAsync(String path,
+                                                    String id,
+                                                    Class<T> clazz) {
+        return getByIdAsync(path, id, clazz, RequestType.DEFAULT);
+    }
 
-                return OBJECT_MAPPER_INSTANCE.readValue(content, clazz);
-            } else {
-                throw new APIException(format("Error occurred during GET for [%s] with id [%s]. Expected status code [%s]. Response was: %n %s",
-                                              clazz.getSimpleName(),
-                                              id,
-                                              HttpStatus.SC_OK,
-                                              response),
-                                       response);
-            }
-        } catch (APIException e) {
-            throw e; // re-throw
-        } catch (Exception e) {
-            throw new APIException(format("Error occurred during GET for [%s] with id [%s]",
-                                           clazz.getSimpleName(),
-                                           id),
-                                   e);
-        }
+    /**
+     * GET a single resource by its ID without blocking, timing out as a type of request.
+     * @see #getById(String, String, Class)
+     */
+    protected <T> CompletableFuture<T> getByIdAsync(String path,
+                                                    String id,
+                                                    Class<T> clazz,
+                                                    RequestType requestType) {
+        return executeConditionalGetAsync(() -> buildUri(path),
+                                          requestType,
+                                          resourceHandler(id, clazz),
+                                          getByIdErrorMessage(id, clazz));
     }
 
     /**
@@ -157,13 +326,16 @@ public abstract class AbstractApi {
      */
     protected <T> List<T> getForAll(String path,
                                     Class<T> clazz) {
-        return retrieveAll((index) -> {
-            URI uri = buildUriWithIndex(path, index);
-
-            HttpGet get = createGet(uri);
+        return retrieveAll(getPageByIndex(path, clazz));
+    }
 
-            return retrievePage(clazz, get);
-        });
+    /**
+     * Collect all pages of a particular resources using a GET without blocking.
+     * @see #getForAll(String, Class)
+     */
+    protected <T> CompletableFuture<List<T>> getForAllAsync(String path,
+                                                            Class<T> clazz) {
+        return retrieveAllAsync(getPageByIndexAsync(path, clazz));
     }
 
     /**
@@ -176,13 +348,85 @@ public abstract class AbstractApi {
     protected <T> List<T> postForAll(String path,
                                      Class<T> clazz,
                                      Object body) {
-        return retrieveAll((index) -> {
-            URI uri = buildUriWithIndex(path, index);
+        return postForAll(path, clazz, body, FetchMode.FULL);
+    }
+
+    /**
+     * Collect all pages of a particular resources using a POST with body, parsing them in a fetch mode.
+     * @see #postForAll(String, Class, Object)
+     */
+    protected <T> List<T> postForAll(String path,
+                                     Class<T> clazz,
+                                     Object body,
+                                     FetchMode fetchMode) {
+        byte[] json = JSON_CODEC_INSTANCE.write(body);
 
-            HttpPost post = createPost(uri, body);
+        return retrieveAll(postPageByIndex(path, clazz, json, fetchMode));
+    }
 
-            return retrievePage(clazz, post);
-        });
+    /**
+     * Collect all pages of a particular resources using a POST with body without blocking.
+     * @see #postForAll(String, Class, Object)
+     */
+    protected <T> CompletableFuture<List<T>> postForAllAsync(String path,
+                                                             Class<T> clazz,
+                                                             Object body) {
+        return postForAllAsync(path, clazz, body, FetchMode.FULL);
+    }
+
+    /**
+     * Collect all pages of a particular resources using a POST with body, parsing them in a fetch mode, without blocking.
+     * @see #postForAll(String, Class, Object, FetchMode)
+     */
+    protected <T> CompletableFuture<List<T>> postForAllAsync(String path,
+                                                             Class<T> clazz,
+                                                             Object body,
+                                                             FetchMode fetchMode) {
+        byte[] json;
+        try {
+            json = JSON_CODEC_INSTANCE.write(body);
+        } catch (APIException e) {
+            return failedFuture(e);
+        }
+
+        return retrieveAllAsync(postPageByIndexAsync(path, clazz, json, fetchMode));
+    }
+
+    /**
+     * Lazily stream all pages of a particular resources using a GET.
+     * @param path  The path to the resources.
+     * @param clazz The class to map the pages data to.
+     * @return The stream of all resources, which should be closed if not fully consumed.
+     */
+    protected <T> Stream<T> getForStream(String path,
+                                         Class<T> clazz) {
+        return streamAll(getPageByIndex(path, clazz));
+    }
+
+    /**
+     * Lazily stream all pages of a particular resources using a POST with body.
+     * @param path  The path to the resources.
+     * @param clazz The class to map the pages data to.
+     * @param body  The body to send in each request
+     * @return The stream of all resources, which should be closed if not fully consumed.
+     */
+    protected <T> Stream<T> postForStream(String path,
+                                          Class<T> clazz,
+                                          Object body) {
+        return postForStream(path, clazz, body, FetchMode.FULL);
+    }
+
+    /**
+     * Lazily stream all pages of a particular resources using a POST with body, parsing them in a fetch mode.
+     * @see #postForStream(String, Class, Object)
+     */
+    protected <T> Stream<T> postForStream(String path,
+                                          Class<T> clazz,
+                                          Object body,
+                                          FetchMode fetchMode) {
+        byte[] json = JSON_CODEC_INSTANCE.write(body);
+
+        return streamAll(postPageByIndex(path, clazz, json, fetchMode));
     }
 
     // HELPERS
@@ -192,11 +436,12 @@ public abstract class AbstractApi {
     }
 
     private URI buildUriWithIndex(String path,
-                                  int index) {
+                                  int index,
+                                  int pageSize) {
         Map<String, String> params = new HashMap<>();
 
         params.put("index", String.valueOf(index));
-        params.put("size", "1000"); // use max size for faster data retrieval
+        params.put("size", String.valueOf(pageSize));
 
         return buildUri(path, params);
     }
@@ -204,7 +449,7 @@ public abstract class AbstractApi {
     private URI buildUri(String path,
                          Map<String, String> params) {
         try {
-            URIBuilder builder = new URIBuilder(format("https://%s/ias/v1%s", host, path));
+            URIBuilder builder = new URIBuilder(format("%s/ias/v1%s", baseUrl(host), path));
             params.forEach(builder::addParameter);
 
             return builder.build();
@@ -213,56 +458,94 @@ public abstract class AbstractApi {
         }
     }
 
+    /**
+     * @return the base URL of the API on a host, https unless the host is itself given as a base URL, e.g. of a stub server.
+     */
+    static String baseUrl(String host) {
+        return host.contains("://") ? StringUtils.removeEnd(host, "/") : "https://" + host;
+    }
+
     private HttpPost createPost(URI uri,
-                                Object body) {
+                                byte[] json,
+                                RequestType requestType) {
         HttpPost post = new HttpPost(uri);
 
-        addApiKey(post);
-        addBody(post, body);
+        addHeaders(post);
+        addBody(post, json);
+        addConfig(post, requestType);
 
         return post;
     }
 
     private HttpPut createPut(URI uri,
-                              Object body) {
+                              byte[] json) {
         HttpPut put = new HttpPut(uri);
 
-        addApiKey(put);
-        addBody(put, body);
+        addHeaders(put);
+        addBody(put, json);
+        addConfig(put, RequestType.DEFAULT);
 
         return put;
     }
 
-    private HttpGet createGet(URI uri) {
+    private HttpGet createGet(URI uri,
+                              RequestType requestType) {
         HttpGet get = new HttpGet(uri);
 
-        addApiKey(get);
+        addHeaders(get);
+        addConfig(get, requestType);
+
+        return get;
+    }
+
+    private HttpGet createConditionalGet(URI uri,
+                                         RequestType requestType,
+                                         ValidatorCache.Entry cached) {
+        HttpGet get = createGet(uri, requestType);
+
+        if (cached != null) {
+            if (cached.getETag() != null) {
+                get.addHeader(HttpHeaders.IF_NONE_MATCH, cached.getETag());
+            }
+            if (cached.getLastModified() != null) {
+                get.addHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+            }
+        }
 
         return get;
     }
 
-    private void addApiKey(AbstractHttpMessage request) {
+    private void addHeaders(AbstractHttpMessage request) {
         request.addHeader(X_API_KEY_HEADER, apiKey);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, ContentDecoder.ACCEPT_ENCODING);
     }
 
+    /**
+     * The body is written once by the caller, each attempt wraps the same bytes in a new repeatable entity.
+     */
     private void addBody(HttpEntityEnclosingRequestBase request,
-                         Object body) {
-        try {
-            String json = OBJECT_MAPPER_INSTANCE.writeValueAsString(body);
-            request.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
-        } catch (JsonProcessingException e) {
-            throw new APIException("Error occurred writing body as json", e);
-        }
+                         byte[] json) {
+        request.setEntity(new ByteArrayEntity(json, ContentType.APPLICATION_JSON));
+    }
+
+    /**
+     * Configuration is added as the request is created, i.e. per attempt, so that retries are bounded by the time
+     * remaining until the deadline rather than the time remaining at the first attempt.
+     * @throws DeadlineExceededException if the deadline has passed.
+     */
+    private void addConfig(HttpRequestBase request,
+                           RequestType requestType) {
+        request.setConfig(REQUEST_TIMEOUTS_INSTANCE.getRequestConfig(requestType, deadline));
     }
 
     /**
      * Retrieve all pages of particular resource.
+     * The first page determines the total number of pages, the remaining pages are retrieved concurrently.
      * @param getPageByIndex The function to provide a page
-     * @return all pages of mapped resources, as a list.
+     * @return all pages of mapped resources, in index order, as a list.
      */
-    private <T> List<T> retrieveAll(Function<Integer, Page<T>> getPageByIndex) {
-        int index = 0;
-        Page<T> page = getPageByIndex.apply(index);
+    private <T> List<T> retrieveAll(IntFunction<Page<T>> getPageByIndex) {
+        Page<T> page = getPageByIndex.apply(0);
         int totalPages = page.getMetadata().getTotalPages();
 
         // handle eager return
@@ -270,34 +553,658 @@ public abstract class AbstractApi {
             return new ArrayList<>();
         }
 
-        // iterate and collect
+        // retrieve remaining and collect
         List<T> all = new ArrayList<>(page.getData());
-        index++;
-        while(index < totalPages) {
-            all.addAll(getPageByIndex.apply(index).getData());
-            index++;
-        }
+        pageRetrievalPool.retrieve(getPageByIndex, 1, totalPages)
+                         .forEach(p -> all.addAll(p.getData()));
 
         return all;
     }
 
     /**
-     * Retrieve a page of a particular resource.
-     * @param clazz     The class to map the page data to.
-     * @param request   The request to invoke that will return a page.
-     * @return the page of mapped resources.
+     * Stream all pages of particular resource.
+     * Pages are retrieved as the stream is consumed, with the next page requested while the current page is consumed.
+     * @param getPageByIndex The function to provide a page
+     * @return all pages of mapped resources, in index order, as a stream.
+     */
+    private <T> Stream<T> streamAll(IntFunction<Page<T>> getPageByIndex) {
+        PageIterator<T> iterator = new PageIterator<>(getPageByIndex, pageRetrievalPool);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                            .onClose(iterator::close);
+    }
+
+    /**
+     * Retrieve all pages of particular resource without blocking.
+     * Once the first page determines the total number of pages, the remaining pages are all requested at once.
+     * @param getPageByIndex The function to request a page
+     * @return all pages of mapped resources, in index order, as a list.
+     */
+    private <T> CompletableFuture<List<T>> retrieveAllAsync(IntFunction<CompletableFuture<Page<T>>> getPageByIndex) {
+        return getPageByIndex.apply(0).thenCompose(page -> {
+            int totalPages = page.getMetadata().getTotalPages();
+
+            // handle eager return
+            if (totalPages == 0) {
+                return CompletableFuture.completedFuture(new ArrayList<>());
+            }
+
+            List<CompletableFuture<Page<T>>> remaining = IntStream.range(1, totalPages)
+                                                                  .mapToObj(getPageByIndex)
+                                                                  .collect(toList());
+
+            return CompletableFuture.allOf(remaining.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+                List<T> all = new ArrayList<>(page.getData());
+                remaining.forEach(p -> all.addAll(p.join().getData()));
+
+                return all;
+            });
+        });
+    }
+
+    /**
+     * The page size is chosen once per retrieval, as page indexes depend on it.
+     */
+    private <T> IntFunction<Page<T>> getPageByIndex(String path,
+                                                    Class<T> clazz) {
+        String tuningKey = PageSizeTuner.key(host, path, clazz);
+        int pageSize = PAGE_SIZE_TUNER_INSTANCE.getPageSize(tuningKey);
+        API_METRICS_INSTANCE.onPageSize(tuningKey, pageSize);
+
+        return (index) -> {
+            PageSizeTuner.Sample sample = PAGE_SIZE_TUNER_INSTANCE.newSample(tuningKey);
+
+            return executeConditionalGet(() -> buildUriWithIndex(path, index, pageSize),
+                                         RequestType.SEARCH,
+                                         pageHandler(clazz, FetchMode.FULL, sample),
+                                         pageErrorMessage(clazz),
+                                         sample);
+        };
+    }
+
+    private <T> IntFunction<CompletableFuture<Page<T>>> getPageByIndexAsync(String path,
+                                                                            Class<T> clazz) {
+        String tuningKey = PageSizeTuner.key(host, path, clazz);
+        int pageSize = PAGE_SIZE_TUNER_INSTANCE.getPageSize(tuningKey);
+        API_METRICS_INSTANCE.onPageSize(tuningKey, pageSize);
+
+        return (index) -> {
+            PageSizeTuner.Sample sample = PAGE_SIZE_TUNER_INSTANCE.newSample(tuningKey);
+
+            return executeConditionalGetAsync(() -> buildUriWithIndex(path, index, pageSize),
+                                              RequestType.SEARCH,
+                                              pageHandler(clazz, FetchMode.FULL, sample),
+                                              pageErrorMessage(clazz),
+                                              sample);
+        };
+    }
+
+    /**
+     * Page POSTs only search, so identical pages in flight at the same time are coalesced like GETs.
+     * Pages parsed in different fetch modes are different objects, so are coalesced separately.
      */
-    private <T> Page<T> retrievePage(Class<T> clazz,
-                                     HttpUriRequest request) {
+    private <T> IntFunction<Page<T>> postPageByIndex(String path,
+                                                     Class<T> clazz,
+                                                     byte[] json,
+                                                     FetchMode fetchMode) {
+        String tuningKey = PageSizeTuner.key(host, path, clazz);
+        int pageSize = PAGE_SIZE_TUNER_INSTANCE.getPageSize(tuningKey);
+        API_METRICS_INSTANCE.onPageSize(tuningKey, pageSize);
+
+        return (index) -> {
+            URI uri = buildUriWithIndex(path, index, pageSize);
+            PageSizeTuner.Sample sample = PAGE_SIZE_TUNER_INSTANCE.newSample(tuningKey);
+
+            return coalesce(pageKey(uri, json, fetchMode),
+                            () -> executeWithRetry(timed(() -> createPost(uri, json, RequestType.SEARCH), sample),
+                                                   pageHandler(clazz, fetchMode, sample),
+                                                   pageErrorMessage(clazz)));
+        };
+    }
+
+    private <T> IntFunction<CompletableFuture<Page<T>>> postPageByIndexAsync(String path,
+                                                                             Class<T> clazz,
+                                                                             byte[] json,
+                                                                             FetchMode fetchMode) {
+        String tuningKey = PageSizeTuner.key(host, path, clazz);
+        int pageSize = PAGE_SIZE_TUNER_INSTANCE.getPageSize(tuningKey);
+        API_METRICS_INSTANCE.onPageSize(tuningKey, pageSize);
+
+        return (index) -> {
+            URI uri;
+            try {
+                uri = buildUriWithIndex(path, index, pageSize);
+            } catch (APIException e) {
+                return failedFuture(e);
+            }
+            PageSizeTuner.Sample sample = PAGE_SIZE_TUNER_INSTANCE.newSample(tuningKey);
+
+            return coalesceAsync(pageKey(uri, json, fetchMode),
+                                 () -> executeAsyncWithRetry(timed(() -> createPost(uri, json, RequestType.SEARCH), sample),
+                                                             pageHandler(clazz, fetchMode, sample),
+                                                             pageErrorMessage(clazz)));
+        };
+    }
+
+    private String pageKey(URI uri,
+                           byte[] json,
+                           FetchMode fetchMode) {
+        return RequestCoalescer.key(HttpPost.METHOD_NAME, uri, json, apiKey) + " " + fetchMode;
+    }
+
+    /**
+     * Execute a request, blocking until the response has been handled.
+     * The response is always released once handled, whether or not the handler read it, so its connection returns
+     * to the pool. A failure may still reference the response, but only for its status and headers.
+     * Should the request still be in flight at the deadline, it is aborted.
+     * @param request      Provides the request to execute.
+     * @param handler      Maps the response, or throws an {@link APIException} for unexpected responses.
+     * @param errorMessage Provides the message of the {@link APIException} thrown for any other error.
+     * @return the mapped response.
+     */
+    private <T> T execute(Supplier<HttpUriRequest> request,
+                          ResponseHandler<T> handler,
+                          Supplier<String> errorMessage) {
+        try {
+            // as when sending without blocking, the request is created once any wait for the rate limiter is over
+            rateLimiter.acquire();
+
+            HttpUriRequest httpRequest = request.get();
+
+            circuitBreaker.acquirePermission();
+
+            String endpoint = ApiMetrics.endpoint(httpRequest.getMethod(), httpRequest.getURI());
+            FlightRecorderEvents.ApiCall call = FLIGHT_RECORDER_EVENTS_INSTANCE.beginApiCall(endpoint);
+            long start = System.nanoTime();
+
+            ScheduledFuture<?> abort = abortAtDeadline(httpRequest::abort);
+            try {
+                HttpResponse response;
+                try {
+                    response = transport.execute(httpRequest);
+                } catch (IOException | RuntimeException e) {
+                    meterFailure(endpoint, call, System.nanoTime() - start);
+                    onRequestFailure();
+                    throw e;
+                }
+                circuitBreaker.onResponse(response.getStatusLine().getStatusCode());
+                meterResponse(endpoint, call, response, System.nanoTime() - start);
+
+                try {
+                    return handler.handleResponse(response);
+                } finally {
+                    releaseResponse(response);
+                }
+            } finally {
+                cancelAbort(abort);
+            }
+        } catch (APIException e) {
+            throw e; // re-throw
+        } catch (Exception e) {
+            throw wrapFailure(errorMessage, e);
+        }
+    }
+
+    /**
+     * Execute a request without blocking, failing with an {@link APIException} as {@link #execute} would throw.
+     * Responses are handled on the page retrieval pool so that parsing large bodies never stalls the I/O threads.
+     */
+    private <T> CompletableFuture<T> executeAsync(Supplier<HttpUriRequest> request,
+                                                  ResponseHandler<T> handler,
+                                                  Supplier<String> errorMessage) {
+        Executor executor = pageRetrievalPool.getExecutor();
+
+        if (!transport.isAsyncSupported()) {
+            return CompletableFuture.supplyAsync(() -> execute(request, handler, errorMessage), executor);
+        }
+
+        CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+
+        long waitNanos = rateLimiter.reserve();
+        if (waitNanos > 0) {
+            SCHEDULER.schedule(() -> sendAsync(request, response), waitNanos, TimeUnit.NANOSECONDS);
+        } else {
+            sendAsync(request, response);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        response.whenCompleteAsync((r, failure) -> {
+            try {
+                if (failure != null) {
+                    throw failure;
+                }
+
+                T value;
+                try {
+                    value = handler.handleResponse(r);
+                } finally {
+                    releaseResponse(r);
+                }
+
+                result.complete(value);
+            } catch (APIException e) {
+                result.completeExceptionally(e);
+            } catch (Throwable e) {
+                result.completeExceptionally(wrapFailure(errorMessage, e));
+            }
+        }, executor);
+
+        return result;
+    }
+
+    private void sendAsync(Supplier<HttpUriRequest> request,
+                           CompletableFuture<HttpResponse> response) {
+        try {
+            HttpUriRequest httpRequest = request.get();
+            String endpoint = ApiMetrics.endpoint(httpRequest.getMethod(), httpRequest.getURI());
+
+            circuitBreaker.acquirePermission();
+            FlightRecorderEvents.ApiCall call = FLIGHT_RECORDER_EVENTS_INSTANCE.beginApiCall(endpoint);
+            long start = System.nanoTime();
+            try {
+                Future<HttpResponse> exchange = transport.execute(httpRequest, new FutureCallback<HttpResponse>() {
+                    @Override
+                    public void completed(HttpResponse result) {
+                        circuitBreaker.onResponse(result.getStatusLine().getStatusCode());
+                        meterResponse(endpoint, call, result, System.nanoTime() - start);
+                        response.complete(result);
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        meterFailure(endpoint, call, System.nanoTime() - start);
+                        onRequestFailure();
+                        response.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        circuitBreaker.release();
+                        response.cancel(false);
+                    }
+                });
+
+                // the response is buffered before completion, so only the exchange itself need be aborted
+                if (exchange != null) {
+                    ScheduledFuture<?> abort = abortAtDeadline(() -> exchange.cancel(true));
+                    response.whenComplete((r, failure) -> cancelAbort(abort));
+                }
+            } catch (RuntimeException e) {
+                onRequestFailure();
+                throw e;
+            }
+        } catch (Exception e) {
+            response.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Execute an idempotent request, retrying failures according to the retry policy.
+     * Used per page, so only the failed page of a retrieval is retried.
+     * A retry is not attempted if its delay would pass the deadline.
+     * @see #execute(Supplier, ResponseHandler, Supplier)
+     */
+    private <T> T executeWithRetry(Supplier<HttpUriRequest> request,
+                                   ResponseHandler<T> handler,
+                                   Supplier<String> errorMessage) {
+        long delay = 0;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return execute(attempt == 1 ? request : retryOf(request), handler, errorMessage);
+            } catch (APIException e) {
+                delay = retryPolicy.getRetryDelay(attempt, e, delay);
+                if (delay < 0 || delay >= deadline.remainingMillis()) {
+                    throw e;
+                }
+
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Execute an idempotent request without blocking, scheduling retries according to the retry policy.
+     * @see #executeAsync(Supplier, ResponseHandler, Supplier)
+     */
+    private <T> CompletableFuture<T> executeAsyncWithRetry(Supplier<HttpUriRequest> request,
+                                                           ResponseHandler<T> handler,
+                                                           Supplier<String> errorMessage) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(request, handler, errorMessage, 1, 0, result);
+
+        return result;
+    }
+
+    private <T> void attemptAsync(Supplier<HttpUriRequest> request,
+                                  ResponseHandler<T> handler,
+                                  Supplier<String> errorMessage,
+                                  int attempt,
+                                  long previousDelay,
+                                  CompletableFuture<T> result) {
+        executeAsync(attempt == 1 ? request : retryOf(request), handler, errorMessage).whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+            if (!(cause instanceof APIException)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            APIException e = (APIException) cause;
+            long delay = retryPolicy.getRetryDelay(attempt, e, previousDelay);
+            if (delay < 0 || delay >= deadline.remainingMillis()) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            SCHEDULER.schedule(() -> attemptAsync(request, handler, errorMessage, attempt + 1, delay, result),
+                                     delay,
+                                     TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * Execute an idempotent GET, made conditional upon the validators of any cached response for the same URI.
+     * A 304 response is served from the cached object, any other successful response is cached.
+     * Identical GETs in flight at the same time are coalesced into one.
+     * @see #executeWithRetry(Supplier, ResponseHandler, Supplier)
+     */
+    private <T> T executeConditionalGet(Supplier<URI> uri,
+                                        RequestType requestType,
+                                        ResponseHandler<T> handler,
+                                        Supplier<String> errorMessage) {
+        return executeConditionalGet(uri, requestType, handler, errorMessage, null);
+    }
+
+    /**
+     * @param sample Timed from each attempt at the GET, if not null.
+     * @see #executeConditionalGet(Supplier, RequestType, ResponseHandler, Supplier)
+     */
+    private <T> T executeConditionalGet(Supplier<URI> uri,
+                                        RequestType requestType,
+                                        ResponseHandler<T> handler,
+                                        Supplier<String> errorMessage,
+                                        @Nullable PageSizeTuner.Sample sample) {
+        URI requestUri = uri.get();
+
+        return coalesce(RequestCoalescer.key(HttpGet.METHOD_NAME, requestUri, null, apiKey), () -> {
+            ValidatorCache.Entry cached = VALIDATOR_CACHE_INSTANCE.get(apiKey, requestUri);
+
+            return executeWithRetry(timed(() -> createConditionalGet(requestUri, requestType, cached), sample),
+                                    validatingHandler(requestUri, cached, handler),
+                                    errorMessage);
+        });
+    }
+
+    /**
+     * Execute an idempotent GET without blocking, made conditional as in {@link #executeConditionalGet}.
+     */
+    private <T> CompletableFuture<T> executeConditionalGetAsync(Supplier<URI> uri,
+                                                                RequestType requestType,
+                                                                ResponseHandler<T> handler,
+                                                                Supplier<String> errorMessage) {
+        return executeConditionalGetAsync(uri, requestType, handler, errorMessage, null);
+    }
+
+    /**
+     * @param sample Timed from each attempt at the GET, if not null.
+     * @see #executeConditionalGetAsync(Supplier, RequestType, ResponseHandler, Supplier)
+     */
+    private <T> CompletableFuture<T> executeConditionalGetAsync(Supplier<URI> uri,
+                                                                RequestType requestType,
+                                                                ResponseHandler<T> handler,
+                                                                Supplier<String> errorMessage,
+                                                                @Nullable PageSizeTuner.Sample sample) {
+        URI requestUri;
         try {
-            HttpResponse response = client.execute(request);
+            requestUri = uri.get();
+        } catch (APIException e) {
+            return failedFuture(e);
+        }
+
+        return coalesceAsync(RequestCoalescer.key(HttpGet.METHOD_NAME, requestUri, null, apiKey), () -> {
+            ValidatorCache.Entry cached = VALIDATOR_CACHE_INSTANCE.get(apiKey, requestUri);
+
+            return executeAsyncWithRetry(timed(() -> createConditionalGet(requestUri, requestType, cached), sample),
+                                         validatingHandler(requestUri, cached, handler),
+                                         errorMessage);
+        });
+    }
+
+    /**
+     * Coalesce a call with identical calls in flight, unless it has a deadline. A call which fails at its deadline
+     * must not fail the calls waiting on it, which may have a later deadline or none.
+     */
+    private <T> T coalesce(String key,
+                           Supplier<T> call) {
+        return deadline.isBounded() ? call.get() : REQUEST_COALESCER_INSTANCE.execute(key, call);
+    }
+
+    private <T> CompletableFuture<T> coalesceAsync(String key,
+                                                   Supplier<CompletableFuture<T>> call) {
+        return deadline.isBounded() ? call.get() : REQUEST_COALESCER_INSTANCE.executeAsync(key, call);
+    }
+
+    /**
+     * Timeouts only bound each connect and read, so a request still in flight at the deadline is aborted.
+     * @param abort Aborts the request.
+     * @return the scheduled abort, to be cancelled once the request completes, or null if there is no deadline.
+     */
+    private ScheduledFuture<?> abortAtDeadline(Runnable abort) {
+        if (!deadline.isBounded()) {
+            return null;
+        }
+
+        return SCHEDULER.schedule(abort, Math.max(0, deadline.remainingMillis()), TimeUnit.MILLISECONDS);
+    }
 
+    private static void cancelAbort(ScheduledFuture<?> abort) {
+        if (abort != null) {
+            abort.cancel(false);
+        }
+    }
+
+    /**
+     * A request aborted at the deadline says nothing of the health of the host, so does not count towards
+     * opening its circuit.
+     */
+    private void onRequestFailure() {
+        if (deadline.isExpired()) {
+            circuitBreaker.release();
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
+
+    /**
+     * Requests are created once any wait for the rate limiter is over, and again for each retry, so the sample is
+     * timed from the attempt answered alone.
+     */
+    private static Supplier<HttpUriRequest> timed(Supplier<HttpUriRequest> request,
+                                                  @Nullable PageSizeTuner.Sample sample) {
+        if (sample == null) {
+            return request;
+        }
+
+        return () -> {
+            HttpUriRequest httpRequest = request.get();
+            sample.start();
+
+            return httpRequest;
+        };
+    }
+
+    private Supplier<HttpUriRequest> retryOf(Supplier<HttpUriRequest> request) {
+        return () -> {
+            HttpUriRequest httpRequest = request.get();
+            String endpoint = ApiMetrics.endpoint(httpRequest.getMethod(), httpRequest.getURI());
+
+            API_METRICS_INSTANCE.onRetry(endpoint);
+            recorder.onRetry(endpoint);
+
+            return httpRequest;
+        };
+    }
+
+    /**
+     * Record the status and latency of a response, and while metrics, this API's recorder or the call's event are
+     * enabled, count the bytes of its body. The call's event ends once the body is closed, or the response released,
+     * so includes the time to read it.
+     */
+    private void meterResponse(String endpoint,
+                               FlightRecorderEvents.ApiCall call,
+                               HttpResponse response,
+                               long nanos) {
+        int statusCode = response.getStatusLine().getStatusCode();
+        API_METRICS_INSTANCE.onResponse(endpoint, statusCode, nanos);
+        recorder.onResponse(endpoint, statusCode, nanos);
+
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            call.end(statusCode, 0);
+        } else if (API_METRICS_INSTANCE.isEnabled() || recorder != ApiMetrics.Recorder.NONE || call.isEnabled()) {
+            response.setEntity(new MeteredEntity(entity, bytes -> {
+                API_METRICS_INSTANCE.onResponseBytes(endpoint, bytes);
+                recorder.onResponseBytes(endpoint, bytes);
+                call.end(statusCode, bytes);
+            }));
+        }
+    }
+
+    private void meterFailure(String endpoint,
+                              FlightRecorderEvents.ApiCall call,
+                              long nanos) {
+        API_METRICS_INSTANCE.onFailure(endpoint, nanos);
+        recorder.onFailure(endpoint, nanos);
+        call.end(0, 0);
+    }
+
+    private APIException wrapFailure(Supplier<String> errorMessage,
+                                     Throwable failure) {
+        if (deadline.isExpired()) {
+            return new DeadlineExceededException(errorMessage.get());
+        }
+
+        return new APIException(errorMessage.get(), failure);
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(APIException failure) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.completeExceptionally(failure);
+
+        return result;
+    }
+
+    /**
+     * Consume any unread content of a response, then close it, releasing its connection back to the pool.
+     * Consuming first allows the connection to be reused, rather than closed.
+     */
+    private static void releaseResponse(HttpResponse response) {
+        HttpEntity entity = response.getEntity();
+        EntityUtils.consumeQuietly(entity);
+
+        // consuming only closes streaming content, so a body never closed by its handler is reported here
+        if (entity instanceof MeteredEntity) {
+            ((MeteredEntity) entity).release();
+        }
+
+        if (response instanceof Closeable) {
+            IOUtils.closeQuietly((Closeable) response);
+        }
+    }
+
+    // RESPONSE HANDLERS
+
+    private ResponseHandler<String> createdIdHandler(Object body) {
+        return response -> {
+            if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED) {
+                String locationHeader = response.getHeaders(HttpHeaders.LOCATION)[0].getValue();
+                return locationHeader.substring(locationHeader.lastIndexOf('/') + 1);
+            } else {
+                throw new APIException(format("Error occurred during POST of [%s]. Expected status code [%s]. Response was: %n %s",
+                                              body.getClass().getSimpleName(),
+                                              HttpStatus.SC_CREATED,
+                                              response),
+                                       response);
+            }
+        };
+    }
+
+    private ResponseHandler<Void> okHandler(Object body) {
+        return response -> {
+            if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+                throw new APIException(format("Error occurred during PUT of [%s]. Expected status code [%s]. Response was: %n %s",
+                                              body.getClass().getSimpleName(),
+                                              HttpStatus.SC_OK,
+                                              response),
+                                       response);
+            }
+
+            return null;
+        };
+    }
+
+    @SuppressWarnings("unchecked") // a URI is always mapped to the same type
+    private <T> ResponseHandler<T> validatingHandler(URI uri,
+                                                     ValidatorCache.Entry cached,
+                                                     ResponseHandler<T> handler) {
+        return response -> {
+            if (cached != null && response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+                VALIDATOR_CACHE_INSTANCE.onNotModified();
+                return (T) cached.getValue();
+            }
+
+            T value = handler.handleResponse(response);
+            VALIDATOR_CACHE_INSTANCE.put(apiKey, uri, response, value);
+
+            return value;
+        };
+    }
+
+    private <T> ResponseHandler<T> resourceHandler(String id,
+                                                   Class<T> clazz) {
+        return response -> {
+            if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+                try (InputStream content = ContentDecoder.open(response, TRANSFER_STATISTICS_INSTANCE)) {
+                    return JSON_CODEC_INSTANCE.readerFor(clazz).readValue(content);
+                }
+            } else {
+                throw new APIException(format("Error occurred during GET for [%s] with id [%s]. Expected status code [%s]. Response was: %n %s",
+                                              clazz.getSimpleName(),
+                                              id,
+                                              HttpStatus.SC_OK,
+                                              response),
+                                       response);
+            }
+        };
+    }
+
+    /**
+     * The size and latency of each page parsed is recorded to the sample, to tune the size of later pages.
+     */
+    private <T> ResponseHandler<Page<T>> pageHandler(Class<T> clazz,
+                                                     FetchMode fetchMode,
+                                                     PageSizeTuner.Sample sample) {
+        return response -> {
             if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                String content = IOUtils.toString(response.getEntity().getContent());
+                try (CountingInputStream content = new CountingInputStream(ContentDecoder.open(response, TRANSFER_STATISTICS_INSTANCE))) {
+                    Page<T> page = JSON_CODEC_INSTANCE.pageReaderFor(clazz, fetchMode).readValue(content);
+                    int results = page.getData() == null ? 0 : page.getData().size();
+                    sample.record(results, content.getByteCount());
 
-                JavaType type = OBJECT_MAPPER_INSTANCE.getTypeFactory().constructParametricType(Page.class, clazz);
+                    API_METRICS_INSTANCE.onPage(sample.getKey(), results);
+                    recorder.onPage(sample.getKey(), results);
 
-                return OBJECT_MAPPER_INSTANCE.readValue(content, type);
+                    return page;
+                }
             } else {
                 throw new APIException(format("Error occurred during retrieval of page of [%s]. Expected status code [%s]. Response was: %n %s",
                                                clazz.getSimpleName(),
@@ -305,12 +1212,25 @@ public abstract class AbstractApi {
                                                response),
                                        response);
             }
-        } catch (APIException e) {
-            throw e; // re-throw
-        } catch (Exception e) {
-            throw new APIException(format("Error occurred during retrieval of page of [%s]",
-                                          clazz.getSimpleName()),
-                                   e);
-        }
+        };
+    }
+
+    // ERROR MESSAGES
+
+    private static Supplier<String> postErrorMessage(Object body) {
+        return () -> format("Error occurred during POST of [%s]", body.getClass().getName());
+    }
+
+    private static Supplier<String> putErrorMessage(Object body) {
+        return () -> format("Error occurred during PUT of [%s]", body.getClass().getName());
+    }
+
+    private static Supplier<String> getByIdErrorMessage(String id,
+                                                        Class<?> clazz) {
+        return () -> format("Error occurred during GET for [%s] with id [%s]", clazz.getSimpleName(), id);
+    }
+
+    private static Supplier<String> pageErrorMessage(Class<?> clazz) {
+        return () -> format("Error occurred during retrieval of page of [%s]", clazz.getSimpleName());
     }
 }
@@ -0,0 +1,60 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Sends requests over HTTP/1.1 using Apache HttpClient, with a connection per concurrent request.
+ */
+public class ApacheHttpTransport implements HttpTransport {
+
+    private final HttpClient client;
+    private final Supplier<HttpAsyncClient> asyncClient;
+
+    /**
+     * @param asyncClient The non-blocking client, or null if requests may only be sent blocking.
+     */
+    public ApacheHttpTransport(HttpClient client,
+                               HttpAsyncClient asyncClient) {
+        this(client, asyncClient != null ? () -> asyncClient : null);
+    }
+
+    /**
+     * @param asyncClient Gets the non-blocking client, only once a non-blocking request is sent, so that it need not be
+     *                    created and started for transports sending requests blocking alone. Null if requests may only
+     *                    be sent blocking.
+     */
+    public ApacheHttpTransport(HttpClient client,
+                               Supplier<HttpAsyncClient> asyncClient) {
+        this.client = client;
+        this.asyncClient = asyncClient;
+    }
+
+    @Override
+    public HttpResponse execute(HttpUriRequest request) throws IOException {
+        return client.execute(request);
+    }
+
+    @Override
+    public Future<HttpResponse> execute(HttpUriRequest request,
+                                        FutureCallback<HttpResponse> callback) {
+        if (asyncClient == null) {
+            throw new UnsupportedOperationException("Non-blocking requests are not supported without a non-blocking client");
+        }
+
+        return asyncClient.get().execute(request, callback);
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return asyncClient != null;
+    }
+
+}
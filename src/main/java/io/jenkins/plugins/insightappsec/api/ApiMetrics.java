@@ -0,0 +1,134 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+/**
+ * Records the latency, outcome and size of requests to the API, per endpoint, to a {@link Recorder}, e.g. one
+ * publishing them to the Jenkins Metrics plugin. Nothing is recorded until a recorder is set, so the plugin works
+ * whether or not the Metrics plugin is installed.
+ */
+public class ApiMetrics {
+
+    public static final ApiMetrics API_METRICS_INSTANCE = new ApiMetrics();
+
+    private static final String BASE_PATH = "/ias/v1";
+    private static final String ID = "{id}";
+
+    // UUIDs and numeric IDs, so that requests for different resources are recorded against one endpoint
+    private static final Pattern ID_SEGMENT = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9]+");
+
+    private volatile Recorder recorder = Recorder.NONE;
+
+    public void setRecorder(Recorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public boolean isEnabled() {
+        return recorder != Recorder.NONE;
+    }
+
+    /**
+     * @return the endpoint of a request, e.g. 'GET /scans/{id}/execution-details'.
+     */
+    public static String endpoint(String method,
+                                  URI uri) {
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        if (path.startsWith(BASE_PATH)) {
+            path = path.substring(BASE_PATH.length());
+        }
+
+        StringBuilder endpoint = new StringBuilder(method).append(' ');
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                endpoint.append('/').append(ID_SEGMENT.matcher(segment).matches() ? ID : segment);
+            }
+        }
+
+        return endpoint.toString();
+    }
+
+    public void onResponse(String endpoint,
+                           int statusCode,
+                           long nanos) {
+        recorder.onResponse(endpoint, statusCode, nanos);
+    }
+
+    public void onFailure(String endpoint,
+                          long nanos) {
+        recorder.onFailure(endpoint, nanos);
+    }
+
+    public void onResponseBytes(String endpoint,
+                                long bytes) {
+        recorder.onResponseBytes(endpoint, bytes);
+    }
+
+    public void onRetry(String endpoint) {
+        recorder.onRetry(endpoint);
+    }
+
+    public void onPageSize(String tuningKey,
+                           int pageSize) {
+        recorder.onPageSize(tuningKey, pageSize);
+    }
+
+    public void onPage(String tuningKey,
+                       int results) {
+        recorder.onPage(tuningKey, results);
+    }
+
+    public interface Recorder {
+
+        Recorder NONE = new Recorder() {};
+
+        /**
+         * A response was received.
+         * @param nanos The time from sending the request until its response was received.
+         */
+        default void onResponse(String endpoint,
+                                int statusCode,
+                                long nanos) {
+        }
+
+        /**
+         * A request failed without a response, e.g. it could not connect or timed out.
+         */
+        default void onFailure(String endpoint,
+                               long nanos) {
+        }
+
+        /**
+         * The body of a response was closed.
+         * @param bytes The bytes of the body read by its handler as received, i.e. before decoding any compression.
+         */
+        default void onResponseBytes(String endpoint,
+                                     long bytes) {
+        }
+
+        /**
+         * A request is being retried.
+         */
+        default void onRetry(String endpoint) {
+        }
+
+        /**
+         * A paginated retrieval started.
+         * @param tuningKey The key of the endpoint and type of result, as built by {@link PageSizeTuner#key}.
+         * @param pageSize  The page size chosen for the retrieval.
+         */
+        default void onPageSize(String tuningKey,
+                                int pageSize) {
+        }
+
+        /**
+         * A page of a paginated retrieval was parsed.
+         * @param results The number of results in the page.
+         */
+        default void onPage(String tuningKey,
+                            int results) {
+        }
+
+    }
+
+}
@@ -0,0 +1,121 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.jenkins.plugins.insightappsec.exception.APIException;
+import org.apache.http.ConnectionClosedException;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries transient failures using exponential backoff with decorrelated jitter,
+ * so that many builds failing at once do not retry in lockstep.
+ * A 'Retry-After' header is honoured in place of the backoff, giving up if it asks for longer than the max delay.
+ */
+public class BackoffRetryPolicy implements RetryPolicy {
+
+    public static final BackoffRetryPolicy RETRY_POLICY_INSTANCE = new BackoffRetryPolicy();
+
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    // not defined by HttpStatus in the bundled httpcore
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
+    static final long BASE_DELAY = 500;
+    static final long MAX_DELAY = TimeUnit.SECONDS.toMillis(30);
+
+    private static final Set<Integer> RETRYABLE_STATUS_CODES = new HashSet<>(Arrays.asList(SC_TOO_MANY_REQUESTS,
+                                                                                          HttpStatus.SC_BAD_GATEWAY,
+                                                                                          HttpStatus.SC_SERVICE_UNAVAILABLE,
+                                                                                          HttpStatus.SC_GATEWAY_TIMEOUT));
+
+    // connection level failures, i.e. refused, reset, timed out or closed without a response
+    private static final List<Class<? extends IOException>> RETRYABLE_FAILURES = Arrays.asList(SocketException.class,
+                                                                                              SocketTimeoutException.class,
+                                                                                              ConnectTimeoutException.class,
+                                                                                              NoHttpResponseException.class,
+                                                                                              ConnectionClosedException.class);
+
+    private volatile int maxRetries = DEFAULT_MAX_RETRIES;
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * @param maxRetries The max number of retries of a single request. 0 disables retries.
+     */
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    @Override
+    public long getRetryDelay(int attempt,
+                              APIException failure,
+                              long previousDelay) {
+        if (attempt > maxRetries || !isRetryable(failure)) {
+            return -1;
+        }
+
+        long retryAfter = getRetryAfter(failure.getResponse());
+        if (retryAfter >= 0) {
+            return retryAfter <= MAX_DELAY ? retryAfter : -1;
+        }
+
+        // decorrelated jitter, i.e. random between the base delay and 3x the previous delay
+        long upperBound = Math.max(BASE_DELAY, previousDelay * 3);
+        return Math.min(MAX_DELAY, ThreadLocalRandom.current().nextLong(BASE_DELAY, upperBound + 1));
+    }
+
+    // HELPERS
+
+    private boolean isRetryable(APIException failure) {
+        if (failure.getResponse() != null) {
+            return RETRYABLE_STATUS_CODES.contains(failure.getResponse().getStatusLine().getStatusCode());
+        }
+
+        Throwable cause = failure.getCause();
+
+        // an IOException, but the response was malformed and will be again
+        if (cause instanceof JsonProcessingException) {
+            return false;
+        }
+
+        return RETRYABLE_FAILURES.stream().anyMatch(type -> type.isInstance(cause));
+    }
+
+    /**
+     * @return the delay in millis requested by the 'Retry-After' header, or -1 if absent or invalid.
+     */
+    private long getRetryAfter(HttpResponse response) {
+        Header header = response != null ? response.getFirstHeader(HttpHeaders.RETRY_AFTER) : null;
+
+        if (header == null) {
+            return -1;
+        }
+
+        String value = header.getValue().trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            Date date = DateUtils.parseDate(value);
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        }
+    }
+
+}
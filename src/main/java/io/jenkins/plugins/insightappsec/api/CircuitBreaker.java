@@ -0,0 +1,148 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.exception.CircuitOpenException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Fails requests to a host fast while it is down.
+ * <ul>
+ *     <li>CLOSED - requests are made, consecutive host failures are counted</li>
+ *     <li>OPEN - after too many consecutive host failures, requests are rejected until the open duration passes</li>
+ *     <li>HALF_OPEN - a single probe request is made, closing upon success and re-opening upon failure</li>
+ * </ul>
+ * Host failures are connection failures and 5xx responses, any other response shows the host is up.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String host;
+    private final LongSupplier nanoTime;
+
+    private int failureThreshold;
+    private long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+    private long rejections;
+
+    public CircuitBreaker(String host,
+                          int failureThreshold,
+                          long openDurationMillis) {
+        this(host, failureThreshold, openDurationMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(String host,
+                   int failureThreshold,
+                   long openDurationMillis,
+                   LongSupplier nanoTime) {
+        this.host = host;
+        this.nanoTime = nanoTime;
+        configure(failureThreshold, openDurationMillis);
+    }
+
+    /**
+     * @param failureThreshold   The number of consecutive host failures that opens the circuit. 0 disables the breaker.
+     * @param openDurationMillis The time the circuit stays open before a probe request is allowed.
+     */
+    public synchronized void configure(int failureThreshold,
+                                       long openDurationMillis) {
+        this.failureThreshold = Math.max(0, failureThreshold);
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, openDurationMillis));
+
+        if (this.failureThreshold == 0) {
+            close();
+        }
+    }
+
+    /**
+     * Acquire permission to make a request, which must be followed by exactly one of
+     * {@link #onResponse(int)}, {@link #onFailure()} or {@link #release()}.
+     * @throws CircuitOpenException if the circuit is open, or half-open with a probe already in flight.
+     */
+    public synchronized void acquirePermission() {
+        switch (state) {
+            case OPEN:
+                if (nanoTime.getAsLong() - openedAtNanos < openDurationNanos) {
+                    throw reject();
+                }
+
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                break;
+            case HALF_OPEN:
+                if (probeInFlight) {
+                    throw reject();
+                }
+
+                probeInFlight = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    public void onResponse(int statusCode) {
+        if (statusCode >= 500) {
+            onFailure();
+        } else {
+            onSuccess();
+        }
+    }
+
+    public synchronized void onSuccess() {
+        close();
+    }
+
+    public synchronized void onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+
+        // failures of requests let through before it opened do not extend the open period
+        if (state == State.OPEN) {
+            return;
+        }
+
+        if (state == State.HALF_OPEN || (failureThreshold > 0 && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAtNanos = nanoTime.getAsLong();
+        }
+    }
+
+    /**
+     * Give up a permission without an outcome, e.g. when the request was cancelled.
+     */
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getRejections() {
+        return rejections;
+    }
+
+    // HELPERS
+
+    private void close() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    private CircuitOpenException reject() {
+        rejections++;
+        return new CircuitOpenException(host);
+    }
+
+}
@@ -0,0 +1,53 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares a {@link CircuitBreaker} per API host, so all builds targeting a region that is down fail fast together.
+ */
+public class CircuitBreakerRegistry {
+
+    public static final CircuitBreakerRegistry CIRCUIT_BREAKER_REGISTRY_INSTANCE = new CircuitBreakerRegistry();
+
+    public static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+    public static final int DEFAULT_CIRCUIT_BREAKER_OPEN_SECONDS = 30;
+
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private volatile int failureThreshold = DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+    private volatile int openSeconds = DEFAULT_CIRCUIT_BREAKER_OPEN_SECONDS;
+
+    /**
+     * Get the breaker for a host, creating it on first use.
+     * @param host The API host, e.g. us.api.insight.rapid7.com
+     * @return the breaker shared by all requests to the host.
+     */
+    public CircuitBreaker getCircuitBreaker(String host) {
+        return circuitBreakers.computeIfAbsent(host,
+                                               h -> new CircuitBreaker(h, failureThreshold, TimeUnit.SECONDS.toMillis(openSeconds)));
+    }
+
+    /**
+     * Apply thresholds to all existing and future breakers.
+     * @param failureThreshold The number of consecutive host failures that opens a circuit. 0 disables the breakers.
+     * @param openSeconds      The time a circuit stays open before a probe request is allowed.
+     */
+    public void configureCircuitBreakers(int failureThreshold,
+                                         int openSeconds) {
+        this.failureThreshold = failureThreshold;
+        this.openSeconds = openSeconds;
+
+        circuitBreakers.values().forEach(c -> c.configure(failureThreshold, TimeUnit.SECONDS.toMillis(openSeconds)));
+    }
+
+    /**
+     * @return the breakers by host, e.g. for reporting their state.
+     */
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+
+}
@@ -0,0 +1,191 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A debugging aid which records where each pooled connection was leased, and reports connections held for longer
+ * than a threshold along with the stack trace of their lease. Such connections have most likely leaked, i.e. their
+ * response was never consumed, and would eventually exhaust the pool.
+ * Leases are only recorded while enabled, as capturing a stack trace per lease is too costly to leave on.
+ */
+public class ConnectionLeakDetector {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionLeakDetector.class.getName());
+
+    public static final long DEFAULT_LEAK_THRESHOLD_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final LongSupplier currentTimeMillis;
+    private final Map<HttpClientConnection, Lease> leases = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+    private volatile long leakThresholdMillis = DEFAULT_LEAK_THRESHOLD_MILLIS;
+
+    public ConnectionLeakDetector() {
+        this(System::currentTimeMillis);
+    }
+
+    ConnectionLeakDetector(LongSupplier currentTimeMillis) {
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+
+        if (!enabled) {
+            leases.clear();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param leakThresholdMillis The time a connection may be leased for before it is reported.
+     */
+    public void setLeakThreshold(long leakThresholdMillis) {
+        this.leakThresholdMillis = leakThresholdMillis;
+    }
+
+    /**
+     * @return a connection manager which reports its leases and releases to this detector.
+     */
+    public PoolingHttpClientConnectionManager newConnectionManager() {
+        return new PoolingHttpClientConnectionManager() {
+            @Override
+            public ConnectionRequest requestConnection(HttpRoute route,
+                                                       Object state) {
+                ConnectionRequest request = super.requestConnection(route, state);
+
+                return new ConnectionRequest() {
+                    @Override
+                    public HttpClientConnection get(long timeout,
+                                                    TimeUnit unit) throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                        HttpClientConnection connection = request.get(timeout, unit);
+                        onLease(connection, route);
+
+                        return connection;
+                    }
+
+                    @Override
+                    public boolean cancel() {
+                        return request.cancel();
+                    }
+                };
+            }
+
+            @Override
+            public void releaseConnection(HttpClientConnection connection,
+                                          Object state,
+                                          long keepAlive,
+                                          TimeUnit unit) {
+                onRelease(connection);
+                super.releaseConnection(connection, state, keepAlive, unit);
+            }
+        };
+    }
+
+    /**
+     * @return the leases held for longer than the threshold, oldest first.
+     */
+    public List<Lease> findLeaks() {
+        long now = currentTimeMillis.getAsLong();
+
+        List<Lease> leaks = new ArrayList<>();
+        leases.values().forEach(lease -> {
+            if (now - lease.leasedAt >= leakThresholdMillis) {
+                leaks.add(lease);
+            }
+        });
+        leaks.sort((l0, l1) -> Long.compare(l0.leasedAt, l1.leasedAt));
+
+        return leaks;
+    }
+
+    /**
+     * Log a warning, with the stack trace of the lease, for each connection held for longer than the threshold.
+     * Each leak is reported once.
+     */
+    public void reportLeaks() {
+        for (Lease leak : findLeaks()) {
+            if (!leak.reported) {
+                leak.reported = true;
+
+                LOGGER.log(Level.WARNING,
+                           String.format("Connection to [%s] leased by thread [%s] has not been released after %s ms, its response may not have been consumed",
+                                         leak.route.getTargetHost(),
+                                         leak.threadName,
+                                         currentTimeMillis.getAsLong() - leak.leasedAt),
+                           leak.leasedFrom);
+            }
+        }
+    }
+
+    // HELPERS
+
+    void onLease(HttpClientConnection connection,
+                 HttpRoute route) {
+        if (enabled) {
+            leases.put(connection, new Lease(route,
+                                             Thread.currentThread().getName(),
+                                             currentTimeMillis.getAsLong(),
+                                             new Throwable("Connection leased here")));
+        }
+    }
+
+    void onRelease(HttpClientConnection connection) {
+        leases.remove(connection);
+    }
+
+    public static class Lease {
+
+        private final HttpRoute route;
+        private final String threadName;
+        private final long leasedAt;
+        private final Throwable leasedFrom;
+
+        private volatile boolean reported;
+
+        Lease(HttpRoute route,
+              String threadName,
+              long leasedAt,
+              Throwable leasedFrom) {
+            this.route = route;
+            this.threadName = threadName;
+            this.leasedAt = leasedAt;
+            this.leasedFrom = leasedFrom;
+        }
+
+        public HttpRoute getRoute() {
+            return route;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public long getLeasedAt() {
+            return leasedAt;
+        }
+
+        public StackTraceElement[] getLeasedFrom() {
+            return leasedFrom.getStackTrace();
+        }
+
+    }
+
+}
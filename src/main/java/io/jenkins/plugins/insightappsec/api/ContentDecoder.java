@@ -0,0 +1,77 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.entity.DeflateInputStream;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decodes gzip and deflate response bodies as they are read, rather than buffering them.
+ */
+class ContentDecoder {
+
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private ContentDecoder() {
+    }
+
+    /**
+     * Open the body of a response, decoding it according to its 'Content-Encoding'.
+     * The wire and decoded byte counts are recorded once the returned stream is closed.
+     * @param response   The response to read.
+     * @param statistics The statistics to record to.
+     * @return the decoded body.
+     */
+    static InputStream open(HttpResponse response,
+                            TransferStatistics statistics) throws IOException {
+        CountingInputStream wire = new CountingInputStream(response.getEntity().getContent());
+
+        String encoding = getContentEncoding(response);
+        boolean compressed = true;
+
+        InputStream decoded;
+        switch (encoding) {
+            case "gzip":
+            case "x-gzip":
+                decoded = new GZIPInputStream(wire);
+                break;
+            case "deflate":
+                decoded = new DeflateInputStream(wire);
+                break;
+            default:
+                decoded = wire;
+                compressed = false;
+                break;
+        }
+
+        CountingInputStream content = new CountingInputStream(decoded);
+        boolean recordCompressed = compressed;
+
+        return new FilterInputStream(content) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    statistics.record(wire.getByteCount(), content.getByteCount(), recordCompressed);
+                }
+            }
+        };
+    }
+
+    // HELPERS
+
+    private static String getContentEncoding(HttpResponse response) {
+        Header header = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+
+        return header != null ? header.getValue().trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+}
@@ -0,0 +1,51 @@
+package io.jenkins.plugins.insightappsec.api;
+
+/**
+ * The time by which a call to the API must complete. Every request the call makes, including retries,
+ * has its timeouts bounded by the time remaining, and is aborted should it still be in flight at the deadline.
+ */
+public final class Deadline {
+
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+
+    private final long deadlineMillis;
+
+    private Deadline(long deadlineMillis) {
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * @param deadlineMillis The epoch millis of the deadline.
+     */
+    public static Deadline at(long deadlineMillis) {
+        return new Deadline(deadlineMillis);
+    }
+
+    /**
+     * @param durationMillis The time from now until the deadline.
+     */
+    public static Deadline after(long durationMillis) {
+        return new Deadline(System.currentTimeMillis() + durationMillis);
+    }
+
+    public boolean isBounded() {
+        return this != NONE;
+    }
+
+    /**
+     * @return the millis remaining until the deadline, negative once passed, or {@link Long#MAX_VALUE} if unbounded.
+     */
+    public long remainingMillis() {
+        return isBounded() ? deadlineMillis - System.currentTimeMillis() : Long.MAX_VALUE;
+    }
+
+    public boolean isExpired() {
+        return remainingMillis() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return isBounded() ? String.format("Deadline[%s ms remaining]", remainingMillis()) : "Deadline[none]";
+    }
+
+}
@@ -0,0 +1,58 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * How much of a response is materialized as it is parsed. Large detail fields, e.g. the request and response of
+ * each vulnerability exchange, are often not needed, or only needed once they are viewed.
+ */
+public enum FetchMode {
+
+    /**
+     * Every field is parsed.
+     */
+    FULL,
+
+    /**
+     * Fields in the {@link Detail} view are skipped while parsing, and are left null.
+     */
+    SUMMARY,
+
+    /**
+     * Types supporting it keep their raw JSON, and only parse it when their fields are read.
+     */
+    LAZY;
+
+    /**
+     * The view of fields skipped while parsing in {@link #SUMMARY} mode.
+     */
+    public interface Detail {}
+
+    /**
+     * The view active while parsing in {@link #SUMMARY} mode, which excludes {@link Detail}.
+     */
+    public interface Summary {}
+
+    /**
+     * @return the reader, configured to parse in this mode.
+     */
+    public ObjectReader configure(ObjectReader reader) {
+        switch (this) {
+            case SUMMARY:
+                return reader.withView(Summary.class);
+            case LAZY:
+                return reader.withAttribute(FetchMode.class, LAZY);
+            default:
+                return reader;
+        }
+    }
+
+    /**
+     * @return whether the value being parsed should keep its raw JSON rather than be parsed.
+     */
+    public static boolean isLazy(DeserializationContext context) {
+        return context.getAttribute(FetchMode.class) == LAZY;
+    }
+
+}
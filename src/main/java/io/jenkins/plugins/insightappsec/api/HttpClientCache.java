@@ -1,18 +1,310 @@
 package io.jenkins.plugins.insightappsec.api;
 
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import io.jenkins.plugins.insightappsec.exception.APIException;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
 
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static io.jenkins.plugins.insightappsec.api.RequestTimeouts.REQUEST_TIMEOUTS_INSTANCE;
+
+/**
+ * Caches a pooled {@link HttpClient} and {@link HttpAsyncClient} per API host, shared by all APIs and builds targeting that host.
+ * Once a client exists, the pools are maintained in the background: expired and idle connections are evicted,
+ * and leaked connections are reported if leak detection is enabled.
+ * If HTTP/2 is enabled, and running on Java 11+, requests are instead sent with a JDK client per host, which
+ * multiplexes concurrent requests over a single connection.
+ */
 public class HttpClientCache {
 
-    public static final HttpClient SEARCH_API_HTTP_CLIENT = defaultHttpClient();
-    public static final HttpClient APP_API_HTTP_CLIENT = defaultHttpClient();
-    public static final HttpClient SCAN_API_HTTP_CLIENT = defaultHttpClient();
+    private static final Logger LOGGER = Logger.getLogger(HttpClientCache.class.getName());
+
+    public static final HttpClientCache HTTP_CLIENT_CACHE_INSTANCE = new HttpClientCache();
+
+    // only built, and only able to run, on Java 11+, so loaded reflectively
+    private static final String JDK_HTTP_TRANSPORT = "io.jenkins.plugins.insightappsec.api.JdkHttpTransport";
+    private static final Class<?> JDK_HTTP_TRANSPORT_CLASS = loadJdkHttpTransport();
+
+    public static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 100;
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 50;
+    public static final int DEFAULT_IDLE_CONNECTION_TIMEOUT_SECONDS = 30;
+
+    static final int MAINTENANCE_INTERVAL_SECONDS = 5;
+
+    private final Map<String, PoolingHttpClientConnectionManager> connectionManagers = new ConcurrentHashMap<>();
+    private final Map<String, HttpClient> httpClients = new ConcurrentHashMap<>();
+    private final Map<String, PoolingNHttpClientConnectionManager> asyncConnectionManagers = new ConcurrentHashMap<>();
+    private final Map<String, HttpAsyncClient> httpAsyncClients = new ConcurrentHashMap<>();
+    private final Map<String, HttpTransport> http2Transports = new ConcurrentHashMap<>();
+    private final ConnectionLeakDetector leakDetector = new ConnectionLeakDetector();
+
+    private volatile int maxConnectionsTotal = DEFAULT_MAX_CONNECTIONS_TOTAL;
+    private volatile int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    private volatile int idleConnectionTimeoutSeconds = DEFAULT_IDLE_CONNECTION_TIMEOUT_SECONDS;
+    private volatile boolean http2Enabled;
+
+    private ScheduledExecutorService maintenance;
+
+    /**
+     * Get the client for a host, creating it and its connection pool on first use.
+     * @param host The API host, e.g. us.api.insight.rapid7.com
+     * @return the client shared by all requests to the host.
+     */
+    public HttpClient getHttpClient(String host) {
+        return httpClients.computeIfAbsent(host, this::newHttpClient);
+    }
+
+    /**
+     * Get the non-blocking client for a host, creating and starting it on first use.
+     * The client has its own connection pool, subject to the same limits as the blocking client.
+     * @param host The API host, e.g. us.api.insight.rapid7.com
+     * @return the non-blocking client shared by all requests to the host.
+     */
+    public HttpAsyncClient getHttpAsyncClient(String host) {
+        return httpAsyncClients.computeIfAbsent(host, this::newHttpAsyncClient);
+    }
+
+    /**
+     * Get the transport for a host, creating its blocking client on first use, and its non-blocking client on the
+     * first non-blocking request.
+     * @param host The API host, e.g. us.api.insight.rapid7.com
+     * @return the HTTP/2 transport if enabled and available, else the transport over the Apache clients of the host.
+     */
+    public HttpTransport getTransport(String host) {
+        if (http2Enabled && isHttp2Available()) {
+            return http2Transports.computeIfAbsent(host, h -> newHttp2Transport());
+        }
+
+        return new ApacheHttpTransport(getHttpClient(host), () -> getHttpAsyncClient(host));
+    }
+
+    /**
+     * Existing HTTP/2 transports are replaced, so that APIs created from now use the current connect timeout and proxy.
+     * @param http2Enabled Whether APIs created from now send requests over HTTP/2, if available.
+     */
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+        http2Transports.clear();
+
+        String unavailable = getHttp2Unavailable();
+        if (http2Enabled && unavailable != null) {
+            LOGGER.warning(String.format("HTTP/2 is enabled but %s, requests will continue to use HTTP/1.1", unavailable));
+        }
+    }
+
+    /**
+     * @return whether the HTTP/2 transport is available, i.e. the plugin was built on, and is running on, Java 11+.
+     */
+    public static boolean isHttp2Available() {
+        return JDK_HTTP_TRANSPORT_CLASS != null;
+    }
+
+    /**
+     * @return why the HTTP/2 transport is not available, e.g. 'requires Java 11 or later', or null if it is.
+     */
+    public static String getHttp2Unavailable() {
+        if (isHttp2Available()) {
+            return null;
+        }
+
+        // the transport is only built by the 'jdk11' profile, i.e. when the plugin is built on Java 11+
+        return isJdkHttpClientPresent() ? "was left out of this build of the plugin, as it was built on Java 8" :
+                                          "requires Java 11 or later";
+    }
+
+    /**
+     * Apply connection limits to all existing and future connection pools.
+     * @param maxConnectionsTotal    The max number of connections per host pool.
+     * @param maxConnectionsPerRoute The max number of connections per route within a host pool.
+     */
+    public void configureConnectionPools(int maxConnectionsTotal,
+                                         int maxConnectionsPerRoute) {
+        this.maxConnectionsTotal = maxConnectionsTotal;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+
+        connectionManagers.values().forEach(this::applyConnectionLimits);
+        asyncConnectionManagers.values().forEach(this::applyConnectionLimits);
+    }
+
+    /**
+     * @param idleConnectionTimeoutSeconds The time a pooled connection may be idle for before it is closed.
+     */
+    public void setIdleConnectionTimeout(int idleConnectionTimeoutSeconds) {
+        this.idleConnectionTimeoutSeconds = Math.max(1, idleConnectionTimeoutSeconds);
+    }
+
+    /**
+     * @return the detector of connections leased from the blocking clients' pools and never released.
+     *         Non-blocking clients buffer responses and release connections themselves, so cannot leak them.
+     */
+    public ConnectionLeakDetector getLeakDetector() {
+        return leakDetector;
+    }
+
+    /**
+     * @return the leased, pending and available connections of each blocking client's pool, by host.
+     */
+    public Map<String, PoolStats> getConnectionPoolStats() {
+        Map<String, PoolStats> stats = new TreeMap<>();
+        connectionManagers.forEach((host, connectionManager) -> stats.put(host, connectionManager.getTotalStats()));
+
+        return stats;
+    }
+
+    /**
+     * @return the leased, pending and available connections of each non-blocking client's pool, by host.
+     */
+    public Map<String, PoolStats> getAsyncConnectionPoolStats() {
+        Map<String, PoolStats> stats = new TreeMap<>();
+        asyncConnectionManagers.forEach((host, connectionManager) -> stats.put(host, connectionManager.getTotalStats()));
+
+        return stats;
+    }
+
+    /**
+     * Close expired and idle connections in all pools, and report any leaked connections.
+     */
+    void maintainConnectionPools() {
+        connectionManagers.values().forEach(connectionManager -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleConnectionTimeoutSeconds, TimeUnit.SECONDS);
+        });
+        asyncConnectionManagers.values().forEach(connectionManager -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleConnectionTimeoutSeconds, TimeUnit.SECONDS);
+        });
+
+        if (leakDetector.isEnabled()) {
+            leakDetector.reportLeaks();
+        }
+    }
+
+    PoolingHttpClientConnectionManager getConnectionManager(String host) {
+        return connectionManagers.get(host);
+    }
 
-    private static HttpClient defaultHttpClient() {
-        HttpClientBuilder builder = HttpClientBuilder.create();
+    PoolingNHttpClientConnectionManager getAsyncConnectionManager(String host) {
+        return asyncConnectionManagers.get(host);
+    }
+
+    /**
+     * @return a new HTTP/2 transport, with its own JDK client.
+     * @throws IllegalStateException if HTTP/2 is not available.
+     */
+    static HttpTransport newHttp2Transport() {
+        if (!isHttp2Available()) {
+            throw new IllegalStateException(String.format("HTTP/2 is unavailable, as it %s", getHttp2Unavailable()));
+        }
+
+        try {
+            return (HttpTransport) JDK_HTTP_TRANSPORT_CLASS.getMethod("create").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new APIException("Error occurred creating HTTP/2 transport", e);
+        }
+    }
+
+    // HELPERS
+
+    private static Class<?> loadJdkHttpTransport() {
+        if (!isJdkHttpClientPresent()) {
+            return null;
+        }
+
+        try {
+            return Class.forName(JDK_HTTP_TRANSPORT);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static boolean isJdkHttpClientPresent() {
+        try {
+            Class.forName("java.net.http.HttpClient");
+
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private HttpClient newHttpClient(String host) {
+        PoolingHttpClientConnectionManager connectionManager = leakDetector.newConnectionManager();
+        applyConnectionLimits(connectionManager);
+        connectionManagers.put(host, connectionManager);
+        startMaintenance();
+
+        // responses are decoded by the APIs, so that compressed bytes can be counted
+        HttpClientBuilder builder = HttpClientBuilder.create()
+                                                     .setConnectionManager(connectionManager)
+                                                     .setDefaultRequestConfig(defaultRequestConfig())
+                                                     .disableContentCompression();
         ProxyUtil.configureProxy(builder);
         return builder.build();
     }
 
+    private HttpAsyncClient newHttpAsyncClient(String host) {
+        PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(IOReactorConfig.DEFAULT,
+                                                   new NamingThreadFactory(new DaemonThreadFactory(), "InsightAppSec I/O dispatcher")));
+        } catch (IOReactorException e) {
+            throw new APIException(String.format("Error occurred creating non-blocking client for [%s]", host), e);
+        }
+        applyConnectionLimits(connectionManager);
+        asyncConnectionManagers.put(host, connectionManager);
+        startMaintenance();
+
+        HttpAsyncClientBuilder builder = HttpAsyncClientBuilder.create()
+                                                               .setConnectionManager(connectionManager)
+                                                               .setDefaultRequestConfig(defaultRequestConfig());
+        ProxyUtil.configureProxy(builder);
+
+        CloseableHttpAsyncClient client = builder.build();
+        client.start();
+        return client;
+    }
+
+    /**
+     * Requests made by the APIs carry their own timeouts, these only bound any other request made with the clients.
+     */
+    private RequestConfig defaultRequestConfig() {
+        return REQUEST_TIMEOUTS_INSTANCE.getRequestConfig(RequestTimeouts.RequestType.DEFAULT, Deadline.NONE);
+    }
+
+    private synchronized void startMaintenance() {
+        if (maintenance == null) {
+            maintenance = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(new DaemonThreadFactory(), "InsightAppSec connection pool maintenance"));
+            maintenance.scheduleWithFixedDelay(this::maintainConnectionPools,
+                                               MAINTENANCE_INTERVAL_SECONDS,
+                                               MAINTENANCE_INTERVAL_SECONDS,
+                                               TimeUnit.SECONDS);
+        }
+    }
+
+    private void applyConnectionLimits(ConnPoolControl<HttpRoute> connectionManager) {
+        connectionManager.setMaxTotal(maxConnectionsTotal);
+        connectionManager.setDefaultMaxPerRoute(Math.min(maxConnectionsPerRoute, maxConnectionsTotal));
+    }
+
 }
@@ -0,0 +1,41 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+
+/**
+ * Sends requests to the API over some HTTP client.
+ * Requests and responses are the Apache HttpCore types whatever the client, so the APIs, and everything handling
+ * their responses, are independent of the client used.
+ */
+public interface HttpTransport {
+
+    /**
+     * Send a request, blocking until the head of its response is received.
+     * The caller must release the response, by consuming its entity and closing it if {@link java.io.Closeable}.
+     * Aborting the request, using {@link HttpUriRequest#abort()}, fails the call.
+     * @param request The request, including any {@link org.apache.http.client.config.RequestConfig} timeouts.
+     * @return the response, with its entity yet to be read.
+     */
+    HttpResponse execute(HttpUriRequest request) throws IOException;
+
+    /**
+     * Send a request without blocking. The response is buffered in full before the callback is completed.
+     * @param request  The request, including any {@link org.apache.http.client.config.RequestConfig} timeouts.
+     * @param callback Completed with the response, or failed or cancelled.
+     * @return the exchange, which may be cancelled to abort it.
+     */
+    Future<HttpResponse> execute(HttpUriRequest request,
+                                 FutureCallback<HttpResponse> callback);
+
+    /**
+     * @return whether requests may be sent without blocking. If not, asynchronous operations send requests
+     *         using {@link #execute(HttpUriRequest)} on the page retrieval pool.
+     */
+    boolean isAsyncSupported();
+
+}
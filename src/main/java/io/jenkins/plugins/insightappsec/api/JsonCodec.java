@@ -0,0 +1,120 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import io.jenkins.plugins.insightappsec.MappingConfiguration;
+import io.jenkins.plugins.insightappsec.exception.APIException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps API request and response bodies to and from JSON.
+ * Readers and writers are immutable and thread safe, so one is built per mapped type and reused for every body,
+ * rather than resolving the type, e.g. the parametric type of a page, on each call.
+ * Optionally the mapper generates bytecode accessors for mapped types, rather than using reflection.
+ */
+public class JsonCodec {
+
+    public static final JsonCodec JSON_CODEC_INSTANCE = new JsonCodec();
+
+    private volatile Mappers mappers = new Mappers(false);
+
+    /**
+     * @param afterburnerEnabled Whether bytecode accessors are generated for mapped types.
+     *                           Readers and writers built before the change are discarded.
+     */
+    public void setAfterburnerEnabled(boolean afterburnerEnabled) {
+        if (afterburnerEnabled != mappers.afterburnerEnabled) {
+            mappers = new Mappers(afterburnerEnabled);
+        }
+    }
+
+    public boolean isAfterburnerEnabled() {
+        return mappers.afterburnerEnabled;
+    }
+
+    /**
+     * @return the reader mapping JSON to the class.
+     */
+    public ObjectReader readerFor(Class<?> clazz) {
+        Mappers current = mappers;
+
+        return current.readers.computeIfAbsent(clazz, current.mapper::readerFor);
+    }
+
+    /**
+     * @return the reader mapping JSON to a page of the class.
+     */
+    public ObjectReader pageReaderFor(Class<?> clazz) {
+        return pageReaderFor(clazz, FetchMode.FULL);
+    }
+
+    /**
+     * @return the reader mapping JSON to a page of the class, in the fetch mode.
+     */
+    public ObjectReader pageReaderFor(Class<?> clazz,
+                                      FetchMode fetchMode) {
+        Mappers current = mappers;
+
+        return current.pageReaders.get(fetchMode).computeIfAbsent(clazz, c -> {
+            JavaType type = current.mapper.getTypeFactory().constructParametricType(Page.class, c);
+
+            return fetchMode.configure(current.mapper.readerFor(type));
+        });
+    }
+
+    /**
+     * @return the writer mapping the class to JSON.
+     */
+    public ObjectWriter writerFor(Class<?> clazz) {
+        Mappers current = mappers;
+
+        return current.writers.computeIfAbsent(clazz, current.mapper::writerFor);
+    }
+
+    /**
+     * Write a body as UTF-8 encoded JSON, once, so that it can be sent by every attempt of a request, and every page
+     * of a search, without serializing it again.
+     * @throws APIException if the body could not be written.
+     */
+    public byte[] write(Object body) {
+        try {
+            return writerFor(body.getClass()).writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new APIException("Error occurred writing body as json", e);
+        }
+    }
+
+    // HELPERS
+
+    private static class Mappers {
+
+        private final boolean afterburnerEnabled;
+        private final ObjectMapper mapper;
+
+        private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+        private final Map<FetchMode, Map<Class<?>, ObjectReader>> pageReaders = new EnumMap<>(FetchMode.class);
+        private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+        private Mappers(boolean afterburnerEnabled) {
+            this.afterburnerEnabled = afterburnerEnabled;
+            this.mapper = MappingConfiguration.createObjectMapper();
+
+            if (afterburnerEnabled) {
+                mapper.registerModule(new AfterburnerModule());
+            }
+
+            for (FetchMode fetchMode : FetchMode.values()) {
+                pageReaders.put(fetchMode, new ConcurrentHashMap<>());
+            }
+        }
+
+    }
+
+}
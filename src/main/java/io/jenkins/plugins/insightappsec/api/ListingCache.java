@@ -0,0 +1,65 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.api.app.App;
+import io.jenkins.plugins.insightappsec.api.scanconfig.ScanConfig;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caches the apps and scan configs listed when rendering job configuration, per host and API key,
+ * so dropdowns render from memory for all users, and a rotated API key lists afresh.
+ * Listings are served for up to an hour past their TTL while they are refreshed in the background.
+ */
+public class ListingCache {
+
+    public static final ListingCache LISTING_CACHE_INSTANCE = new ListingCache(PageRetrievalPool.PAGE_RETRIEVAL_POOL_INSTANCE.getExecutor());
+
+    public static final int DEFAULT_LISTING_CACHE_TTL_SECONDS = 300;
+
+    static final int MAX_APP_LISTINGS = 100;
+    static final int MAX_SCAN_CONFIG_LISTINGS = 1000;
+    static final long MAX_STALE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final RefreshingCache<List<App>> apps;
+    private final RefreshingCache<List<ScanConfig>> scanConfigs;
+
+    public ListingCache(Executor refreshExecutor) {
+        long ttlMillis = TimeUnit.SECONDS.toMillis(DEFAULT_LISTING_CACHE_TTL_SECONDS);
+
+        this.apps = new RefreshingCache<>(MAX_APP_LISTINGS, ttlMillis, MAX_STALE_MILLIS, refreshExecutor);
+        this.scanConfigs = new RefreshingCache<>(MAX_SCAN_CONFIG_LISTINGS, ttlMillis, MAX_STALE_MILLIS, refreshExecutor);
+    }
+
+    /**
+     * @param credentialsKey The key of the API listing the apps, see {@link AbstractApi#getCredentialsKey()}.
+     * @param loader Lists the apps, the result of which must not be modified once cached.
+     */
+    public List<App> getApps(String credentialsKey,
+                             Supplier<List<App>> loader) {
+        return apps.get(credentialsKey, loader);
+    }
+
+    /**
+     * @param credentialsKey The key of the API listing the scan configs, see {@link AbstractApi#getCredentialsKey()}.
+     * @param loader Lists the scan configs of the app, the result of which must not be modified once cached.
+     */
+    public List<ScanConfig> getScanConfigs(String credentialsKey,
+                                           String appId,
+                                           Supplier<List<ScanConfig>> loader) {
+        return scanConfigs.get(credentialsKey + " " + appId, loader);
+    }
+
+    /**
+     * @param ttlSeconds The age after which a listing is refreshed. 0 disables caching.
+     */
+    public void setTtl(int ttlSeconds) {
+        long ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+
+        apps.setTtl(ttlMillis, MAX_STALE_MILLIS);
+        scanConfigs.setTtl(ttlMillis, MAX_STALE_MILLIS);
+    }
+
+}
@@ -0,0 +1,78 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Counts the bytes of a response body read by its handler, reporting them once, when the body is first closed or
+ * the entity released, whichever comes first.
+ * Streaming content is the same stream on each call, so bytes are counted across all of them.
+ */
+class MeteredEntity extends HttpEntityWrapper {
+
+    private final LongConsumer onClosed;
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    MeteredEntity(HttpEntity entity,
+                  LongConsumer onClosed) {
+        super(entity);
+        this.onClosed = onClosed;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return new ProxyInputStream(super.getContent()) {
+            @Override
+            protected void afterRead(int n) {
+                if (n > 0) {
+                    bytes.addAndGet(n);
+                }
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                bytes.addAndGet(skipped);
+
+                return skipped;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    release();
+                }
+            }
+        };
+    }
+
+    /**
+     * Report the bytes read so far, unless already reported, e.g. as the response is released without its content,
+     * if not streaming, ever being closed.
+     */
+    void release() {
+        if (reported.compareAndSet(false, true)) {
+            onClosed.accept(bytes.get());
+        }
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        try (InputStream content = getContent()) {
+            IOUtils.copy(content, out);
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Iterates the data of all pages of a resource, requesting pages on demand.
+ * While a page is being consumed the next page is requested in the background, so at most two pages are held at once.
+ */
+class PageIterator<T> implements Iterator<T> {
+
+    private static final int UNKNOWN = -1;
+
+    private final IntFunction<Page<T>> getPageByIndex;
+    private final PageRetrievalPool pageRetrievalPool;
+
+    private Iterator<T> current = Collections.emptyIterator();
+    private Future<Page<T>> prefetched;
+
+    private int nextIndex = 0;
+    private int totalPages = UNKNOWN; // until the first page has been retrieved
+
+    PageIterator(IntFunction<Page<T>> getPageByIndex,
+                 PageRetrievalPool pageRetrievalPool) {
+        this.getPageByIndex = getPageByIndex;
+        this.pageRetrievalPool = pageRetrievalPool;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext() && hasMorePages()) {
+            Page<T> page = takeNextPage();
+
+            totalPages = page.getMetadata().getTotalPages();
+            current = page.getData() == null ? Collections.emptyIterator() : page.getData().iterator();
+
+            prefetchNextPage();
+        }
+
+        return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return current.next();
+    }
+
+    /**
+     * Abandon iteration, cancelling any page requested in the background.
+     */
+    void close() {
+        if (prefetched != null) {
+            prefetched.cancel(true);
+            prefetched = null;
+        }
+    }
+
+    // HELPERS
+
+    private boolean hasMorePages() {
+        return totalPages == UNKNOWN || nextIndex < totalPages;
+    }
+
+    private Page<T> takeNextPage() {
+        int index = nextIndex++;
+
+        if (prefetched == null) {
+            return getPageByIndex.apply(index);
+        }
+
+        Future<Page<T>> future = prefetched;
+        prefetched = null;
+
+        return pageRetrievalPool.await(future);
+    }
+
+    private void prefetchNextPage() {
+        if (nextIndex < totalPages) {
+            prefetched = pageRetrievalPool.submit(getPageByIndex, nextIndex);
+        }
+    }
+
+}
@@ -0,0 +1,223 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import io.jenkins.plugins.insightappsec.exception.APIException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Retrieves ranges of pages concurrently, bounding the number of in-flight requests per retrieval.
+ * The pool is bounded too, to a number of threads sized from the parallelism, as it also handles async responses,
+ * listing refreshes and prefetched pages. Once its threads and queue are full, work runs on the submitting thread.
+ */
+public class PageRetrievalPool {
+
+    public static final PageRetrievalPool PAGE_RETRIEVAL_POOL_INSTANCE = new PageRetrievalPool();
+
+    public static final int DEFAULT_PAGE_RETRIEVAL_PARALLELISM = 4;
+
+    // retrievals served at full parallelism at once, i.e. threads per unit of parallelism
+    static final int CONCURRENT_RETRIEVALS = 8;
+    static final int QUEUE_CAPACITY = 256;
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ExecutorService executor;
+
+    private volatile int parallelism = DEFAULT_PAGE_RETRIEVAL_PARALLELISM;
+
+    PageRetrievalPool() {
+        this(newExecutor(DEFAULT_PAGE_RETRIEVAL_PARALLELISM));
+    }
+
+    PageRetrievalPool(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return the executor backing the pool, for background work related to API requests.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism The max number of pages a single retrieval may request concurrently. 1 retrieves sequentially.
+     *                    The pool is resized to match.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+
+        if (executor instanceof ThreadPoolExecutor) {
+            resize((ThreadPoolExecutor) executor, poolSize(this.parallelism));
+        }
+    }
+
+    /**
+     * Retrieve all pages within a range of indices.
+     * The calling thread takes part in retrieval, so a parallelism of 1 never leaves it.
+     * Upon the first failure no further pages are requested and the failure is re-thrown once in-flight pages finish.
+     * @param retrievePage The function to provide a page by index.
+     * @param fromIndex    The first index, inclusive.
+     * @param toIndex      The last index, exclusive.
+     * @return the pages, in index order.
+     */
+    public <T> List<T> retrieve(IntFunction<T> retrievePage,
+                                int fromIndex,
+                                int toIndex) {
+        int count = Math.max(0, toIndex - fromIndex);
+        int workers = Math.min(parallelism, count);
+
+        AtomicReferenceArray<T> pages = new AtomicReferenceArray<>(count);
+        AtomicInteger nextIndex = new AtomicInteger(fromIndex);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        Runnable worker = () -> {
+            int index;
+            while (failure.get() == null && (index = nextIndex.getAndIncrement()) < toIndex) {
+                try {
+                    pages.set(index - fromIndex, retrievePage.apply(index));
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        };
+
+        // a worker still queued once the calling thread is done is skipped rather than waited on, as it would find
+        // no pages left, and may be queued behind threads that are themselves waiting
+        List<AtomicBoolean> started = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i < workers; i++) {
+            AtomicBoolean workerStarted = new AtomicBoolean();
+            started.add(workerStarted);
+            futures.add(executor.submit(() -> {
+                if (workerStarted.compareAndSet(false, true)) {
+                    worker.run();
+                }
+            }));
+        }
+
+        worker.run();
+
+        List<Future<?>> inFlight = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            if (!started.get(i).compareAndSet(false, true)) {
+                inFlight.add(futures.get(i));
+            }
+        }
+        awaitAll(inFlight);
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(pages.get(i));
+        }
+
+        return result;
+    }
+
+    /**
+     * Request a single page in the background.
+     * @param retrievePage The function to provide a page by index.
+     * @param index        The index of the page.
+     * @return the pending page, to be collected using {@link #await(Future)}.
+     */
+    public <T> Future<T> submit(IntFunction<T> retrievePage,
+                                int index) {
+        return executor.submit(() -> retrievePage.apply(index));
+    }
+
+    /**
+     * Wait for a page requested using {@link #submit(IntFunction, int)}, re-throwing any failure as-is.
+     * @param future The pending page.
+     * @return the page.
+     */
+    public <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+
+            throw new APIException("Interrupted during retrieval of page", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new APIException("Error occurred during retrieval of page", e.getCause());
+        }
+    }
+
+    // HELPERS
+
+    static int poolSize(int parallelism) {
+        return parallelism * CONCURRENT_RETRIEVALS;
+    }
+
+    private static ThreadPoolExecutor newExecutor(int parallelism) {
+        int poolSize = poolSize(parallelism);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize,
+                                                             poolSize,
+                                                             KEEP_ALIVE_SECONDS,
+                                                             TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(QUEUE_CAPACITY),
+                                                             new NamingThreadFactory(new DaemonThreadFactory(), "InsightAppSec page retrieval"),
+                                                             new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    /**
+     * The core size may not exceed the max size, so which is set first depends on whether the pool grows or shrinks.
+     */
+    private static void resize(ThreadPoolExecutor executor,
+                               int poolSize) {
+        if (poolSize > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(poolSize);
+            executor.setCorePoolSize(poolSize);
+        } else {
+            executor.setCorePoolSize(poolSize);
+            executor.setMaximumPoolSize(poolSize);
+        }
+    }
+
+    private void awaitAll(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+
+                throw new APIException("Interrupted during retrieval of pages", e);
+            } catch (ExecutionException e) {
+                // workers record their own failures, anything else is unexpected
+                throw new APIException("Error occurred during retrieval of pages", e.getCause());
+            }
+        }
+    }
+
+}
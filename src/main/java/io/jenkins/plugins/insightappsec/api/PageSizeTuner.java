@@ -0,0 +1,196 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Chooses the size of the pages requested from each paginated endpoint, per type of result.
+ * The bytes and latency per result are estimated from each page retrieved, and the page size tuned so that pages
+ * approach a target size in bytes and a target latency, whichever is reached first, within the limits the API serves.
+ * Results with large nested detail, e.g. vulnerabilities with their exchanges, are retrieved in smaller pages than
+ * small results, e.g. apps, which are retrieved in as few pages as possible.
+ * The page size is fixed for each retrieval, as page indexes depend on it, so changes apply from the next retrieval.
+ */
+public class PageSizeTuner {
+
+    public static final PageSizeTuner PAGE_SIZE_TUNER_INSTANCE = new PageSizeTuner();
+
+    public static final int MIN_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 1000; // the largest page the API serves
+    // the page size requested before tuning, so cold starts make as few requests as before page sizes were tuned
+    public static final int INITIAL_PAGE_SIZE = MAX_PAGE_SIZE;
+
+    public static final int DEFAULT_TARGET_PAGE_KILOBYTES = 1024;
+    public static final int DEFAULT_TARGET_PAGE_MILLIS = 2000;
+
+    // the weight of the latest page in the estimates, the remainder being their previous value
+    static final double SMOOTHING = 0.3;
+
+    // the most the page size changes by per page retrieved, so that one unusual page cannot swing it
+    static final int MAX_STEP = 2;
+
+    private final LongSupplier nanoTime;
+    private final Map<String, Estimate> estimates = new ConcurrentHashMap<>();
+
+    private volatile long targetPageBytes = DEFAULT_TARGET_PAGE_KILOBYTES * 1024L;
+    private volatile long targetPageNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TARGET_PAGE_MILLIS);
+
+    PageSizeTuner() {
+        this(System::nanoTime);
+    }
+
+    PageSizeTuner(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Apply targets to the page sizes chosen from now.
+     * @param targetPageKilobytes The size a page should approach, once decoded.
+     * @param targetPageMillis    The time a page should approach, from being requested until it is parsed.
+     */
+    public void configure(int targetPageKilobytes,
+                          int targetPageMillis) {
+        this.targetPageBytes = targetPageKilobytes * 1024L;
+        this.targetPageNanos = TimeUnit.MILLISECONDS.toNanos(targetPageMillis);
+    }
+
+    /**
+     * @param host  The host of the endpoint.
+     * @param path  The path of the endpoint.
+     * @param clazz The type of result.
+     * @return the key identifying the endpoint and type of result.
+     */
+    public static String key(String host,
+                             String path,
+                             Class<?> clazz) {
+        return host + path + " " + clazz.getSimpleName();
+    }
+
+    /**
+     * @param key A key built by {@link #key}.
+     * @return the key without its host, e.g. 'https://localhost:8080/search Vulnerability' > '/search Vulnerability'.
+     */
+    public static String endpoint(String key) {
+        int scheme = key.indexOf("://");
+        int path = key.indexOf('/', scheme < 0 ? 0 : scheme + 3);
+
+        return path < 0 ? key : key.substring(path);
+    }
+
+    /**
+     * @return the page size to request from the endpoint.
+     */
+    public int getPageSize(String key) {
+        Estimate estimate = estimates.get(key);
+
+        return estimate == null ? INITIAL_PAGE_SIZE : estimate.pageSize;
+    }
+
+    /**
+     * @return the page size chosen per endpoint and type of result, for those retrieved at least once.
+     */
+    public Map<String, Integer> getPageSizes() {
+        Map<String, Integer> pageSizes = new TreeMap<>();
+        estimates.forEach((key, estimate) -> pageSizes.put(key, estimate.pageSize));
+
+        return pageSizes;
+    }
+
+    /**
+     * @return a sample of a page, started as each attempt at the page is sent.
+     */
+    public Sample newSample(String key) {
+        return new Sample(key);
+    }
+
+    // HELPERS
+
+    void record(String key,
+                int results,
+                long bytes,
+                long nanos) {
+        if (results <= 0) {
+            return; // nothing to estimate per result from
+        }
+
+        estimates.computeIfAbsent(key, k -> new Estimate())
+                 .update(results, bytes, nanos, targetPageBytes, targetPageNanos);
+    }
+
+    /**
+     * The measurements of a page, recorded once it has been parsed.
+     * Only the attempt answered is timed, so waits for rate limiting, for coalesced requests and between retries
+     * do not count towards the latency of the page.
+     */
+    public class Sample {
+
+        private final String key;
+
+        private volatile long startedAt = -1;
+
+        private Sample(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Start timing the page, restarting for each attempt at it, as the attempt is sent.
+         */
+        public void start() {
+            startedAt = nanoTime.getAsLong();
+        }
+
+        /**
+         * @param results The number of results in the page.
+         * @param bytes   The size of the page, once decoded.
+         */
+        public void record(int results,
+                           long bytes) {
+            long started = startedAt;
+            if (started < 0) {
+                return; // never sent, e.g. served from cache
+            }
+
+            PageSizeTuner.this.record(key, results, bytes, nanoTime.getAsLong() - started);
+        }
+
+    }
+
+    private static class Estimate {
+
+        private double bytesPerResult = -1;
+        private double nanosPerResult = -1;
+
+        private volatile int pageSize = INITIAL_PAGE_SIZE;
+
+        private synchronized void update(int results,
+                                         long bytes,
+                                         long nanos,
+                                         long targetPageBytes,
+                                         long targetPageNanos) {
+            bytesPerResult = smooth(bytesPerResult, (double) bytes / results);
+            nanosPerResult = smooth(nanosPerResult, (double) nanos / results);
+
+            double bySize = bytesPerResult > 0 ? targetPageBytes / bytesPerResult : MAX_PAGE_SIZE;
+            double byLatency = nanosPerResult > 0 ? targetPageNanos / nanosPerResult : MAX_PAGE_SIZE;
+
+            long target = (long) Math.min(bySize, byLatency);
+            long stepped = Math.max(pageSize / MAX_STEP, Math.min((long) pageSize * MAX_STEP, target));
+
+            pageSize = (int) Math.max(MIN_PAGE_SIZE, Math.min(MAX_PAGE_SIZE, stepped));
+        }
+
+        private static double smooth(double previous,
+                                     double latest) {
+            return previous < 0 ? latest : SMOOTHING * latest + (1 - SMOOTHING) * previous;
+        }
+
+    }
+
+}
@@ -2,33 +2,57 @@ package io.jenkins.plugins.insightappsec.api;
 
 import hudson.ProxyConfiguration;
 import jenkins.model.Jenkins;
-import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.conn.routing.HttpRoutePlanner;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 public class ProxyUtil {
 
     public static void configureProxy(HttpClientBuilder builder) {
+        configureProxy(builder::setRoutePlanner, builder::setDefaultCredentialsProvider);
+    }
+
+    public static void configureProxy(HttpAsyncClientBuilder builder) {
+        configureProxy(builder::setRoutePlanner, builder::setDefaultCredentialsProvider);
+    }
+
+    // HELPERS
+
+    private static void configureProxy(Consumer<HttpRoutePlanner> routePlanner,
+                                       Consumer<CredentialsProvider> credentialsProvider) {
         Jenkins jenkins = Jenkins.getInstance();
         ProxyConfiguration config = jenkins.proxy;
 
         if (config != null) {
             // connection
-            builder.setProxy(getProxyHost(config));
+            routePlanner.accept(getRoutePlanner(config));
 
             // authentication
             if (config.getUserName() != null && !config.getUserName().isEmpty()) {
-                builder.setDefaultCredentialsProvider(getProxyCredentialsProvider(config));
+                credentialsProvider.accept(getProxyCredentialsProvider(config));
             }
         }
     }
 
-    private static HttpHost getProxyHost(ProxyConfiguration config) {
-        return new HttpHost(config.name, config.port);
+    static HttpRoutePlanner getRoutePlanner(ProxyConfiguration config) {
+        return new SystemDefaultRoutePlanner(new NoProxyHostSelector(config));
     }
 
     private static CredentialsProvider getProxyCredentialsProvider(ProxyConfiguration config) {
@@ -39,5 +63,38 @@ public class ProxyUtil {
         credentialsProvider.setCredentials(authScope, credentials);
         return credentialsProvider;
     }
-    
+
+    /**
+     * Selects the Jenkins proxy, unless the host matches one of its 'No Proxy Host' patterns.
+     */
+    static class NoProxyHostSelector extends ProxySelector {
+
+        private final List<Proxy> proxy;
+        private final List<Pattern> noProxyHostPatterns;
+
+        NoProxyHostSelector(ProxyConfiguration config) {
+            this.proxy = Collections.singletonList(new Proxy(Proxy.Type.HTTP, new InetSocketAddress(config.name, config.port)));
+            this.noProxyHostPatterns = config.getNoProxyHostPatterns();
+        }
+
+        @Override
+        public List<Proxy> select(URI uri) {
+            String host = uri.getHost();
+
+            if (host != null && noProxyHostPatterns.stream().anyMatch(pattern -> pattern.matcher(host).matches())) {
+                return Collections.singletonList(Proxy.NO_PROXY);
+            }
+
+            return proxy;
+        }
+
+        @Override
+        public void connectFailed(URI uri,
+                                  SocketAddress address,
+                                  IOException failure) {
+            // a single proxy, so nothing to fall back to
+        }
+
+    }
+
 }
@@ -0,0 +1,137 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.exception.APIException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket limiting the rate of requests made using a single API key.
+ * Each request reserves the next free slot, so waiting requests are granted in the order they arrived
+ * regardless of which build made them.
+ */
+public class RateLimiter {
+
+    /**
+     * Never waits, for APIs created without a shared limiter.
+     */
+    public static final RateLimiter UNLIMITED = new RateLimiter(0, 1);
+
+    private final LongSupplier nanoTime;
+
+    private double intervalNanos;
+    private int burst;
+    private double storedPermits;
+    private long nextFreeNanos;
+
+    // METRICS
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder throttledAcquisitions = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    public RateLimiter(double permitsPerSecond,
+                       int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond,
+                int burst,
+                LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.nextFreeNanos = nanoTime.getAsLong();
+        setRate(permitsPerSecond, burst);
+        this.storedPermits = this.burst;
+    }
+
+    /**
+     * @param permitsPerSecond The sustained rate of requests. 0 or less is unlimited.
+     * @param burst            The max number of requests allowed at once after a quiet period, at least 1.
+     */
+    public synchronized void setRate(double permitsPerSecond,
+                                     int burst) {
+        resync(nanoTime.getAsLong());
+
+        this.intervalNanos = permitsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / permitsPerSecond : 0;
+        this.burst = Math.max(1, burst);
+        this.storedPermits = Math.min(storedPermits, this.burst);
+    }
+
+    /**
+     * Wait until a request may be made.
+     * @throws APIException if interrupted while waiting.
+     */
+    public void acquire() {
+        long waitNanos = reserve();
+
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new APIException("Interrupted while waiting for rate limit", e);
+            }
+        }
+    }
+
+    /**
+     * Reserve a slot for a request without waiting, for callers that schedule the request themselves.
+     * @return the nanos to wait before making the request.
+     */
+    public long reserve() {
+        long waitNanos = reserveSlot();
+
+        acquisitions.increment();
+        if (waitNanos > 0) {
+            throttledAcquisitions.increment();
+            totalWaitNanos.add(waitNanos);
+        }
+
+        return waitNanos;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    public long getThrottledAcquisitions() {
+        return throttledAcquisitions.sum();
+    }
+
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum());
+    }
+
+    // HELPERS
+
+    private synchronized long reserveSlot() {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+
+        long now = nanoTime.getAsLong();
+        resync(now);
+
+        // take a stored permit if any, otherwise wait for the next one to be added
+        double fromStore = Math.min(1, storedPermits);
+
+        storedPermits -= fromStore;
+        nextFreeNanos += (long) ((1 - fromStore) * intervalNanos);
+
+        return Math.max(0, nextFreeNanos - now);
+    }
+
+    /**
+     * Refill the bucket for the time passed since the last slot was free.
+     */
+    private void resync(long now) {
+        if (now > nextFreeNanos) {
+            if (intervalNanos > 0) {
+                storedPermits = Math.min(burst, storedPermits + (now - nextFreeNanos) / intervalNanos);
+            }
+            nextFreeNanos = now;
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares a {@link RateLimiter} per credentials and API host, so all builds using the same API key draw from the same quota.
+ */
+public class RateLimiterRegistry {
+
+    public static final RateLimiterRegistry RATE_LIMITER_REGISTRY_INSTANCE = new RateLimiterRegistry();
+
+    public static final int DEFAULT_REQUESTS_PER_SECOND = 0;
+    public static final int DEFAULT_REQUEST_BURST = 10;
+
+    private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    private volatile int requestsPerSecond = DEFAULT_REQUESTS_PER_SECOND;
+    private volatile int requestBurst = DEFAULT_REQUEST_BURST;
+
+    /**
+     * Get the limiter for credentials and host, creating it on first use.
+     * @param insightCredentialsId The ID of the credentials holding the API key.
+     * @param host                 The API host, e.g. us.api.insight.rapid7.com
+     * @return the limiter shared by all requests using the credentials against the host.
+     */
+    public RateLimiter getRateLimiter(String insightCredentialsId,
+                                      String host) {
+        return rateLimiters.computeIfAbsent(insightCredentialsId + "@" + host,
+                                            key -> new RateLimiter(requestsPerSecond, requestBurst));
+    }
+
+    /**
+     * Apply a rate to all existing and future limiters.
+     * @param requestsPerSecond The sustained rate of requests per API key and host. 0 is unlimited.
+     * @param requestBurst      The max number of requests allowed at once after a quiet period.
+     */
+    public void configureRateLimiters(int requestsPerSecond,
+                                      int requestBurst) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.requestBurst = requestBurst;
+
+        rateLimiters.values().forEach(r -> r.setRate(requestsPerSecond, requestBurst));
+    }
+
+    /**
+     * @return the limiters by 'credentials ID@host', e.g. for reporting time spent waiting.
+     */
+    public Map<String, RateLimiter> getRateLimiters() {
+        return Collections.unmodifiableMap(rateLimiters);
+    }
+
+}
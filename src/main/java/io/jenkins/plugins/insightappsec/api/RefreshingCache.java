@@ -0,0 +1,204 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded cache of loaded values, serving stale values while they are refreshed in the background.
+ * <ul>
+ *     <li>Fresh - younger than the TTL, served as-is</li>
+ *     <li>Stale - older than the TTL, served while a single background refresh replaces it</li>
+ *     <li>Expired - older than the TTL plus the max staleness, loaded again before being served</li>
+ * </ul>
+ * Concurrent loads of a key, whether absent, expired or refreshing, share a single load in flight.
+ * Once full, the least recently used value is evicted.
+ */
+public class RefreshingCache<V> {
+
+    private static final Logger LOGGER = Logger.getLogger(RefreshingCache.class.getName());
+
+    private final Executor refreshExecutor;
+    private final LongSupplier currentTimeMillis;
+    private final Map<String, Entry<V>> entries;
+    // guarded by entries
+    private final Map<String, CompletableFuture<V>> loading = new HashMap<>();
+
+    private volatile long ttlMillis;
+    private volatile long maxStaleMillis;
+
+    public RefreshingCache(int maxEntries,
+                           long ttlMillis,
+                           long maxStaleMillis,
+                           Executor refreshExecutor) {
+        this(maxEntries, ttlMillis, maxStaleMillis, refreshExecutor, System::currentTimeMillis);
+    }
+
+    RefreshingCache(int maxEntries,
+                    long ttlMillis,
+                    long maxStaleMillis,
+                    Executor refreshExecutor,
+                    LongSupplier currentTimeMillis) {
+        this.refreshExecutor = refreshExecutor;
+        this.currentTimeMillis = currentTimeMillis;
+        this.entries = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        setTtl(ttlMillis, maxStaleMillis);
+    }
+
+    /**
+     * @param ttlMillis      The age after which a value is refreshed. 0 disables caching.
+     * @param maxStaleMillis The age beyond the TTL after which a stale value is no longer served.
+     */
+    public void setTtl(long ttlMillis,
+                       long maxStaleMillis) {
+        this.ttlMillis = Math.max(0, ttlMillis);
+        this.maxStaleMillis = Math.max(0, maxStaleMillis);
+    }
+
+    /**
+     * Get a value, loading it if absent or expired, and refreshing it in the background if stale.
+     * @param key    The key of the value.
+     * @param loader Loads the value, failures of which are thrown if there is no value to serve.
+     * @return the cached or loaded value.
+     */
+    public V get(String key,
+                 Supplier<V> loader) {
+        if (ttlMillis == 0) {
+            return loader.get();
+        }
+
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        long age = entry != null ? currentTimeMillis.getAsLong() - entry.loadedAt : Long.MAX_VALUE;
+
+        if (entry == null || age >= ttlMillis + maxStaleMillis) {
+            return load(key, loader);
+        }
+
+        if (age >= ttlMillis) {
+            refresh(key, loader, entry);
+        }
+
+        return entry.value;
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // HELPERS
+
+    private V load(String key,
+                   Supplier<V> loader) {
+        CompletableFuture<V> inFlight;
+        CompletableFuture<V> load = new CompletableFuture<>();
+        synchronized (entries) {
+            inFlight = loading.putIfAbsent(key, load);
+        }
+
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            V value = loader.get();
+
+            synchronized (entries) {
+                entries.put(key, new Entry<>(value, currentTimeMillis.getAsLong()));
+                loading.remove(key);
+            }
+            load.complete(value);
+
+            return value;
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                loading.remove(key);
+            }
+            load.completeExceptionally(e);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Failures of the load in flight are thrown as the loader threw them.
+     */
+    private static <V> V await(CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    private void refresh(String key,
+                         Supplier<V> loader,
+                         Entry<V> entry) {
+        // only one refresh per entry, the stale value is served until it completes
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, loader);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.FINE, String.format("Error occurred refreshing [%s], serving stale value", key), e);
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(V value,
+                      long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.exception.APIException;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical idempotent requests which are in flight at the same time, e.g. from parallel builds of the same app.
+ * The first caller makes the request, every concurrent caller with the same key waits for and shares its outcome,
+ * so N identical requests cost one round trip. Nothing is kept once a request completes.
+ * Keys are built from the method, URI, body and a digest of the API key, so outcomes are never shared between keys.
+ * Shared objects are seen by all callers of the request and must not be modified.
+ */
+public class RequestCoalescer {
+
+    public static final RequestCoalescer REQUEST_COALESCER_INSTANCE = new RequestCoalescer();
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param method The HTTP method of the request.
+     * @param uri    The URI of the request.
+     * @param body   The JSON body of the request, or null if it has none. Only its digest is kept in the key.
+     * @param apiKey The API key the request is made with.
+     * @return the key identifying the request.
+     */
+    public static String key(String method,
+                             URI uri,
+                             byte[] body,
+                             String apiKey) {
+        String key = method + " " + uri + " " + DigestUtils.sha256Hex(apiKey);
+
+        return body != null ? key + " " + DigestUtils.sha256Hex(body) : key;
+    }
+
+    /**
+     * Make a request, or wait for the identical request already in flight, blocking until its outcome is known.
+     * @param key     The key identifying the request.
+     * @param request Makes the request, if none is in flight.
+     * @return the mapped response, which is the same object for all coalesced callers.
+     */
+    @SuppressWarnings("unchecked") // a key is always mapped to the same type
+    public <T> T execute(String key,
+                         Supplier<T> request) {
+        CompletableFuture<Object> outcome = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, outcome);
+
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+
+        try {
+            T value = request.get();
+
+            inFlight.remove(key, outcome);
+            outcome.complete(value);
+
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, outcome);
+            outcome.completeExceptionally(e);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Make a request without blocking, or share the outcome of the identical request already in flight.
+     * Each caller, including the one making the request, gets its own dependent future, so cancelling one does not
+     * affect the others. Every caller's future fails with the same unwrapped cause.
+     * @see #execute(String, Supplier)
+     */
+    public <T> CompletableFuture<T> executeAsync(String key,
+                                                 Supplier<CompletableFuture<T>> request) {
+        CompletableFuture<Object> outcome = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, outcome);
+
+        if (existing != null) {
+            coalesced.increment();
+            return dependentOn(existing);
+        }
+
+        CompletableFuture<T> response;
+        try {
+            response = request.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, outcome);
+            outcome.completeExceptionally(e);
+
+            throw e;
+        }
+
+        response.whenComplete((value, failure) -> {
+            inFlight.remove(key, outcome);
+
+            if (failure != null) {
+                outcome.completeExceptionally(unwrap(failure));
+            } else {
+                outcome.complete(value);
+            }
+        });
+
+        return dependentOn(outcome);
+    }
+
+    /**
+     * @return the number of requests which shared the outcome of an identical request instead of being made.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    // HELPERS
+
+    @SuppressWarnings("unchecked") // a key is always mapped to the same type
+    private static <T> CompletableFuture<T> dependentOn(CompletableFuture<Object> outcome) {
+        CompletableFuture<T> dependent = new CompletableFuture<>();
+        outcome.whenComplete((value, failure) -> {
+            if (failure != null) {
+                dependent.completeExceptionally(unwrap(failure));
+            } else {
+                dependent.complete((T) value);
+            }
+        });
+
+        return dependent;
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private static Object await(CompletableFuture<Object> outcome) {
+        try {
+            return outcome.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new APIException("Interrupted waiting for identical request in flight", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw new APIException("Error occurred during identical request in flight", e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.exception.DeadlineExceededException;
+import org.apache.http.client.config.RequestConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timeouts of requests to the API, so that no request can hang on an unresponsive host or half-open connection.
+ * Connecting, and waiting for a pooled connection, share one timeout. The socket timeout, i.e. the max time
+ * without receiving data, depends on the type of request: status polls should fail fast, whereas a page of a
+ * large search may legitimately take a while to produce.
+ */
+public class RequestTimeouts {
+
+    public static final RequestTimeouts REQUEST_TIMEOUTS_INSTANCE = new RequestTimeouts();
+
+    public static final int DEFAULT_CONNECT_TIMEOUT_SECONDS = 10;
+    public static final int DEFAULT_REQUEST_TIMEOUT_SECONDS = 60;
+    public static final int DEFAULT_POLL_TIMEOUT_SECONDS = 30;
+    public static final int DEFAULT_SEARCH_TIMEOUT_SECONDS = 120;
+
+    public enum RequestType {
+        /**
+         * Any request not otherwise typed, e.g. submitting a scan or getting its execution details.
+         */
+        DEFAULT,
+        /**
+         * A poll of the status of a scan.
+         */
+        POLL,
+        /**
+         * Retrieval of a page of a search or listing.
+         */
+        SEARCH
+    }
+
+    private volatile int connectTimeoutMillis;
+    private volatile int requestTimeoutMillis;
+    private volatile int pollTimeoutMillis;
+    private volatile int searchTimeoutMillis;
+
+    RequestTimeouts() {
+        configure(DEFAULT_CONNECT_TIMEOUT_SECONDS,
+                  DEFAULT_REQUEST_TIMEOUT_SECONDS,
+                  DEFAULT_POLL_TIMEOUT_SECONDS,
+                  DEFAULT_SEARCH_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Apply timeouts to all requests made from now.
+     * @param connectTimeoutSeconds The max time to connect, or to wait for a pooled connection.
+     * @param requestTimeoutSeconds The socket timeout of requests not otherwise typed.
+     * @param pollTimeoutSeconds    The socket timeout of scan status polls.
+     * @param searchTimeoutSeconds  The socket timeout of page retrievals.
+     */
+    public void configure(int connectTimeoutSeconds,
+                          int requestTimeoutSeconds,
+                          int pollTimeoutSeconds,
+                          int searchTimeoutSeconds) {
+        this.connectTimeoutMillis = toMillis(connectTimeoutSeconds);
+        this.requestTimeoutMillis = toMillis(requestTimeoutSeconds);
+        this.pollTimeoutMillis = toMillis(pollTimeoutSeconds);
+        this.searchTimeoutMillis = toMillis(searchTimeoutSeconds);
+    }
+
+    /**
+     * @return the max time in millis to connect, or to wait for a pooled connection.
+     */
+    public int getConnectTimeout() {
+        return connectTimeoutMillis;
+    }
+
+    /**
+     * @return the socket timeout in millis of a type of request.
+     */
+    public int getTimeout(RequestType requestType) {
+        switch (requestType) {
+            case POLL:
+                return pollTimeoutMillis;
+            case SEARCH:
+                return searchTimeoutMillis;
+            default:
+                return requestTimeoutMillis;
+        }
+    }
+
+    /**
+     * @return the config of a request of a type, with each timeout bounded by the time remaining until the deadline.
+     * @throws DeadlineExceededException if the deadline has passed.
+     */
+    public RequestConfig getRequestConfig(RequestType requestType,
+                                          Deadline deadline) {
+        long remainingMillis = deadline.remainingMillis();
+
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException(String.format("Not attempting %s request", requestType));
+        }
+
+        int connectTimeout = bound(connectTimeoutMillis, remainingMillis);
+
+        return RequestConfig.custom()
+                            .setConnectTimeout(connectTimeout)
+                            .setConnectionRequestTimeout(connectTimeout)
+                            .setSocketTimeout(bound(getTimeout(requestType), remainingMillis))
+                            .build();
+    }
+
+    // HELPERS
+
+    private static int toMillis(int seconds) {
+        return (int) TimeUnit.SECONDS.toMillis(Math.max(1, seconds));
+    }
+
+    private static int bound(int timeoutMillis,
+                             long remainingMillis) {
+        return (int) Math.min(timeoutMillis, remainingMillis);
+    }
+
+}
@@ -0,0 +1,23 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.exception.APIException;
+
+/**
+ * Decides whether, and after how long, a failed idempotent request should be attempted again.
+ */
+@FunctionalInterface
+public interface RetryPolicy {
+
+    RetryPolicy NEVER = (attempt, failure, previousDelay) -> -1;
+
+    /**
+     * @param attempt       The number of the attempt that failed, starting at 1.
+     * @param failure       The failure of the attempt.
+     * @param previousDelay The delay in millis before the failed attempt, 0 for the first attempt.
+     * @return the delay in millis before the next attempt, or a negative value to give up.
+     */
+    long getRetryDelay(int attempt,
+                       APIException failure,
+                       long previousDelay);
+
+}
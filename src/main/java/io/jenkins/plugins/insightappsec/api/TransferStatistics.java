@@ -0,0 +1,57 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts response body bytes received over the wire, i.e. possibly compressed, against the bytes they decoded to.
+ */
+public class TransferStatistics {
+
+    public static final TransferStatistics TRANSFER_STATISTICS_INSTANCE = new TransferStatistics();
+
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder compressedResponses = new LongAdder();
+    private final LongAdder wireBytes = new LongAdder();
+    private final LongAdder contentBytes = new LongAdder();
+
+    /**
+     * @param wireBytes    The bytes of the body as received.
+     * @param contentBytes The bytes of the body once decoded.
+     * @param compressed   Whether the body was compressed.
+     */
+    public void record(long wireBytes,
+                       long contentBytes,
+                       boolean compressed) {
+        this.responses.increment();
+        this.wireBytes.add(wireBytes);
+        this.contentBytes.add(contentBytes);
+
+        if (compressed) {
+            this.compressedResponses.increment();
+        }
+    }
+
+    public long getResponses() {
+        return responses.sum();
+    }
+
+    public long getCompressedResponses() {
+        return compressedResponses.sum();
+    }
+
+    public long getWireBytes() {
+        return wireBytes.sum();
+    }
+
+    public long getContentBytes() {
+        return contentBytes.sum();
+    }
+
+    /**
+     * @return the bytes not transferred thanks to compression.
+     */
+    public long getSavedBytes() {
+        return Math.max(0, getContentBytes() - getWireBytes());
+    }
+
+}
@@ -0,0 +1,130 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the 'ETag' and 'Last-Modified' validators of GET responses, with the object each response was mapped to,
+ * so that repeated reads can be made conditional and a 304 served without transferring or parsing the body.
+ * Entries are keyed by URI and a digest of the API key, so responses are never shared between keys.
+ * Cached objects are shared by all readers of the resource and must not be modified.
+ */
+public class ValidatorCache {
+
+    public static final ValidatorCache VALIDATOR_CACHE_INSTANCE = new ValidatorCache();
+
+    static final int MAX_ENTRIES = 1000;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder modified = new LongAdder();
+
+    /**
+     * @return the cached validators of a resource, or null if none are cached.
+     */
+    public Entry get(String apiKey,
+                     URI uri) {
+        synchronized (entries) {
+            return entries.get(key(apiKey, uri));
+        }
+    }
+
+    /**
+     * Cache the validators of a full response with the object it was mapped to.
+     * Responses without validators evict any previous entry for the resource.
+     */
+    public void put(String apiKey,
+                    URI uri,
+                    HttpResponse response,
+                    Object value) {
+        String eTag = getHeader(response, HttpHeaders.ETAG);
+        String lastModified = getHeader(response, HttpHeaders.LAST_MODIFIED);
+
+        modified.increment();
+
+        synchronized (entries) {
+            if (eTag == null && lastModified == null) {
+                entries.remove(key(apiKey, uri));
+            } else {
+                entries.put(key(apiKey, uri), new Entry(eTag, lastModified, value));
+            }
+        }
+    }
+
+    /**
+     * Record that a cached object was served for a 304 response.
+     */
+    public void onNotModified() {
+        notModified.increment();
+    }
+
+    public long getNotModified() {
+        return notModified.sum();
+    }
+
+    public long getModified() {
+        return modified.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // HELPERS
+
+    private static String key(String apiKey,
+                              URI uri) {
+        return DigestUtils.sha256Hex(apiKey) + " " + uri;
+    }
+
+    private static String getHeader(HttpResponse response,
+                                    String name) {
+        Header header = response.getFirstHeader(name);
+
+        return header != null ? header.getValue() : null;
+    }
+
+    public static class Entry {
+
+        private final String eTag;
+        private final String lastModified;
+        private final Object value;
+
+        Entry(String eTag,
+              String lastModified,
+              Object value) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.value = value;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+    }
+
+}
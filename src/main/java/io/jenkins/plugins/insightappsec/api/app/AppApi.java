@@ -1,9 +1,13 @@
 package io.jenkins.plugins.insightappsec.api.app;
 
 import io.jenkins.plugins.insightappsec.api.AbstractApi;
+import io.jenkins.plugins.insightappsec.api.HttpTransport;
+import io.jenkins.plugins.insightappsec.api.RateLimiter;
 import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class AppApi extends AbstractApi {
 
@@ -12,9 +16,18 @@ public class AppApi extends AbstractApi {
     private static final String APPS = "/apps";
 
     public AppApi(HttpClient client,
+                  HttpAsyncClient asyncClient,
                   String host,
-                  String apiKey) {
-        super(client, host, apiKey);
+                  String apiKey,
+                  RateLimiter rateLimiter) {
+        super(client, asyncClient, host, apiKey, rateLimiter);
+    }
+
+    public AppApi(HttpTransport transport,
+                  String host,
+                  String apiKey,
+                  RateLimiter rateLimiter) {
+        super(transport, host, apiKey, rateLimiter);
     }
 
     // API OPERATIONS
@@ -23,4 +36,8 @@ public class AppApi extends AbstractApi {
         return getForAll(APPS, App.class);
     }
 
+    public CompletableFuture<List<App>> getAppsAsync() {
+        return getForAllAsync(APPS, App.class);
+    }
+
 }
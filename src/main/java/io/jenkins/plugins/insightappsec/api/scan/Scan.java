@@ -15,6 +15,8 @@ import java.util.Arrays;
 @Builder
 public class Scan {
 
+    private String id;
+
     private Identifiable scanConfig;
 
     private ScanStatus status;
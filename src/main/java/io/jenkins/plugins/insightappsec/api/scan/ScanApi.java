@@ -1,8 +1,16 @@
 package io.jenkins.plugins.insightappsec.api.scan;
 
 import io.jenkins.plugins.insightappsec.api.AbstractApi;
+import io.jenkins.plugins.insightappsec.api.ApiMetrics;
+import io.jenkins.plugins.insightappsec.api.Deadline;
+import io.jenkins.plugins.insightappsec.api.HttpTransport;
 import io.jenkins.plugins.insightappsec.api.Identifiable;
+import io.jenkins.plugins.insightappsec.api.RateLimiter;
+import io.jenkins.plugins.insightappsec.api.RequestTimeouts;
 import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+import java.util.concurrent.CompletableFuture;
 
 public class ScanApi extends AbstractApi {
 
@@ -13,19 +21,48 @@ public class ScanApi extends AbstractApi {
     private static final String ACTION = "/action";
 
     public ScanApi(HttpClient client,
+                   HttpAsyncClient asyncClient,
                    String host,
-                   String apiKey) {
-        super(client, host, apiKey);
+                   String apiKey,
+                   RateLimiter rateLimiter) {
+        super(client, asyncClient, host, apiKey, rateLimiter);
+    }
+
+    public ScanApi(HttpTransport transport,
+                   String host,
+                   String apiKey,
+                   RateLimiter rateLimiter) {
+        super(transport, host, apiKey, rateLimiter);
+    }
+
+    private ScanApi(ScanApi api,
+                    Deadline deadline,
+                    ApiMetrics.Recorder recorder) {
+        super(api, deadline, recorder);
+    }
+
+    /**
+     * @return a copy of this API, every call of which must complete by the deadline.
+     */
+    public ScanApi withDeadline(Deadline deadline) {
+        return new ScanApi(this, deadline, getRecorder());
+    }
+
+    /**
+     * @return a copy of this API, the requests of which are also recorded to the recorder, e.g. to profile a build.
+     */
+    public ScanApi withRecorder(ApiMetrics.Recorder recorder) {
+        return new ScanApi(this, getDeadline(), recorder);
     }
 
     // API OPERATIONS
 
     public String submitScan(String scanConfigId) {
-        return post(SCANS, new Scan(new Identifiable(scanConfigId), null));
+        return post(SCANS, new Scan(null, new Identifiable(scanConfigId), null));
     }
 
     public Scan getScan(String scanId) {
-        return getById(SCANS + "/" + scanId, scanId, Scan.class);
+        return getById(SCANS + "/" + scanId, scanId, Scan.class, RequestTimeouts.RequestType.POLL);
     }
 
     public ScanExecutionDetails getScanExecutionDetails(String scanId) {
@@ -37,4 +74,23 @@ public class ScanApi extends AbstractApi {
         put(SCANS + "/" + scanId + ACTION, scanAction);
     }
 
+    // ASYNC API OPERATIONS
+
+    public CompletableFuture<String> submitScanAsync(String scanConfigId) {
+        return postAsync(SCANS, new Scan(null, new Identifiable(scanConfigId), null));
+    }
+
+    public CompletableFuture<Scan> getScanAsync(String scanId) {
+        return getByIdAsync(SCANS + "/" + scanId, scanId, Scan.class, RequestTimeouts.RequestType.POLL);
+    }
+
+    public CompletableFuture<ScanExecutionDetails> getScanExecutionDetailsAsync(String scanId) {
+        return getByIdAsync(SCANS + "/" + scanId + EXECUTION_DETAILS, scanId, ScanExecutionDetails.class);
+    }
+
+    public CompletableFuture<Void> submitScanActionAsync(String scanId,
+                                                         ScanAction scanAction) {
+        return putAsync(SCANS + "/" + scanId + ACTION, scanAction);
+    }
+
 }
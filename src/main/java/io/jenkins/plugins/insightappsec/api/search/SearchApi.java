@@ -1,9 +1,17 @@
 package io.jenkins.plugins.insightappsec.api.search;
 
 import io.jenkins.plugins.insightappsec.api.AbstractApi;
+import io.jenkins.plugins.insightappsec.api.ApiMetrics;
+import io.jenkins.plugins.insightappsec.api.Deadline;
+import io.jenkins.plugins.insightappsec.api.FetchMode;
+import io.jenkins.plugins.insightappsec.api.HttpTransport;
+import io.jenkins.plugins.insightappsec.api.RateLimiter;
 import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public class SearchApi extends AbstractApi {
 
@@ -12,9 +20,38 @@ public class SearchApi extends AbstractApi {
     private static final String SEARCH = "/search";
 
     public SearchApi(HttpClient client,
+                     HttpAsyncClient asyncClient,
                      String host,
-                     String apiKey) {
-        super(client, host, apiKey);
+                     String apiKey,
+                     RateLimiter rateLimiter) {
+        super(client, asyncClient, host, apiKey, rateLimiter);
+    }
+
+    public SearchApi(HttpTransport transport,
+                     String host,
+                     String apiKey,
+                     RateLimiter rateLimiter) {
+        super(transport, host, apiKey, rateLimiter);
+    }
+
+    private SearchApi(SearchApi api,
+                      Deadline deadline,
+                      ApiMetrics.Recorder recorder) {
+        super(api, deadline, recorder);
+    }
+
+    /**
+     * @return a copy of this API, every call of which must complete by the deadline.
+     */
+    public SearchApi withDeadline(Deadline deadline) {
+        return new SearchApi(this, deadline, getRecorder());
+    }
+
+    /**
+     * @return a copy of this API, the requests of which are also recorded to the recorder, e.g. to profile a build.
+     */
+    public SearchApi withRecorder(ApiMetrics.Recorder recorder) {
+        return new SearchApi(this, getDeadline(), recorder);
     }
 
     // API OPERATIONS
@@ -24,4 +61,37 @@ public class SearchApi extends AbstractApi {
         return postForAll(SEARCH, clazz, searchRequest);
     }
 
+    /**
+     * Search, parsing results in a fetch mode, e.g. skipping or deferring the parsing of large detail fields.
+     */
+    public <T> List<T> searchAll(SearchRequest searchRequest,
+                                 Class<T> clazz,
+                                 FetchMode fetchMode) {
+        return postForAll(SEARCH, clazz, searchRequest, fetchMode);
+    }
+
+    public <T> CompletableFuture<List<T>> searchAllAsync(SearchRequest searchRequest,
+                                                         Class<T> clazz) {
+        return postForAllAsync(SEARCH, clazz, searchRequest);
+    }
+
+    /**
+     * Search lazily, holding at most the page being consumed and the next page.
+     * Close the stream, e.g. using try-with-resources, if it may not be fully consumed.
+     */
+    public <T> Stream<T> searchStream(SearchRequest searchRequest,
+                                      Class<T> clazz) {
+        return postForStream(SEARCH, clazz, searchRequest);
+    }
+
+    /**
+     * Search lazily, parsing results in a fetch mode.
+     * @see #searchStream(SearchRequest, Class)
+     */
+    public <T> Stream<T> searchStream(SearchRequest searchRequest,
+                                      Class<T> clazz,
+                                      FetchMode fetchMode) {
+        return postForStream(SEARCH, clazz, searchRequest, fetchMode);
+    }
+
 }
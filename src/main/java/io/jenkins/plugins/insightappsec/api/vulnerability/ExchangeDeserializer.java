@@ -0,0 +1,60 @@
+package io.jenkins.plugins.insightappsec.api.vulnerability;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import io.jenkins.plugins.insightappsec.api.FetchMode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Parses an exchange, or in {@link FetchMode#LAZY} mode copies its JSON as UTF-8 bytes without creating a String
+ * for its request or response.
+ */
+public class ExchangeDeserializer extends StdDeserializer<Vulnerability.Variance.Exchange> {
+
+    private static final String REQUEST = "request";
+    private static final String RESPONSE = "response";
+
+    public ExchangeDeserializer() {
+        super(Vulnerability.Variance.Exchange.class);
+    }
+
+    @Override
+    public Vulnerability.Variance.Exchange deserialize(JsonParser parser,
+                                                      DeserializationContext context) throws IOException {
+        if (FetchMode.isLazy(context)) {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+
+            try (JsonGenerator generator = parser.getCodec().getFactory().createGenerator(raw)) {
+                generator.copyCurrentStructure(parser);
+            }
+
+            return Vulnerability.Variance.Exchange.lazy(raw.toByteArray());
+        }
+
+        String request = null;
+        String response = null;
+
+        JsonToken token = parser.getCurrentToken() == JsonToken.START_OBJECT ? parser.nextToken() : parser.getCurrentToken();
+
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+
+            if (REQUEST.equals(field)) {
+                request = parser.getValueAsString();
+            } else if (RESPONSE.equals(field)) {
+                response = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return new Vulnerability.Variance.Exchange(request, response);
+    }
+
+}
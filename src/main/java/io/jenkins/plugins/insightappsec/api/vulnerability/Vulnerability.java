@@ -1,12 +1,25 @@
 package io.jenkins.plugins.insightappsec.api.vulnerability;
 
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.jenkins.plugins.insightappsec.api.FetchMode;
+import io.jenkins.plugins.insightappsec.exception.APIException;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
+import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.util.List;
 
+import static io.jenkins.plugins.insightappsec.api.JsonCodec.JSON_CODEC_INSTANCE;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -37,19 +50,88 @@ public class Vulnerability {
     public static class Variance {
 
         private String originalValue;
+        @JsonView(FetchMode.Detail.class)
         private Exchange originalExchange;
         private String attackValue;
+        @JsonView(FetchMode.Detail.class)
         private List<Exchange> attackExchanges;
         private String message;
 
+        /**
+         * When parsed in {@link FetchMode#LAZY} mode, an exchange keeps its raw JSON, and parses it when its request
+         * or response is first read, rather than holding both as Strings for the life of the scan results.
+         * The parsed exchange is kept only while memory allows, and saved in place of the raw JSON.
+         */
         @Data
-        @AllArgsConstructor
+        @EqualsAndHashCode(exclude = {"raw", "parsed"})
+        @ToString(exclude = {"raw", "parsed"})
         @NoArgsConstructor
-        @Builder
+        @JsonDeserialize(using = ExchangeDeserializer.class)
         public static class Exchange {
 
             private String request;
             private String response;
+
+            // set in place of request and response when parsed lazily
+            @Getter(AccessLevel.NONE)
+            @Setter(AccessLevel.NONE)
+            private byte[] raw;
+
+            @Getter(AccessLevel.NONE)
+            @Setter(AccessLevel.NONE)
+            private transient volatile SoftReference<Exchange> parsed;
+
+            @Builder
+            public Exchange(String request,
+                            String response) {
+                this.request = request;
+                this.response = response;
+            }
+
+            static Exchange lazy(byte[] raw) {
+                Exchange exchange = new Exchange();
+                exchange.raw = raw;
+
+                return exchange;
+            }
+
+            public String getRequest() {
+                return raw != null ? parse().request : request;
+            }
+
+            public String getResponse() {
+                return raw != null ? parse().response : response;
+            }
+
+            boolean isParsed() {
+                return raw == null;
+            }
+
+            /**
+             * Called by XStream, so that builds save the request and response rather than the raw JSON as base64.
+             */
+            private Object writeReplace() {
+                return raw != null ? new Exchange(getRequest(), getResponse()) : this;
+            }
+
+            // HELPERS
+
+            private Exchange parse() {
+                SoftReference<Exchange> reference = parsed;
+                Exchange exchange = reference != null ? reference.get() : null;
+
+                if (exchange == null) {
+                    try {
+                        exchange = JSON_CODEC_INSTANCE.readerFor(Exchange.class).readValue(raw);
+                    } catch (IOException e) {
+                        throw new APIException("Error occurred parsing exchange", e);
+                    }
+
+                    parsed = new SoftReference<>(exchange);
+                }
+
+                return exchange;
+            }
         }
 
     }
@@ -0,0 +1,13 @@
+package io.jenkins.plugins.insightappsec.exception;
+
+import org.apache.http.HttpResponse;
+
+public class CircuitOpenException extends APIException {
+
+    private static final long serialVersionUID = 6817355802290441739L;
+
+    public CircuitOpenException(String host) {
+        super(String.format("Requests to [%s] are failing, not attempting request until it recovers", host), (HttpResponse) null);
+    }
+
+}
@@ -0,0 +1,13 @@
+package io.jenkins.plugins.insightappsec.exception;
+
+import org.apache.http.HttpResponse;
+
+public class DeadlineExceededException extends APIException {
+
+    private static final long serialVersionUID = 2946186417535026851L;
+
+    public DeadlineExceededException(String message) {
+        super(String.format("%s, the deadline of the call has passed", message), (HttpResponse) null);
+    }
+
+}
@@ -0,0 +1,116 @@
+package io.jenkins.plugins.insightappsec.jfr;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Emits Java Flight Recorder events for API calls, scan status polls and scan results processing, so that a
+ * recording can attribute controller CPU, allocation and latency to the plugin's scans and endpoints.
+ * The events themselves are only built on, and only loaded when running on, a JDK with Flight Recorder, otherwise
+ * this no-op implementation is used. Either way, an event that is not being recorded costs no more than a check.
+ */
+public class FlightRecorderEvents {
+
+    private static final Logger LOGGER = Logger.getLogger(FlightRecorderEvents.class.getName());
+
+    private static final String JFR_EVENTS = "io.jenkins.plugins.insightappsec.jfr.JfrFlightRecorderEvents";
+
+    public static final FlightRecorderEvents FLIGHT_RECORDER_EVENTS_INSTANCE = load();
+
+    protected FlightRecorderEvents() {
+    }
+
+    /**
+     * @return whether events are emitted to Flight Recorder, i.e. the plugin was built on, and is running on, a JDK with it.
+     */
+    public boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * Begin an API call, ended once its response body is closed, or it fails without a response.
+     * @param endpoint The endpoint called, as built by {@code ApiMetrics#endpoint}.
+     */
+    public ApiCall beginApiCall(String endpoint) {
+        return ApiCall.NONE;
+    }
+
+    /**
+     * Begin waiting for a poll of a scan's status.
+     */
+    public Poll beginPoll(String scanId) {
+        return Poll.NONE;
+    }
+
+    /**
+     * Begin processing the results of a scan for a build.
+     * @param buildId The externalizable id of the build, e.g. 'folder/job#1'.
+     */
+    public ResultsProcessing beginResultsProcessing(String buildId) {
+        return ResultsProcessing.NONE;
+    }
+
+    // HELPERS
+
+    private static FlightRecorderEvents load() {
+        try {
+            Class.forName("jdk.jfr.Event");
+
+            return (FlightRecorderEvents) Class.forName(JFR_EVENTS).getConstructor().newInstance();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return new FlightRecorderEvents();
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.WARNING, "Error occurred loading Flight Recorder events, events will not be emitted", e);
+
+            return new FlightRecorderEvents();
+        }
+    }
+
+    public interface ApiCall {
+
+        ApiCall NONE = new ApiCall() {
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+
+            @Override
+            public void end(int statusCode,
+                            long bytes) {
+            }
+        };
+
+        /**
+         * @return whether the call is being recorded, so that its response bytes need be counted.
+         */
+        boolean isEnabled();
+
+        /**
+         * @param statusCode The status of the response, or 0 for failures without a response.
+         * @param bytes      The bytes of the response body read, as received.
+         */
+        void end(int statusCode,
+                 long bytes);
+
+    }
+
+    public interface Poll {
+
+        Poll NONE = status -> {};
+
+        /**
+         * @param status The status of the scan polled, or null should the poll have failed.
+         */
+        void end(String status);
+
+    }
+
+    public interface ResultsProcessing {
+
+        ResultsProcessing NONE = vulnerabilityCount -> {};
+
+        void end(int vulnerabilityCount);
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.jenkins.plugins.insightappsec.metrics;
+
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import jenkins.model.Jenkins;
+
+/**
+ * Installs the {@link MetricsPluginRecorder} once plugins have started, should the optional Metrics plugin be installed.
+ * Otherwise API metrics are not recorded.
+ */
+public class MetricsInitializer {
+
+    static final String METRICS_PLUGIN = "metrics";
+
+    @Initializer(after = InitMilestone.PLUGINS_STARTED)
+    public static void installRecorder() {
+        Jenkins jenkins = Jenkins.getInstance();
+
+        if (jenkins != null && jenkins.getPlugin(METRICS_PLUGIN) != null) {
+            MetricsPluginRecorder.install();
+        }
+    }
+
+}
@@ -0,0 +1,200 @@
+package io.jenkins.plugins.insightappsec.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.jenkins.plugins.insightappsec.Region;
+import io.jenkins.plugins.insightappsec.api.ApiMetrics;
+import io.jenkins.plugins.insightappsec.api.PageSizeTuner;
+import io.jenkins.plugins.insightappsec.api.RateLimiter;
+import jenkins.metrics.api.Metrics;
+import org.apache.http.pool.PoolStats;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static io.jenkins.plugins.insightappsec.ScanStatusPoller.SCAN_STATUS_POLLER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.ApiMetrics.API_METRICS_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.HttpClientCache.HTTP_CLIENT_CACHE_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.RateLimiterRegistry.RATE_LIMITER_REGISTRY_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.RequestCoalescer.REQUEST_COALESCER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.TransferStatistics.TRANSFER_STATISTICS_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.ValidatorCache.VALIDATOR_CACHE_INSTANCE;
+
+/**
+ * Publishes the plugin's API metrics to the registry of the Jenkins Metrics plugin, under 'insightappsec.'.
+ * Per endpoint, e.g. 'insightappsec.api.get.scans.id.execution-details':
+ * <ul>
+ *     <li>'latency', a timer of responses</li>
+ *     <li>'responses.[status code]', 'errors' and 'retries', counters</li>
+ *     <li>'response-bytes', a histogram of response body sizes</li>
+ * </ul>
+ * And per endpoint and type of result of paginated retrievals, e.g. 'insightappsec.api.pages.search.vulnerability':
+ * <ul>
+ *     <li>'page-size', a histogram of the page sizes chosen</li>
+ *     <li>'pages', a counter of pages parsed</li>
+ * </ul>
+ * Along with gauges of each region's connection pools and the plugin's caches, rate limiters and scan poller.
+ * Only loaded when the Metrics plugin is installed, as its classes are otherwise absent.
+ */
+public class MetricsPluginRecorder implements ApiMetrics.Recorder {
+
+    static final String PREFIX = "insightappsec";
+
+    private final MetricRegistry registry;
+
+    MetricsPluginRecorder(MetricRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Register the gauges, and start recording API metrics, to the Metrics plugin's registry.
+     */
+    public static void install() {
+        MetricsPluginRecorder recorder = new MetricsPluginRecorder(Metrics.metricRegistry());
+        recorder.registerGauges();
+
+        API_METRICS_INSTANCE.setRecorder(recorder);
+    }
+
+    @Override
+    public void onResponse(String endpoint,
+                           int statusCode,
+                           long nanos) {
+        registry.timer(endpointName(endpoint, "latency")).update(nanos, TimeUnit.NANOSECONDS);
+        registry.counter(endpointName(endpoint, "responses", String.valueOf(statusCode))).inc();
+        registry.counter(MetricRegistry.name(PREFIX, "api", "responses", (statusCode / 100) + "xx")).inc();
+    }
+
+    @Override
+    public void onFailure(String endpoint,
+                          long nanos) {
+        registry.timer(endpointName(endpoint, "latency")).update(nanos, TimeUnit.NANOSECONDS);
+        registry.counter(endpointName(endpoint, "errors")).inc();
+        registry.counter(MetricRegistry.name(PREFIX, "api", "errors")).inc();
+    }
+
+    @Override
+    public void onResponseBytes(String endpoint,
+                                long bytes) {
+        registry.histogram(endpointName(endpoint, "response-bytes")).update(bytes);
+    }
+
+    @Override
+    public void onRetry(String endpoint) {
+        registry.counter(endpointName(endpoint, "retries")).inc();
+        registry.counter(MetricRegistry.name(PREFIX, "api", "retries")).inc();
+    }
+
+    @Override
+    public void onPageSize(String tuningKey,
+                           int pageSize) {
+        registry.histogram(pageName(tuningKey, "page-size")).update(pageSize);
+    }
+
+    @Override
+    public void onPage(String tuningKey,
+                       int results) {
+        registry.counter(pageName(tuningKey, "pages")).inc();
+    }
+
+    void registerGauges() {
+        for (Region region : Region.values()) {
+            String host = region.getAPIHost();
+
+            registerPoolGauges(name("pool", region.name().toLowerCase()), () -> HTTP_CLIENT_CACHE_INSTANCE.getConnectionPoolStats().get(host));
+            registerPoolGauges(name("async-pool", region.name().toLowerCase()), () -> HTTP_CLIENT_CACHE_INSTANCE.getAsyncConnectionPoolStats().get(host));
+        }
+
+        register(name("transfer", "responses"), TRANSFER_STATISTICS_INSTANCE::getResponses);
+        register(name("transfer", "compressed-responses"), TRANSFER_STATISTICS_INSTANCE::getCompressedResponses);
+        register(name("transfer", "wire-bytes"), TRANSFER_STATISTICS_INSTANCE::getWireBytes);
+        register(name("transfer", "content-bytes"), TRANSFER_STATISTICS_INSTANCE::getContentBytes);
+
+        register(name("validator-cache", "modified"), VALIDATOR_CACHE_INSTANCE::getModified);
+        register(name("validator-cache", "not-modified"), VALIDATOR_CACHE_INSTANCE::getNotModified);
+        register(name("validator-cache", "size"), VALIDATOR_CACHE_INSTANCE::size);
+
+        register(name("coalescer", "coalesced"), REQUEST_COALESCER_INSTANCE::getCoalesced);
+        register(name("coalescer", "in-flight"), REQUEST_COALESCER_INSTANCE::getInFlight);
+
+        register(name("scan-poller", "polls"), SCAN_STATUS_POLLER_INSTANCE::getPolls);
+        register(name("scan-poller", "searches"), SCAN_STATUS_POLLER_INSTANCE::getSearches);
+        register(name("scan-poller", "fallbacks"), SCAN_STATUS_POLLER_INSTANCE::getFallbacks);
+        register(name("scan-poller", "tracked-scans"), SCAN_STATUS_POLLER_INSTANCE::getTrackedScans);
+
+        register(name("rate-limiter", "acquisitions"), () -> sumRateLimiters(RateLimiter::getAcquisitions));
+        register(name("rate-limiter", "throttled"), () -> sumRateLimiters(RateLimiter::getThrottledAcquisitions));
+        register(name("rate-limiter", "wait-millis"), () -> sumRateLimiters(RateLimiter::getTotalWaitMillis));
+    }
+
+    // HELPERS
+
+    /**
+     * @return the name of a metric of an endpoint, e.g. 'GET /scans/{id}' > 'insightappsec.api.get.scans.id.latency'.
+     */
+    static String endpointName(String endpoint,
+                               String... names) {
+        String endpointName = endpoint.toLowerCase()
+                                      .replace(" /", ".")
+                                      .replace('/', '.')
+                                      .replace("{id}", "id");
+
+        return MetricRegistry.name(MetricRegistry.name(PREFIX, "api", endpointName), names);
+    }
+
+    /**
+     * @return the name of a metric of paginated retrievals, by endpoint and type of result, whatever the host,
+     * e.g. 'us.api.insight.rapid7.com/search Vulnerability' > 'insightappsec.api.page-size.search.vulnerability'.
+     */
+    static String pageName(String tuningKey,
+                           String name) {
+        String endpointName = PageSizeTuner.endpoint(tuningKey)
+                                           .toLowerCase()
+                                           .replaceAll("[^a-z0-9-]+", ".")
+                                           .replaceAll("^\\.|\\.$", "");
+
+        return MetricRegistry.name(PREFIX, "api", name, endpointName);
+    }
+
+    private static String name(String... names) {
+        return MetricRegistry.name(PREFIX, names);
+    }
+
+    private void registerPoolGauges(String name,
+                                    Supplier<PoolStats> stats) {
+        registerPoolGauge(name, "leased", stats, PoolStats::getLeased);
+        registerPoolGauge(name, "available", stats, PoolStats::getAvailable);
+        registerPoolGauge(name, "pending", stats, PoolStats::getPending);
+        registerPoolGauge(name, "max", stats, PoolStats::getMax);
+    }
+
+    private void registerPoolGauge(String name,
+                                   String stat,
+                                   Supplier<PoolStats> stats,
+                                   Function<PoolStats, Integer> value) {
+        // a pool is only created with the first client for its host
+        register(MetricRegistry.name(name, stat), () -> {
+            PoolStats poolStats = stats.get();
+            return poolStats == null ? 0 : value.apply(poolStats);
+        });
+    }
+
+    /**
+     * Gauges are replaced on re-registration, e.g. should the plugin be re-initialized.
+     */
+    private <T> void register(String name,
+                              Gauge<T> gauge) {
+        registry.remove(name);
+        registry.register(name, gauge);
+    }
+
+    private static long sumRateLimiters(ToLongFunction<RateLimiter> value) {
+        Map<String, RateLimiter> rateLimiters = RATE_LIMITER_REGISTRY_INSTANCE.getRateLimiters();
+
+        return rateLimiters.values().stream().mapToLong(value).sum();
+    }
+
+}
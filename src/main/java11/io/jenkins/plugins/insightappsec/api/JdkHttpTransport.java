@@ -0,0 +1,268 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import hudson.ProxyConfiguration;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.AbstractExecutionAwareRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.util.EntityUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.Authenticator;
+import java.net.PasswordAuthentication;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.jenkins.plugins.insightappsec.api.RequestTimeouts.REQUEST_TIMEOUTS_INSTANCE;
+
+/**
+ * Sends requests using the JDK {@link HttpClient}, which negotiates HTTP/2 where the host supports it, multiplexing
+ * concurrent requests over a single connection rather than opening a connection per request.
+ * Only built, and only able to run, on Java 11+, so created reflectively by {@link HttpClientCache}.
+ */
+public class JdkHttpTransport implements HttpTransport {
+
+    private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+
+    private final HttpClient client;
+
+    public JdkHttpTransport(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * @return a transport with its own client, using the Jenkins proxy configuration if any.
+     */
+    public static JdkHttpTransport create() {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                                               .version(HttpClient.Version.HTTP_2)
+                                               .followRedirects(HttpClient.Redirect.NEVER)
+                                               .connectTimeout(Duration.ofMillis(REQUEST_TIMEOUTS_INSTANCE.getConnectTimeout()))
+                                               .executor(Executors.newCachedThreadPool(new NamingThreadFactory(new DaemonThreadFactory(), "InsightAppSec HTTP/2 client")));
+        configureProxy(builder);
+
+        return new JdkHttpTransport(builder.build());
+    }
+
+    @Override
+    public HttpResponse execute(HttpUriRequest request) throws IOException {
+        CompletableFuture<java.net.http.HttpResponse<InputStream>> exchange =
+                client.sendAsync(toJdkRequest(request), java.net.http.HttpResponse.BodyHandlers.ofInputStream());
+        cancelOnAbort(request, exchange);
+
+        try {
+            java.net.http.HttpResponse<InputStream> response = exchange.get();
+
+            return toResponse(response, response.body());
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while awaiting response");
+        } catch (CancellationException e) {
+            throw new RequestAbortedException("Request aborted");
+        } catch (ExecutionException e) {
+            throw toIOException(e.getCause());
+        }
+    }
+
+    @Override
+    public Future<HttpResponse> execute(HttpUriRequest request,
+                                        FutureCallback<HttpResponse> callback) {
+        HttpRequest jdkRequest;
+        try {
+            jdkRequest = toJdkRequest(request);
+        } catch (IOException e) {
+            callback.failed(e);
+
+            CompletableFuture<HttpResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        CompletableFuture<HttpResponse> response =
+                client.sendAsync(jdkRequest, java.net.http.HttpResponse.BodyHandlers.ofByteArray())
+                      .thenApply(r -> toResponse(r, new ByteArrayInputStream(r.body())));
+
+        response.whenComplete((r, failure) -> {
+            if (failure == null) {
+                callback.completed(r);
+            } else if (failure instanceof CancellationException) {
+                callback.cancelled();
+            } else {
+                callback.failed(toIOException(failure instanceof CompletionException ? failure.getCause() : failure));
+            }
+        });
+
+        return response;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return true;
+    }
+
+    // HELPERS
+
+    /**
+     * The socket timeout maps to the timeout of the request, i.e. until its response head is received, as the JDK
+     * client has no timeout between reads. The connect timeout is fixed per client, so the cached transports are
+     * rebuilt whenever the configuration is applied, see {@link HttpClientCache#setHttp2Enabled}.
+     */
+    private static HttpRequest toJdkRequest(HttpUriRequest request) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getURI());
+
+        for (Header header : request.getAllHeaders()) {
+            builder.header(header.getName(), header.getValue());
+        }
+
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.noBody();
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+
+            if (entity != null) {
+                if (entity.getContentType() != null) {
+                    builder.header(HttpHeaders.CONTENT_TYPE, entity.getContentType().getValue());
+                }
+                body = HttpRequest.BodyPublishers.ofByteArray(EntityUtils.toByteArray(entity));
+            }
+        }
+        builder.method(request.getMethod(), body);
+
+        if (request instanceof Configurable) {
+            RequestConfig config = ((Configurable) request).getConfig();
+
+            if (config != null && config.getSocketTimeout() > 0) {
+                builder.timeout(Duration.ofMillis(config.getSocketTimeout()));
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static void cancelOnAbort(HttpUriRequest request,
+                                      CompletableFuture<?> exchange) {
+        if (request instanceof AbstractExecutionAwareRequest) {
+            ((AbstractExecutionAwareRequest) request).setCancellable(() -> exchange.cancel(true));
+        }
+
+        // aborted before the cancellable was set
+        if (request.isAborted()) {
+            exchange.cancel(true);
+        }
+    }
+
+    private static HttpResponse toResponse(java.net.http.HttpResponse<?> jdkResponse,
+                                           InputStream content) {
+        int statusCode = jdkResponse.statusCode();
+        ProtocolVersion version = jdkResponse.version() == HttpClient.Version.HTTP_2 ? HTTP_2 : HttpVersion.HTTP_1_1;
+
+        JdkResponse response = new JdkResponse(version, statusCode, EnglishReasonPhraseCatalog.INSTANCE.getReason(statusCode, Locale.ENGLISH));
+
+        for (Map.Entry<String, List<String>> header : jdkResponse.headers().map().entrySet()) {
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(content);
+        entity.setContentLength(jdkResponse.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH).orElse(-1));
+        entity.setContentType(response.getFirstHeader(HttpHeaders.CONTENT_TYPE));
+        entity.setContentEncoding(response.getFirstHeader(HttpHeaders.CONTENT_ENCODING));
+        response.setEntity(entity);
+
+        return response;
+    }
+
+    private static IOException toIOException(Throwable failure) {
+        // as the Apache client reports timeouts, so that they are retried alike
+        if (failure instanceof HttpConnectTimeoutException) {
+            return (IOException) new ConnectTimeoutException(failure.getMessage()).initCause(failure);
+        }
+        if (failure instanceof HttpTimeoutException) {
+            return (IOException) new SocketTimeoutException(failure.getMessage()).initCause(failure);
+        }
+
+        return failure instanceof IOException ? (IOException) failure : new IOException(failure);
+    }
+
+    private static void configureProxy(HttpClient.Builder builder) {
+        Jenkins jenkins = Jenkins.getInstance();
+        ProxyConfiguration config = jenkins != null ? jenkins.proxy : null;
+
+        if (config != null) {
+            // connection
+            builder.proxy(new ProxyUtil.NoProxyHostSelector(config));
+
+            // authentication
+            if (config.getUserName() != null && !config.getUserName().isEmpty()) {
+                PasswordAuthentication credentials = new PasswordAuthentication(config.getUserName(), config.getPassword().toCharArray());
+
+                builder.authenticator(new Authenticator() {
+                    @Override
+                    protected PasswordAuthentication getPasswordAuthentication() {
+                        return getRequestorType() == RequestorType.PROXY ? credentials : null;
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Closing the response closes its content, releasing the stream of a blocking request.
+     */
+    private static class JdkResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+        private JdkResponse(ProtocolVersion version,
+                            int statusCode,
+                            String reasonPhrase) {
+            super(version, statusCode, reasonPhrase);
+        }
+
+        @Override
+        public void close() throws IOException {
+            HttpEntity entity = getEntity();
+
+            if (entity != null && entity.isStreaming()) {
+                entity.getContent().close();
+            }
+        }
+
+    }
+
+}
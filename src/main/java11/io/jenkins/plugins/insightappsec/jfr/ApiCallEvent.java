@@ -0,0 +1,30 @@
+package io.jenkins.plugins.insightappsec.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(ApiCallEvent.NAME)
+@Label("InsightAppSec API Call")
+@Category("InsightAppSec")
+@Description("A request to the InsightAppSec API, until its response body was closed")
+class ApiCallEvent extends Event {
+
+    static final String NAME = "io.jenkins.plugins.insightappsec.InsightAppSecApiCall";
+
+    @Label("Endpoint")
+    @Description("The method and path, with ids replaced, e.g. 'GET /scans/{id}'")
+    String endpoint;
+
+    @Label("Status Code")
+    @Description("0 should the request have failed without a response")
+    int statusCode;
+
+    @Label("Response Bytes")
+    @DataAmount
+    long bytes;
+
+}
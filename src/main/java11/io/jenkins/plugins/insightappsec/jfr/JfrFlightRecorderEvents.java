@@ -0,0 +1,83 @@
+package io.jenkins.plugins.insightappsec.jfr;
+
+/**
+ * Emits the plugin's events to Flight Recorder.
+ * Only built on, and only able to run on, a JDK with Flight Recorder, so created reflectively by {@link FlightRecorderEvents}.
+ * Events are only allocated beyond the enabled check while being recorded.
+ */
+public class JfrFlightRecorderEvents extends FlightRecorderEvents {
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public ApiCall beginApiCall(String endpoint) {
+        ApiCallEvent event = new ApiCallEvent();
+        if (!event.isEnabled()) {
+            return ApiCall.NONE;
+        }
+
+        event.endpoint = endpoint;
+        event.begin();
+
+        return new ApiCall() {
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+
+            @Override
+            public void end(int statusCode,
+                            long bytes) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.statusCode = statusCode;
+                    event.bytes = bytes;
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    @Override
+    public Poll beginPoll(String scanId) {
+        PollEvent event = new PollEvent();
+        if (!event.isEnabled()) {
+            return Poll.NONE;
+        }
+
+        event.scanId = scanId;
+        event.begin();
+
+        return status -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.status = status;
+                event.failed = status == null;
+                event.commit();
+            }
+        };
+    }
+
+    @Override
+    public ResultsProcessing beginResultsProcessing(String buildId) {
+        ResultsProcessingEvent event = new ResultsProcessingEvent();
+        if (!event.isEnabled()) {
+            return ResultsProcessing.NONE;
+        }
+
+        event.buildId = buildId;
+        event.begin();
+
+        return vulnerabilityCount -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.vulnerabilityCount = vulnerabilityCount;
+                event.commit();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,26 @@
+package io.jenkins.plugins.insightappsec.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(PollEvent.NAME)
+@Label("InsightAppSec Scan Poll")
+@Category("InsightAppSec")
+@Description("A build waiting for a poll of the status of its scan")
+class PollEvent extends Event {
+
+    static final String NAME = "io.jenkins.plugins.insightappsec.InsightAppSecScanPoll";
+
+    @Label("Scan Id")
+    String scanId;
+
+    @Label("Status")
+    String status;
+
+    @Label("Failed")
+    boolean failed;
+
+}
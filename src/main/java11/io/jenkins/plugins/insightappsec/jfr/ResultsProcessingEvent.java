@@ -0,0 +1,23 @@
+package io.jenkins.plugins.insightappsec.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(ResultsProcessingEvent.NAME)
+@Label("InsightAppSec Results Processing")
+@Category("InsightAppSec")
+@Description("Handling the results of a scan for a build, i.e. attaching them and deciding whether the build fails")
+class ResultsProcessingEvent extends Event {
+
+    static final String NAME = "io.jenkins.plugins.insightappsec.InsightAppSecResultsProcessing";
+
+    @Label("Build Id")
+    String buildId;
+
+    @Label("Vulnerability Count")
+    int vulnerabilityCount;
+
+}
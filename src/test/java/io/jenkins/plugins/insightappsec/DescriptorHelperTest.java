@@ -1,6 +1,7 @@
 package io.jenkins.plugins.insightappsec;
 
 import io.jenkins.plugins.insightappsec.api.APIFactory;
+import io.jenkins.plugins.insightappsec.api.ListingCache;
 import io.jenkins.plugins.insightappsec.api.app.App;
 import io.jenkins.plugins.insightappsec.api.app.AppApi;
 import io.jenkins.plugins.insightappsec.api.scanconfig.ScanConfig;
@@ -16,9 +17,9 @@ import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 import jenkins.model.Jenkins;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -37,6 +38,8 @@ import static io.jenkins.plugins.insightappsec.api.search.SearchRequestModels.aS
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest(Jenkins.class) // must use powermock to mock Jenkins final method calls
@@ -60,13 +63,22 @@ public class DescriptorHelperTest {
     @Mock
     private DurationStringParser durationStringParser;
 
-    @InjectMocks
     private DescriptorHelper descriptorHelper;
 
     private static final String CREDENTIALS_ID = "some_arbitrary_id";
     private static final String REGION = "US";
+    private static final String CREDENTIALS_KEY = "us.api.insight.rapid7.com key";
     private static final String EMPTY_STRING_VALUE = "";
 
+    @Before
+    public void setup() {
+        // listings are refreshed on the calling thread
+        descriptorHelper = new DescriptorHelper(apiFactory,
+                                                credentialsHelper,
+                                                durationStringParser,
+                                                new ListingCache(Runnable::run));
+    }
+
     // REGION
 
     @Test
@@ -208,6 +220,40 @@ public class DescriptorHelperTest {
         Assert.assertEquals(apps.get(0).getId(), apps.get(0).getId(), items.get(1).value);
     }
 
+    @Test
+    public void getAppIdItems_cached() {
+        // given
+        mockRefreshAppApi();
+
+        List<App> apps = Stream.generate(() -> aCompleteApp().build()).limit(10).collect(Collectors.toList());
+        given(appApi.getApps()).willReturn(apps);
+
+        // when
+        ListBoxModel items0 = descriptorHelper.getAppIdItems(REGION, CREDENTIALS_ID);
+        ListBoxModel items1 = descriptorHelper.getAppIdItems(REGION, CREDENTIALS_ID);
+
+        // then
+        assertEquals(items0.size(), items1.size());
+
+        verify(appApi, times(1)).getApps();
+    }
+
+    @Test
+    public void getAppIdItems_rotatedApiKeyNotCached() {
+        // given
+        given(apiFactory.newAppApi(REGION, CREDENTIALS_ID)).willReturn(appApi);
+        given(appApi.getCredentialsKey()).willReturn(CREDENTIALS_KEY, "us.api.insight.rapid7.com rotated-key");
+
+        given(appApi.getApps()).willAnswer(invocation -> Collections.singletonList(aCompleteApp().build()));
+
+        // when
+        descriptorHelper.getAppIdItems(REGION, CREDENTIALS_ID);
+        descriptorHelper.getAppIdItems(REGION, CREDENTIALS_ID);
+
+        // then
+        verify(appApi, times(2)).getApps();
+    }
+
     // SCAN CONFIGS
 
     @Test
@@ -244,7 +290,7 @@ public class DescriptorHelperTest {
         mockGetCredentials();
         mockRefreshSearchApi();
 
-        given(searchApi.searchAll(any(SearchRequest.class), any())).willThrow(new APIException("message", MockHttpResponse.create(401)));
+        given(searchApi.searchStream(any(SearchRequest.class), any())).willThrow(new APIException("message", MockHttpResponse.create(401)));
 
         // when
         ListBoxModel items = descriptorHelper.getScanConfigIdItems(REGION, CREDENTIALS_ID, appId);
@@ -266,7 +312,7 @@ public class DescriptorHelperTest {
         mockGetCredentials();
         mockRefreshSearchApi();
 
-        given(searchApi.searchAll(any(SearchRequest.class), any())).willThrow(new RuntimeException());
+        given(searchApi.searchStream(any(SearchRequest.class), any())).willThrow(new RuntimeException());
 
         // when
         ListBoxModel items = descriptorHelper.getScanConfigIdItems(REGION, CREDENTIALS_ID, appId);
@@ -294,7 +340,7 @@ public class DescriptorHelperTest {
                                                                                   .sorted(Comparator.comparing(ScanConfig::getName))
                                                                                   .collect(Collectors.toList());
 
-        given(searchApi.searchAll(searchRequest, ScanConfig.class)).willReturn(scanConfigs);
+        given(searchApi.searchStream(searchRequest, ScanConfig.class)).willReturn(scanConfigs.stream());
 
         // when
         ListBoxModel items = descriptorHelper.getScanConfigIdItems(REGION, CREDENTIALS_ID, appId);
@@ -309,6 +355,25 @@ public class DescriptorHelperTest {
         Assert.assertEquals(scanConfigs.get(0).getId(), scanConfigs.get(0).getId(), items.get(1).value);
     }
 
+    @Test
+    public void getScanConfigIdItems_cachedPerApp() {
+        // given
+        String appId0 = UUID.randomUUID().toString();
+        String appId1 = UUID.randomUUID().toString();
+
+        mockRefreshSearchApi();
+
+        given(searchApi.searchStream(any(SearchRequest.class), any())).willAnswer(invocation -> Stream.of(aCompleteScanConfig().build()));
+
+        // when
+        descriptorHelper.getScanConfigIdItems(REGION, CREDENTIALS_ID, appId0);
+        descriptorHelper.getScanConfigIdItems(REGION, CREDENTIALS_ID, appId0);
+        descriptorHelper.getScanConfigIdItems(REGION, CREDENTIALS_ID, appId1);
+
+        // then
+        verify(searchApi, times(2)).searchStream(any(SearchRequest.class), any());
+    }
+
     // BUILD ADVANCE INDICATORS
 
     @Test
@@ -443,9 +508,11 @@ public class DescriptorHelperTest {
 
     private void mockRefreshAppApi() {
         given(apiFactory.newAppApi(REGION, CREDENTIALS_ID)).willReturn(appApi);
+        given(appApi.getCredentialsKey()).willReturn(CREDENTIALS_KEY);
     }
 
     private void mockRefreshSearchApi() {
         given(apiFactory.newSearchApi(REGION, CREDENTIALS_ID)).willReturn(searchApi);
+        given(searchApi.getCredentialsKey()).willReturn(CREDENTIALS_KEY);
     }
 }
\ No newline at end of file
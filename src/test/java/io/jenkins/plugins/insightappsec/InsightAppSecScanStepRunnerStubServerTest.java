@@ -0,0 +1,151 @@
+package io.jenkins.plugins.insightappsec;
+
+import io.jenkins.plugins.insightappsec.api.RateLimiter;
+import io.jenkins.plugins.insightappsec.api.app.AppApi;
+import io.jenkins.plugins.insightappsec.api.scan.Scan;
+import io.jenkins.plugins.insightappsec.api.scan.ScanApi;
+import io.jenkins.plugins.insightappsec.api.search.SearchApi;
+import io.jenkins.plugins.insightappsec.exception.APIException;
+import io.jenkins.plugins.insightappsec.exception.ScanFailureException;
+import io.jenkins.plugins.insightappsec.mock.StubInsightAppSecServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static io.jenkins.plugins.insightappsec.api.HttpClientCache.HTTP_CLIENT_CACHE_INSTANCE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the real client stack, i.e. connection pools, pagination and the shared poller, against a stub of the API.
+ */
+public class InsightAppSecScanStepRunnerStubServerTest {
+
+    private static final String SCAN_CONFIG_ID = "scan-config-id";
+    private static final String API_KEY = "api-key";
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Rule
+    public Timeout timeout = Timeout.seconds(60);
+
+    private StubInsightAppSecServer server;
+
+    private ScanApi scanApi;
+    private SearchApi searchApi;
+    private AppApi appApi;
+
+    private InsightAppSecScanStepRunner runner;
+
+    @Before
+    public void setup() throws IOException {
+        server = StubInsightAppSecServer.start();
+
+        String host = server.getBaseUrl();
+        scanApi = new ScanApi(HTTP_CLIENT_CACHE_INSTANCE.getTransport(host), host, API_KEY, RateLimiter.UNLIMITED);
+        searchApi = new SearchApi(HTTP_CLIENT_CACHE_INSTANCE.getTransport(host), host, API_KEY, RateLimiter.UNLIMITED);
+        appApi = new AppApi(HTTP_CLIENT_CACHE_INSTANCE.getTransport(host), host, API_KEY, RateLimiter.UNLIMITED);
+
+        ScanStatusPoller poller = new ScanStatusPoller();
+        poller.setInterval(1);
+
+        runner = new InsightAppSecScanStepRunner(scanApi,
+                                                 searchApi,
+                                                 mock(InsightAppSecLogger.class),
+                                                 mock(ScanDurationHandler.class),
+                                                 poller);
+    }
+
+    @After
+    public void teardown() {
+        server.close();
+    }
+
+    @Test
+    public void run_scanCompleted_pagesThroughResults() throws InterruptedException {
+        // given
+        server.withVulnerabilities(2500, 256);
+
+        // when
+        Optional<ScanResults> scanResults = runner.run(SCAN_CONFIG_ID, BuildAdvanceIndicator.SCAN_COMPLETED, null);
+
+        // then
+        assertTrue(scanResults.isPresent());
+        assertEquals(2500, scanResults.get().getVulnerabilities().size());
+        assertEquals(256, scanResults.get().getVulnerabilities().get(0).getVariances().get(0).getOriginalExchange().getRequest().length());
+        assertNotNull(scanResults.get().getScanExecutionDetails());
+
+        assertEquals(1, server.countRequests("POST", "/ias/v1/scans"));
+        assertTrue(server.countRequests("POST", "/ias/v1/search") > 3);
+    }
+
+    @Test
+    public void run_scanCompleted_countOnly() throws InterruptedException {
+        // given
+        server.withVulnerabilities(1500, 0);
+
+        // when
+        Optional<ScanResults> scanResults = runner.run(SCAN_CONFIG_ID, BuildAdvanceIndicator.SCAN_COMPLETED, null, false);
+
+        // then
+        assertTrue(scanResults.isPresent());
+        assertEquals(1500, scanResults.get().getVulnerabilityCount());
+    }
+
+    @Test
+    public void run_scanStarted() throws InterruptedException {
+        // given
+        server.withLifecycle(2, Scan.ScanStatus.PENDING, Scan.ScanStatus.RUNNING);
+
+        // when
+        Optional<ScanResults> scanResults = runner.run(SCAN_CONFIG_ID, BuildAdvanceIndicator.SCAN_STARTED, null);
+
+        // then
+        assertFalse(scanResults.isPresent());
+        assertTrue(server.getRequests().stream().noneMatch(request -> request.endsWith("/execution-details")));
+    }
+
+    @Test
+    public void run_scanFailed() throws InterruptedException {
+        // given
+        server.withLifecycle(1, Scan.ScanStatus.PENDING, Scan.ScanStatus.FAILED);
+
+        // then
+        exception.expect(ScanFailureException.class);
+
+        // when
+        runner.run(SCAN_CONFIG_ID, BuildAdvanceIndicator.SCAN_COMPLETED, null);
+    }
+
+    @Test
+    public void getApps_pagesThroughApps() {
+        // given
+        server.withApps(250);
+
+        // when
+        int apps = appApi.getApps().size();
+
+        // then
+        assertEquals(250, apps);
+    }
+
+    @Test
+    public void getScan_unknownScan() {
+        // then
+        exception.expect(APIException.class);
+
+        // when
+        scanApi.getScan("unknown");
+    }
+
+}
@@ -1,5 +1,7 @@
 package io.jenkins.plugins.insightappsec;
 
+import io.jenkins.plugins.insightappsec.api.Deadline;
+import io.jenkins.plugins.insightappsec.api.FetchMode;
 import io.jenkins.plugins.insightappsec.api.Identifiable;
 import io.jenkins.plugins.insightappsec.api.scan.Scan;
 import io.jenkins.plugins.insightappsec.api.scan.ScanApi;
@@ -16,16 +18,14 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.powermock.api.mockito.PowerMockito;
-import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static io.jenkins.plugins.insightappsec.api.scan.ScanExecutionDetailsModels.aCompleteScanExecutionDetails;
@@ -35,14 +35,20 @@ import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityMo
 import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest(InsightAppSecScanStepRunner.class)
 public class InsightAppSecScanStepRunnerTest {
 
     @Mock
@@ -57,6 +63,15 @@ public class InsightAppSecScanStepRunnerTest {
     @Mock
     private ScanDurationHandler scanDurationHandler;
 
+    @Mock
+    private ScanStatusPoller scanStatusPoller;
+
+    @Mock
+    private ScanStatusPoller.Subscription subscription;
+
+    @Mock
+    private ScanTimeline timeline;
+
     @Rule
     public ExpectedException exception = ExpectedException.none();
 
@@ -70,7 +85,11 @@ public class InsightAppSecScanStepRunnerTest {
 
     @Before
     public void setup() {
-        PowerMockito.mockStatic(Thread.class);
+        given(scanStatusPoller.subscribe(scanApi, searchApi, scanId)).willReturn(subscription);
+        given(scanDurationHandler.getRemainingScanExecutionDuration()).willReturn(Optional.empty());
+        given(scanApi.withDeadline(any())).willReturn(scanApi);
+        given(scanApi.withRecorder(timeline)).willReturn(scanApi);
+        given(searchApi.withRecorder(timeline)).willReturn(searchApi);
     }
 
     // ADVANCE ON SUBMISSION
@@ -95,7 +114,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
         
-        when(scanApi.getScan(scanId)).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
                                      .thenReturn(scanBuilder.status(Scan.ScanStatus.RUNNING).build());
 
         // when
@@ -108,7 +127,7 @@ public class InsightAppSecScanStepRunnerTest {
         verify(logger, times(1)).log("Scan status has been updated from %s to %s", Scan.ScanStatus.PENDING, Scan.ScanStatus.RUNNING);
         verify(logger, times(1)).log("Desired scan status has been reached");
 
-        verifyThreadSleepInvocations(1);
+        verifyAwaitedPolls(2);
 
         assertFalse(results.isPresent());
     }
@@ -120,7 +139,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
         
-        when(scanApi.getScan(scanId)).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
                                      .thenReturn(scanBuilder.status(Scan.ScanStatus.RUNNING).build())
                                      .thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
 
@@ -138,7 +157,7 @@ public class InsightAppSecScanStepRunnerTest {
         verify(logger, times(1)).log("Scan status has been updated from %s to %s", Scan.ScanStatus.RUNNING, Scan.ScanStatus.COMPLETE);
         verify(logger, times(1)).log("Desired scan status has been reached");
 
-        verifyThreadSleepInvocations(2);
+        verifyAwaitedPolls(3);
 
         assertTrue(results.isPresent());
         Assert.assertEquals(results.get().getScanExecutionDetails(), scanExecutionDetails);
@@ -150,7 +169,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
 
-        when(scanApi.getScan(scanId)).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
                                      .thenReturn(scanBuilder.status(Scan.ScanStatus.RUNNING).build())
                                      .thenReturn(scanBuilder.status(Scan.ScanStatus.CANCELING).build());
 
@@ -169,7 +188,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
 
-        when(scanApi.getScan(scanId)).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
                                      .thenReturn(scanBuilder.status(Scan.ScanStatus.RUNNING).build())
                                      .thenReturn(scanBuilder.status(Scan.ScanStatus.FAILED).build());
 
@@ -192,7 +211,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
 
-        when(scanApi.getScan(scanId)).thenThrow(new APIException())
+        when(subscription.awaitPoll()).thenThrow(new APIException())
                                      .thenReturn(scanBuilder.status(Scan.ScanStatus.RUNNING).build())
                                      .thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
 
@@ -208,7 +227,7 @@ public class InsightAppSecScanStepRunnerTest {
         verify(logger, times(1)).log("Scan status has been updated from %s to %s", Scan.ScanStatus.RUNNING, Scan.ScanStatus.COMPLETE);
         verify(logger, times(1)).log("Desired scan status has been reached");
 
-        verifyThreadSleepInvocations(2);
+        verifyAwaitedPolls(3);
     }
 
     /**
@@ -219,7 +238,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
 
-        when(scanApi.getScan(scanId)).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
                                      .thenThrow(new APIException())
                                      .thenReturn(scanBuilder.status(Scan.ScanStatus.RUNNING).build())
                                      .thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
@@ -238,7 +257,7 @@ public class InsightAppSecScanStepRunnerTest {
         verify(logger, times(1)).log("Scan status has been updated from %s to %s", Scan.ScanStatus.RUNNING, Scan.ScanStatus.COMPLETE);
         verify(logger, times(1)).log("Desired scan status has been reached");
 
-        verifyThreadSleepInvocations(3);
+        verifyAwaitedPolls(4);
     }
 
     /**
@@ -251,7 +270,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
 
-        when(scanApi.getScan(scanId)).thenThrow(new APIException())
+        when(subscription.awaitPoll()).thenThrow(new APIException())
                                      .thenThrow(new APIException())
                                      .thenThrow(new APIException())
                                      .thenThrow(new APIException())
@@ -295,7 +314,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
 
-        when(scanApi.getScan(scanId)).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
                                      .thenThrow(new APIException())
                                      .thenThrow(new APIException())
                                      .thenThrow(new APIException())
@@ -335,7 +354,7 @@ public class InsightAppSecScanStepRunnerTest {
         verify(logger, times(1)).log("Scan status has been updated from %s to %s", Scan.ScanStatus.RUNNING, Scan.ScanStatus.COMPLETE);
         verify(logger, times(1)).log("Desired scan status has been reached");
 
-        verifyThreadSleepInvocations(24);
+        verifyAwaitedPolls(25);
     }
 
     // ADVANCE ON VULNERABILITY QUERY
@@ -345,7 +364,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
 
-        when(scanApi.getScan(scanId)).thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
 
         ScanExecutionDetails scanExecutionDetails = mockGetScanExecutionDetails();
 
@@ -365,7 +384,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
 
-        when(scanApi.getScan(scanId)).thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
 
         ScanExecutionDetails scanExecutionDetails = mockGetScanExecutionDetails();
 
@@ -385,7 +404,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
 
-        when(scanApi.getScan(scanId)).thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
 
         ScanExecutionDetails scanExecutionDetails = mockGetScanExecutionDetails();
         String vulnerabilityQuery = "vulnerability.severity='HIGH'";
@@ -406,7 +425,7 @@ public class InsightAppSecScanStepRunnerTest {
         // given
         mockSubmitScan();
 
-        when(scanApi.getScan(scanId)).thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
 
         ScanExecutionDetails scanExecutionDetails = mockGetScanExecutionDetails();
         String vulnerabilityQuery = "vulnerability.severity='HIGH'";
@@ -422,6 +441,102 @@ public class InsightAppSecScanStepRunnerTest {
         assertEquals(results.get().getVulnerabilities(), vulnerabilities);
     }
 
+    @Test
+    public void run_advanceWithVulnerabilityQuery_vulnerabilitiesNotRetained() throws InterruptedException {
+        // given
+        mockSubmitScan();
+
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
+
+        ScanExecutionDetails scanExecutionDetails = mockGetScanExecutionDetails();
+        String vulnerabilityQuery = "vulnerability.severity='HIGH'";
+
+        SearchRequest searchRequest = aVulnerabilitySearchRequest().query(String.format("vulnerability.scans.id='%s' && %s", scanId, vulnerabilityQuery))
+                                                                   .build();
+        when(searchApi.searchStream(searchRequest, Vulnerability.class, FetchMode.SUMMARY)).thenReturn(Stream.generate(() -> aCompleteVulnerability().build()).limit(10));
+
+        // when
+        Optional<ScanResults> results = runner.run(scanConfigId, BuildAdvanceIndicator.VULNERABILITY_QUERY, vulnerabilityQuery, false);
+
+        // then
+        assertTrue(results.isPresent());
+        Assert.assertEquals(results.get().getScanExecutionDetails(), scanExecutionDetails);
+        assertNull(results.get().getVulnerabilities());
+        assertEquals(10, results.get().getVulnerabilityCount());
+    }
+
+    // DEADLINES
+
+    @Test
+    public void run_submissionBoundedByRemainingScanExecutionDuration() throws InterruptedException {
+        // given
+        long remainingMillis = 60000;
+        given(scanDurationHandler.getRemainingScanExecutionDuration()).willReturn(Optional.of(remainingMillis));
+
+        mockSubmitScan();
+        mockGetScanExecutionDetails();
+        mockGetVulnerabilities();
+
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
+
+        // when
+        runner.run(scanConfigId, BuildAdvanceIndicator.SCAN_COMPLETED, null);
+
+        // then the results are fetched within their request timeouts alone
+        verify(scanApi).withDeadline(argThat(deadline -> deadline.isBounded() && deadline.remainingMillis() <= remainingMillis));
+        verify(searchApi, never()).withDeadline(any());
+    }
+
+    @Test
+    public void run_callsUnboundedOnceScanExecutionDurationExceeded() throws InterruptedException {
+        // given
+        mockSubmitScan();
+        mockGetScanExecutionDetails();
+        mockGetVulnerabilities();
+
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
+
+        // when
+        runner.run(scanConfigId, BuildAdvanceIndicator.SCAN_COMPLETED, null);
+
+        // then
+        verify(scanApi).withDeadline(Deadline.NONE);
+        verify(searchApi, never()).withDeadline(any());
+    }
+
+    // TIMELINE
+
+    @Test
+    public void run_recordsTimeline() throws InterruptedException {
+        // given
+        mockSubmitScan();
+
+        when(subscription.awaitPoll()).thenReturn(scanBuilder.status(Scan.ScanStatus.PENDING).build())
+                                     .thenThrow(new APIException())
+                                     .thenReturn(scanBuilder.status(Scan.ScanStatus.COMPLETE).build());
+
+        mockGetVulnerabilities();
+        mockGetScanExecutionDetails();
+
+        // when
+        runner.run(scanConfigId, BuildAdvanceIndicator.SCAN_COMPLETED, null);
+
+        // then
+        InOrder inOrder = inOrder(timeline);
+        inOrder.verify(timeline).onSubmitted(eq(scanId), anyLong());
+        inOrder.verify(timeline).onPollingStarted();
+        inOrder.verify(timeline).onPoll(Scan.ScanStatus.PENDING);
+        inOrder.verify(timeline).onPoll(null);
+        inOrder.verify(timeline).onPoll(Scan.ScanStatus.COMPLETE);
+        inOrder.verify(timeline).onPollingEnded();
+        inOrder.verify(timeline).onResultsFetched(anyLong());
+
+        // polls are shared, so are not made with the recorded API
+        verify(scanStatusPoller).subscribe(scanApi, searchApi, scanId);
+        verify(scanApi, times(2)).withRecorder(timeline);
+        verify(searchApi).withRecorder(timeline);
+    }
+
     // TEST HELPERS
 
     private void mockSubmitScan() {
@@ -452,14 +567,14 @@ public class InsightAppSecScanStepRunnerTest {
         SearchRequest searchRequest = aVulnerabilitySearchRequest().query(sb.toString()).build();
 
         List<Vulnerability> vulnerabilities = Stream.generate(() -> aCompleteVulnerability().build()).limit(size).collect(toList());
-        when(searchApi.searchAll(searchRequest, Vulnerability.class)).thenReturn(vulnerabilities);
+        when(searchApi.searchAll(searchRequest, Vulnerability.class, FetchMode.LAZY)).thenReturn(vulnerabilities);
 
         return vulnerabilities;
     }
 
-    private void verifyThreadSleepInvocations(int times) throws InterruptedException {
-        PowerMockito.verifyStatic(Thread.class, times(times));
-        Thread.sleep(TimeUnit.SECONDS.toMillis(15));
+    private void verifyAwaitedPolls(int times) throws InterruptedException {
+        verify(subscription, times(times)).awaitPoll();
+        verify(subscription).close();
     }
 
 }
\ No newline at end of file
@@ -20,6 +20,18 @@ public class RegionTest {
         assertEquals(us.getAPIHost(), "us.api.insight.rapid7.com");
     }
 
+    @Test
+    public void getAPIHost_overridden() {
+        System.setProperty(Region.API_BASE_URL_PROPERTY, "http://localhost:8080");
+        try {
+            assertEquals("http://localhost:8080", Region.EU.getAPIHost());
+        } finally {
+            System.clearProperty(Region.API_BASE_URL_PROPERTY);
+        }
+
+        assertEquals("eu.api.insight.rapid7.com", Region.EU.getAPIHost());
+    }
+
     @Test
     public void fromString_notLegit() {
         exception.expect(UnrecognizedRegionException.class);
@@ -14,8 +14,10 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -151,4 +153,65 @@ public class ScanDurationHandlerTest {
         verify(scanApi, times(1)).submitScanAction(scanId, new ScanAction(ScanAction.Action.STOP));
     }
 
+    // REMAINING SCAN EXECUTION
+
+    @Test
+    public void test_getRemainingScanExecutionDuration_noMax() {
+        // given
+        ScanDurationHandler wth = new ScanDurationHandler(BuildAdvanceIndicator.SCAN_COMPLETED, scanApi, logger, null, null, null);
+
+        // when
+        Optional<Long> remaining = wth.getRemainingScanExecutionDuration();
+
+        // then
+        assertEquals(Optional.empty(), remaining);
+    }
+
+    @Test
+    public void test_getRemainingScanExecutionDuration_notYetRunning() {
+        // given
+        ScanDurationHandler wth = new ScanDurationHandler(BuildAdvanceIndicator.SCAN_COMPLETED, scanApi, logger, null, null, 1000L);
+
+        // when
+        Optional<Long> remaining = wth.getRemainingScanExecutionDuration();
+
+        // then
+        assertEquals(Optional.of(1000L), remaining);
+    }
+
+    @Test
+    public void test_getRemainingScanExecutionDuration_running() {
+        // given
+        ScanDurationHandler wth = new ScanDurationHandler(BuildAdvanceIndicator.SCAN_COMPLETED, scanApi, logger, null, null, 1000L);
+
+        PowerMockito.when(System.currentTimeMillis()).thenReturn(0L) // for scan start time init
+                                                     .thenReturn(0L)
+                                                     .thenReturn(400L);
+
+        wth.handleMaxScanExecutionDuration(scanId, Scan.ScanStatus.RUNNING);
+
+        // when
+        Optional<Long> remaining = wth.getRemainingScanExecutionDuration();
+
+        // then
+        assertEquals(Optional.of(600L), remaining);
+    }
+
+    @Test
+    public void test_getRemainingScanExecutionDuration_exceeded() {
+        // given
+        ScanDurationHandler wth = new ScanDurationHandler(BuildAdvanceIndicator.SCAN_COMPLETED, scanApi, logger, null, null, 1000L);
+
+        PowerMockito.when(System.currentTimeMillis()).thenReturn(0L) // for scan start time init
+                                                     .thenReturn(1001L);
+
+        wth.handleMaxScanExecutionDuration(scanId, Scan.ScanStatus.RUNNING);
+
+        // when
+        Optional<Long> remaining = wth.getRemainingScanExecutionDuration();
+
+        // then
+        assertEquals(Optional.empty(), remaining);
+    }
+
 }
@@ -0,0 +1,348 @@
+package io.jenkins.plugins.insightappsec;
+
+import io.jenkins.plugins.insightappsec.api.scan.Scan;
+import io.jenkins.plugins.insightappsec.api.scan.ScanApi;
+import io.jenkins.plugins.insightappsec.api.search.SearchApi;
+import io.jenkins.plugins.insightappsec.api.search.SearchRequest;
+import io.jenkins.plugins.insightappsec.exception.APIException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static io.jenkins.plugins.insightappsec.api.scan.ScanModels.aScan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScanStatusPollerTest {
+
+    private static final String SCAN_ID = "scan-id";
+    private static final String OTHER_SCAN_ID = "other-scan-id";
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    @Mock
+    private ScanApi scanApi;
+
+    @Mock
+    private SearchApi searchApi;
+
+    @Mock
+    private ScanApi otherScanApi;
+
+    @Mock
+    private SearchApi otherSearchApi;
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final List<ScheduledFuture<?>> futures = new ArrayList<>();
+
+    private ScanStatusPoller poller;
+
+    @Before
+    public void setup() {
+        given(scheduler.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS))).willAnswer(invocation -> {
+            ScheduledFuture<?> future = mock(ScheduledFuture.class);
+
+            scheduled.add(invocation.getArgument(0));
+            futures.add(future);
+
+            return future;
+        });
+
+        given(searchApi.getCredentialsKey()).willReturn("us.api.insight.rapid7.com key");
+
+        poller = new ScanStatusPoller(scheduler);
+    }
+
+    @Test
+    public void subscribe_pollsOncePerIntervalForAllSubscribers() throws InterruptedException {
+        // given
+        Scan pending = aScan().status(Scan.ScanStatus.PENDING).build();
+        Scan running = aScan().status(Scan.ScanStatus.RUNNING).build();
+
+        given(scanApi.getScanAsync(SCAN_ID)).willReturn(CompletableFuture.completedFuture(pending))
+                                            .willReturn(CompletableFuture.completedFuture(running));
+
+        // when
+        ScanStatusPoller.Subscription subscription0 = poller.subscribe(scanApi, searchApi, SCAN_ID);
+        ScanStatusPoller.Subscription subscription1 = poller.subscribe(scanApi, searchApi, SCAN_ID);
+
+        runNextPoll();
+        runNextPoll();
+
+        // then
+        assertEquals(Scan.ScanStatus.PENDING, subscription0.awaitPoll().getStatus());
+        assertEquals(Scan.ScanStatus.RUNNING, subscription0.awaitPoll().getStatus());
+        assertEquals(Scan.ScanStatus.PENDING, subscription1.awaitPoll().getStatus());
+        assertEquals(Scan.ScanStatus.RUNNING, subscription1.awaitPoll().getStatus());
+
+        verify(scanApi, times(2)).getScanAsync(SCAN_ID);
+        assertEquals(2, poller.getPolls());
+        assertEquals(1, poller.getTrackedScans());
+    }
+
+    @Test
+    public void subscribe_lateSubscriberGetsLastPoll() throws InterruptedException {
+        // given
+        given(scanApi.getScanAsync(SCAN_ID)).willReturn(CompletableFuture.completedFuture(aScan().status(Scan.ScanStatus.RUNNING).build()));
+
+        poller.subscribe(scanApi, searchApi, SCAN_ID);
+        runNextPoll();
+
+        // when
+        ScanStatusPoller.Subscription subscription = poller.subscribe(scanApi, searchApi, SCAN_ID);
+
+        // then
+        assertEquals(Scan.ScanStatus.RUNNING, subscription.awaitPoll().getStatus());
+        assertEquals(1, poller.getPolls());
+    }
+
+    @Test
+    public void subscribe_failedPollThrownToSubscribers() throws InterruptedException {
+        // given
+        APIException failure = new APIException();
+        CompletableFuture<Scan> scan = new CompletableFuture<>();
+        scan.completeExceptionally(failure);
+
+        given(scanApi.getScanAsync(SCAN_ID)).willReturn(scan);
+
+        ScanStatusPoller.Subscription subscription = poller.subscribe(scanApi, searchApi, SCAN_ID);
+        runNextPoll();
+
+        exception.expect(sameInstance(failure));
+
+        // when
+        subscription.awaitPoll();
+
+        // then
+        // expected exception
+    }
+
+    @Test
+    public void poll_scansSearchedTogether() throws InterruptedException {
+        // given
+        givenPolledTogether();
+
+        given(searchApi.searchAllAsync(scanSearch(), eq(Scan.class))).willReturn(CompletableFuture.completedFuture(Arrays.asList(
+                aScan().id(OTHER_SCAN_ID).status(Scan.ScanStatus.RUNNING).build(),
+                aScan().id(SCAN_ID).status(Scan.ScanStatus.COMPLETE).build())));
+
+        ScanStatusPoller.Subscription subscription0 = poller.subscribe(scanApi, searchApi, SCAN_ID);
+        ScanStatusPoller.Subscription subscription1 = poller.subscribe(scanApi, searchApi, OTHER_SCAN_ID);
+
+        // when
+        runNextPoll();
+
+        // then
+        assertEquals(Scan.ScanStatus.COMPLETE, subscription0.awaitPoll().getStatus());
+        assertEquals(Scan.ScanStatus.RUNNING, subscription1.awaitPoll().getStatus());
+
+        verify(searchApi).searchAllAsync(new SearchRequest(SearchRequest.SearchType.SCAN, "scan.id='scan-id' || scan.id='other-scan-id'"),
+                                         Scan.class);
+        assertEquals(1, poller.getSearches());
+        assertEquals(0, poller.getFallbacks());
+    }
+
+    @Test
+    public void poll_searchFailureFallsBackToPollById() throws InterruptedException {
+        // given
+        givenPolledTogether();
+
+        CompletableFuture<List<Scan>> failedSearch = new CompletableFuture<>();
+        failedSearch.completeExceptionally(new APIException());
+
+        given(searchApi.searchAllAsync(scanSearch(), eq(Scan.class))).willReturn(failedSearch);
+        given(scanApi.getScanAsync(SCAN_ID)).willReturn(CompletableFuture.completedFuture(aScan().id(SCAN_ID).status(Scan.ScanStatus.COMPLETE).build()));
+
+        ScanStatusPoller.Subscription subscription0 = poller.subscribe(scanApi, searchApi, SCAN_ID);
+        ScanStatusPoller.Subscription subscription1 = poller.subscribe(scanApi, searchApi, OTHER_SCAN_ID);
+
+        // when
+        runNextPoll();
+
+        // then
+        assertEquals(Scan.ScanStatus.COMPLETE, subscription0.awaitPoll().getStatus());
+        assertEquals(Scan.ScanStatus.RUNNING, subscription1.awaitPoll().getStatus());
+        assertEquals(2, poller.getFallbacks());
+    }
+
+    @Test
+    public void poll_scanMissingFromSearchPolledById() throws InterruptedException {
+        // given
+        givenPolledTogether();
+
+        given(searchApi.searchAllAsync(scanSearch(), eq(Scan.class))).willReturn(CompletableFuture.completedFuture(Collections.singletonList(
+                aScan().id(OTHER_SCAN_ID).status(Scan.ScanStatus.RUNNING).build())));
+        given(scanApi.getScanAsync(SCAN_ID)).willReturn(CompletableFuture.completedFuture(aScan().id(SCAN_ID).status(Scan.ScanStatus.COMPLETE).build()));
+
+        ScanStatusPoller.Subscription subscription = poller.subscribe(scanApi, searchApi, SCAN_ID);
+        poller.subscribe(scanApi, searchApi, OTHER_SCAN_ID);
+
+        // when
+        runNextPoll();
+
+        // then
+        assertEquals(Scan.ScanStatus.COMPLETE, subscription.awaitPoll().getStatus());
+        assertEquals(1, poller.getFallbacks());
+        verify(scanApi, times(1)).getScanAsync(OTHER_SCAN_ID); // only for its first outcome
+    }
+
+    @Test
+    public void poll_scanSharedOnlyWithinCredentials() throws InterruptedException {
+        // given
+        givenPolledTogether();
+
+        given(otherSearchApi.getCredentialsKey()).willReturn("us.api.insight.rapid7.com other-key");
+        given(searchApi.searchAllAsync(scanSearch(), eq(Scan.class))).willReturn(CompletableFuture.completedFuture(Arrays.asList(
+                aScan().id(OTHER_SCAN_ID).status(Scan.ScanStatus.RUNNING).build(),
+                aScan().id(SCAN_ID).status(Scan.ScanStatus.COMPLETE).build())));
+        given(otherScanApi.getScanAsync(SCAN_ID)).willReturn(CompletableFuture.completedFuture(aScan().id(SCAN_ID).status(Scan.ScanStatus.FAILED).build()));
+
+        ScanStatusPoller.Subscription subscription0 = poller.subscribe(scanApi, searchApi, SCAN_ID);
+        poller.subscribe(scanApi, searchApi, OTHER_SCAN_ID);
+        ScanStatusPoller.Subscription subscription1 = poller.subscribe(otherScanApi, otherSearchApi, SCAN_ID);
+
+        // when
+        runNextPoll();
+        runNextPoll();
+
+        // then
+        assertEquals(Scan.ScanStatus.COMPLETE, subscription0.awaitPoll().getStatus());
+        assertEquals(Scan.ScanStatus.FAILED, subscription1.awaitPoll().getStatus());
+        assertEquals(3, poller.getTrackedScans());
+
+        verify(scanApi, never()).getScanAsync(SCAN_ID);
+        verify(otherSearchApi, never()).searchAllAsync(any(SearchRequest.class), eq(Scan.class));
+    }
+
+    @Test
+    public void close_lastSubscriberStopsPolling() {
+        // given
+        ScanStatusPoller.Subscription subscription0 = poller.subscribe(scanApi, searchApi, SCAN_ID);
+        ScanStatusPoller.Subscription subscription1 = poller.subscribe(scanApi, searchApi, SCAN_ID);
+
+        // when
+        subscription0.close();
+
+        // then
+        verify(futures.get(0), never()).cancel(false);
+        assertEquals(1, poller.getTrackedScans());
+
+        // when
+        subscription1.close();
+
+        // then
+        verify(futures.get(0)).cancel(false);
+        assertEquals(0, poller.getTrackedScans());
+    }
+
+    @Test
+    public void close_pollInFlightNotRescheduled() {
+        // given
+        CompletableFuture<Scan> scan = new CompletableFuture<>();
+        given(scanApi.getScanAsync(SCAN_ID)).willReturn(scan);
+
+        ScanStatusPoller.Subscription subscription = poller.subscribe(scanApi, searchApi, SCAN_ID);
+        runNextPoll();
+
+        // when
+        subscription.close();
+        scan.complete(aScan().status(Scan.ScanStatus.RUNNING).build());
+
+        // then the poll's timeout is cancelled, and nothing else is scheduled
+        verify(futures.get(1)).cancel(false);
+        assertEquals(1, scheduled.size());
+    }
+
+    @Test
+    public void poll_hungPollRescheduledAfterTimeout() {
+        // given
+        given(scanApi.getScanAsync(SCAN_ID)).willReturn(new CompletableFuture<>());
+
+        poller.subscribe(scanApi, searchApi, SCAN_ID);
+        runNextPoll();
+
+        // when the poll times out
+        runNextPoll();
+
+        // then
+        assertEquals(1, scheduled.size());
+        verify(scheduler).schedule(any(Runnable.class), eq(15000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void awaitPoll_timesOutWithoutPoll() throws InterruptedException {
+        // given
+        poller = spy(poller);
+        doReturn(1L).when(poller).awaitTimeoutMillis();
+
+        ScanStatusPoller.Subscription subscription = poller.subscribe(scanApi, searchApi, SCAN_ID);
+
+        // then
+        exception.expect(APIException.class);
+        exception.expectMessage(SCAN_ID);
+
+        // when
+        subscription.awaitPoll();
+    }
+
+    @Test
+    public void setInterval_atLeastOneSecond() {
+        // given
+        given(scanApi.getScanAsync(SCAN_ID)).willReturn(CompletableFuture.completedFuture(aScan().build()));
+        poller.setInterval(0);
+
+        // when
+        poller.subscribe(scanApi, searchApi, SCAN_ID);
+        runNextPoll();
+
+        // then
+        verify(scheduler).schedule(any(Runnable.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    // TEST HELPERS
+
+    /**
+     * A scan joining a group already polled is polled by ID for its first outcome, then with the group.
+     */
+    private void givenPolledTogether() {
+        given(scanApi.getScanAsync(OTHER_SCAN_ID)).willReturn(CompletableFuture.completedFuture(aScan().id(OTHER_SCAN_ID).status(Scan.ScanStatus.RUNNING).build()));
+    }
+
+    private static SearchRequest scanSearch() {
+        return argThat(searchRequest -> searchRequest.getType() == SearchRequest.SearchType.SCAN);
+    }
+
+    private void runNextPoll() {
+        scheduled.remove(0).run();
+    }
+
+}
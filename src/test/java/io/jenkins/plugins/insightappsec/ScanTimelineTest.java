@@ -0,0 +1,109 @@
+package io.jenkins.plugins.insightappsec;
+
+import io.jenkins.plugins.insightappsec.api.scan.Scan;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class ScanTimelineTest {
+
+    private final AtomicLong now = new AtomicLong(1000);
+
+    private final ScanTimeline timeline = new ScanTimeline(now::get);
+
+    @Test
+    public void onSubmitted() {
+        // given
+        long startedAt = timeline.now();
+
+        // when
+        now.addAndGet(250);
+        timeline.onSubmitted("scan-id", startedAt);
+
+        // then
+        assertEquals("scan-id", timeline.getScanId());
+        assertEquals(250, timeline.getSubmitMillis());
+    }
+
+    @Test
+    public void onPoll_timePerStatus() {
+        // given
+        timeline.onPollingStarted();
+
+        // when
+        now.addAndGet(100);
+        timeline.onPoll(Scan.ScanStatus.PENDING);
+        now.addAndGet(100);
+        timeline.onPoll(Scan.ScanStatus.PENDING);
+        now.addAndGet(50);
+        timeline.onPoll(null);
+        now.addAndGet(50);
+        timeline.onPoll(Scan.ScanStatus.RUNNING);
+        now.addAndGet(1000);
+        timeline.onPoll(Scan.ScanStatus.COMPLETE);
+        timeline.onPollingEnded();
+
+        // then
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("PENDING", 300L);
+        expected.put("RUNNING", 1000L);
+        expected.put("COMPLETE", 0L);
+
+        assertEquals(expected, timeline.getStatusMillis());
+        assertEquals(5, timeline.getPolls());
+        assertEquals(1, timeline.getFailedPolls());
+    }
+
+    @Test
+    public void getStatusMillis_includesCurrentStatus() {
+        // given
+        timeline.onPollingStarted();
+        timeline.onPoll(Scan.ScanStatus.RUNNING);
+
+        // when
+        now.addAndGet(500);
+
+        // then
+        assertEquals(Long.valueOf(500), timeline.getStatusMillis().get("RUNNING"));
+    }
+
+    @Test
+    public void onCompleted() {
+        // given
+        long startedAt = timeline.now();
+        now.addAndGet(100);
+        timeline.onResultsFetched(startedAt);
+
+        // when
+        now.addAndGet(100);
+        timeline.onCompleted();
+
+        // then
+        assertEquals(100, timeline.getResultsMillis());
+        assertEquals(200, timeline.getTotalMillis());
+    }
+
+    @Test
+    public void apiCalls() {
+        // when
+        timeline.onResponse("GET /scans/{id}", 200, 0);
+        timeline.onResponse("POST /search", 503, 0);
+        timeline.onRetry("POST /search");
+        timeline.onResponse("POST /search", 200, 0);
+        timeline.onResponseBytes("POST /search", 1024);
+        timeline.onPage("key", 100);
+        timeline.onFailure("GET /scans/{id}", 0);
+
+        // then
+        assertEquals(4, timeline.getCalls());
+        assertEquals(1, timeline.getErrors());
+        assertEquals(1, timeline.getRetries());
+        assertEquals(1, timeline.getPages());
+        assertEquals(1024, timeline.getResponseBytes());
+    }
+
+}
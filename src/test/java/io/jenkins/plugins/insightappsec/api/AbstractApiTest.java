@@ -3,6 +3,8 @@ package io.jenkins.plugins.insightappsec.api;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.jenkins.plugins.insightappsec.MappingConfiguration;
 import io.jenkins.plugins.insightappsec.exception.APIException;
+import io.jenkins.plugins.insightappsec.exception.CircuitOpenException;
+import io.jenkins.plugins.insightappsec.exception.DeadlineExceededException;
 import io.jenkins.plugins.insightappsec.mock.MockHttpResponse;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,9 +19,17 @@ import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
+import org.apache.http.impl.execchain.RequestAbortedException;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -28,22 +38,43 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
-
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static io.jenkins.plugins.insightappsec.api.ApiMetrics.API_METRICS_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.PageSizeTuner.PAGE_SIZE_TUNER_INSTANCE;
 import static io.jenkins.plugins.insightappsec.api.search.PageModels.aMetadata;
+import static io.jenkins.plugins.insightappsec.api.RequestTimeouts.REQUEST_TIMEOUTS_INSTANCE;
 import static io.jenkins.plugins.insightappsec.api.search.PageModels.aPageOf;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.isA;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -57,12 +88,18 @@ public class AbstractApiTest {
     private static final String PATH = "/test";
     private static final String ID = UUID.randomUUID().toString();
 
+    private static final CircuitBreaker DISABLED_CIRCUIT_BREAKER = new CircuitBreaker(HOST, 0, 0);
+    private static final RetryPolicy RETRY_TWICE = (attempt, failure, previousDelay) -> attempt <= 2 ? 0 : -1;
+
     @Rule
     public ExpectedException exception = ExpectedException.none();
 
     @Mock
     private HttpClient client;
 
+    @Mock
+    private HttpAsyncClient asyncClient;
+
     @InjectMocks
     private TestApi testApi;
 
@@ -119,12 +156,27 @@ public class AbstractApiTest {
         // expected exception
     }
 
+    @Test
+    public void post_responseReleased() throws IOException {
+        // given
+        HttpResponse response = MockHttpResponse.create(201, locationHeader());
+        InputStream content = givenUnreadContent(response);
+
+        given(client.execute(any(HttpPost.class))).willReturn(response);
+
+        // when
+        testApi.post(PATH, BODY);
+
+        // then
+        verify(content).close();
+    }
+
     @Test
     public void postForAll_singlePage() throws IOException {
         // given
         Page<Body> page0 = aPageOf(() -> BODY, 50).metadata(aMetadata().index(0).totalPages(1).build()).build();
 
-        given(client.execute(argThat((req) -> "size=1000&index=0".equals(req.getURI().getQuery()))))
+        given(client.execute(argThat((req) -> isPage(req, 0))))
                 .willReturn(MockHttpResponse.create(200, page0));
 
         // when
@@ -141,9 +193,9 @@ public class AbstractApiTest {
         Page<Body> page1 = aPageOf(() -> BODY, 50).metadata(aMetadata().index(1).totalPages(3).build()).build();
         Page<Body> page2 = aPageOf(() -> BODY, 10).metadata(aMetadata().index(2).totalPages(3).build()).build();
 
-        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> "size=1000&index=0".equals(req.getURI().getQuery())));
-        doReturn(MockHttpResponse.create(200, page1)).when(client).execute(argThat((req) -> "size=1000&index=1".equals(req.getURI().getQuery())));
-        doReturn(MockHttpResponse.create(200, page2)).when(client).execute(argThat((req) -> "size=1000&index=2".equals(req.getURI().getQuery())));
+        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> isPage(req, 0)));
+        doReturn(MockHttpResponse.create(200, page1)).when(client).execute(argThat((req) -> isPage(req, 1)));
+        doReturn(MockHttpResponse.create(200, page2)).when(client).execute(argThat((req) -> isPage(req, 2)));
 
         // when
         List<Body> allResults = testApi.postForAll(PATH, Body.class, BODY);
@@ -156,12 +208,30 @@ public class AbstractApiTest {
         assertEquals(expected, allResults);
     }
 
+    @Test
+    public void postForAll_multiPage_pageFails() throws IOException {
+        // given
+        Page<Body> page0 = aPageOf(() -> BODY, 50).metadata(aMetadata().index(0).totalPages(2).build()).build();
+
+        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> isPage(req, 0)));
+        doReturn(MockHttpResponse.create(500)).when(client).execute(argThat((req) -> isPage(req, 1)));
+
+        exception.expect(APIException.class);
+        exception.expectMessage(format("Error occurred during retrieval of page of [%s]", Body.class.getSimpleName()));
+
+        // when
+        testApi.postForAll(PATH, Body.class, BODY);
+
+        // then
+        // expected exception
+    }
+
     @Test
     public void postForAll_zeroResults() throws IOException {
         // given
         Page<Body> page0 = aPageOf(() -> BODY, 0).metadata(aMetadata().index(0).totalPages(0).build()).build();
 
-        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> "size=1000&index=0".equals(req.getURI().getQuery())));
+        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> isPage(req, 0)));
 
         // when
         List<Body> allResults = testApi.postForAll(PATH, Body.class, BODY);
@@ -172,6 +242,77 @@ public class AbstractApiTest {
         assertEquals(expected, allResults);
     }
 
+    @Test
+    public void postForStream_multiPage() throws IOException {
+        // given
+        Page<Body> page0 = aPageOf(() -> BODY, 50).metadata(aMetadata().index(0).totalPages(3).build()).build();
+        Page<Body> page1 = aPageOf(() -> BODY, 50).metadata(aMetadata().index(1).totalPages(3).build()).build();
+        Page<Body> page2 = aPageOf(() -> BODY, 10).metadata(aMetadata().index(2).totalPages(3).build()).build();
+
+        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> isPage(req, 0)));
+        doReturn(MockHttpResponse.create(200, page1)).when(client).execute(argThat((req) -> isPage(req, 1)));
+        doReturn(MockHttpResponse.create(200, page2)).when(client).execute(argThat((req) -> isPage(req, 2)));
+
+        // when
+        List<Body> allResults;
+        try (Stream<Body> stream = testApi.postForStream(PATH, Body.class, BODY)) {
+            allResults = stream.collect(toList());
+        }
+
+        // then
+        List<Body> expected = new ArrayList<>(page0.getData());
+        expected.addAll(page1.getData());
+        expected.addAll(page2.getData());
+
+        assertEquals(expected, allResults);
+    }
+
+    @Test
+    public void postForStream_lazy() throws IOException {
+        // when
+        testApi.postForStream(PATH, Body.class, BODY).close();
+
+        // then
+        verify(client, never()).execute(any());
+    }
+
+    @Test
+    public void postForStream_zeroResults() throws IOException {
+        // given
+        Page<Body> page0 = aPageOf(() -> BODY, 0).metadata(aMetadata().index(0).totalPages(0).build()).build();
+
+        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> isPage(req, 0)));
+
+        // when
+        long count;
+        try (Stream<Body> stream = testApi.postForStream(PATH, Body.class, BODY)) {
+            count = stream.count();
+        }
+
+        // then
+        assertEquals(0, count);
+    }
+
+    @Test
+    public void postForStream_pageFails() throws IOException {
+        // given
+        Page<Body> page0 = aPageOf(() -> BODY, 50).metadata(aMetadata().index(0).totalPages(2).build()).build();
+
+        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> isPage(req, 0)));
+        doReturn(MockHttpResponse.create(500)).when(client).execute(argThat((req) -> isPage(req, 1)));
+
+        exception.expect(APIException.class);
+        exception.expectMessage(format("Error occurred during retrieval of page of [%s]", Body.class.getSimpleName()));
+
+        // when
+        try (Stream<Body> stream = testApi.postForStream(PATH, Body.class, BODY)) {
+            stream.count();
+        }
+
+        // then
+        // expected exception
+    }
+
     // PUT
 
     @Test
@@ -240,6 +381,61 @@ public class AbstractApiTest {
         verifyRequestAttributes();
     }
 
+    @Test
+    public void getById_acceptsCompression() throws IOException {
+        // given
+        HttpResponse response = MockHttpResponse.create(200, BODY);
+        given(client.execute(any(HttpGet.class))).willReturn(response);
+
+        // when
+        testApi.getById(PATH, ID, Body.class);
+
+        // then
+        verify(client).execute(argThat((req) -> "gzip, deflate".equals(req.getFirstHeader(HttpHeaders.ACCEPT_ENCODING).getValue())));
+    }
+
+    @Test
+    public void getById_gzipResponse() throws IOException {
+        // given
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            MappingConfiguration.OBJECT_MAPPER_INSTANCE.writeValue(out, BODY);
+        }
+
+        HttpResponse response = MockHttpResponse.create(200, header(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        response.setEntity(new ByteArrayEntity(gzipped.toByteArray()));
+        given(client.execute(any(HttpGet.class))).willReturn(response);
+
+        // when
+        Body body = testApi.getById(PATH, ID, Body.class);
+
+        // then
+        assertEquals(BODY, body);
+    }
+
+    @Test
+    public void getById_notModified() throws IOException {
+        // given
+        String path = "/test/" + UUID.randomUUID(); // isolated from other tests by the controller-wide cache
+
+        HttpResponse response = MockHttpResponse.create(200, BODY);
+        response.setHeader(HttpHeaders.ETAG, "\"v1\"");
+
+        given(client.execute(any(HttpGet.class))).willReturn(response, MockHttpResponse.create(304));
+
+        // when
+        Body body0 = testApi.getById(path, ID, Body.class);
+        Body body1 = testApi.getById(path, ID, Body.class);
+
+        // then
+        assertEquals(BODY, body0);
+        assertSame(body0, body1);
+
+        verify(client).execute(argThat((req) -> req.getFirstHeader(HttpHeaders.IF_NONE_MATCH) == null));
+        verify(client).execute(argThat((req) -> req.getFirstHeader(HttpHeaders.IF_NONE_MATCH) != null &&
+                                                "\"v1\"".equals(req.getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue())));
+    }
+
     @Test
     public void getById_non200Response() throws IOException {
         // given
@@ -260,6 +456,44 @@ public class AbstractApiTest {
         // excepted exception
     }
 
+    @Test
+    public void getById_non200Response_responseReleased() throws IOException {
+        // given
+        HttpResponse response = MockHttpResponse.create(500);
+        InputStream content = givenUnreadContent(response);
+
+        given(client.execute(any(HttpGet.class))).willReturn(response);
+
+        // when
+        try {
+            testApi.getById(PATH, ID, Body.class);
+        } catch (APIException e) {
+            // expected
+        }
+
+        // then
+        verify(content).close();
+    }
+
+    @Test
+    public void getByIdAsync_non200Response_responseReleased() throws IOException {
+        // given
+        HttpResponse response = MockHttpResponse.create(500);
+        InputStream content = givenUnreadContent(response);
+
+        givenAsyncResponse(request -> response);
+
+        // when
+        try {
+            testApi.getByIdAsync(PATH, ID, Body.class).join();
+        } catch (CompletionException e) {
+            // expected
+        }
+
+        // then
+        verify(content).close();
+    }
+
     @Test
     public void getById_error() throws IOException {
         // given
@@ -282,7 +516,7 @@ public class AbstractApiTest {
         // given
         Page<Body> page0 = aPageOf(() -> BODY, 50).metadata(aMetadata().index(0).totalPages(1).build()).build();
 
-        given(client.execute(argThat((req) -> "size=1000&index=0".equals(req.getURI().getQuery()))))
+        given(client.execute(argThat((req) -> isPage(req, 0))))
               .willReturn(MockHttpResponse.create(200, page0));
 
         // when
@@ -299,9 +533,9 @@ public class AbstractApiTest {
         Page<Body> page1 = aPageOf(() -> BODY, 50).metadata(aMetadata().index(1).totalPages(3).build()).build();
         Page<Body> page2 = aPageOf(() -> BODY, 10).metadata(aMetadata().index(2).totalPages(3).build()).build();
 
-        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> "size=1000&index=0".equals(req.getURI().getQuery())));
-        doReturn(MockHttpResponse.create(200, page1)).when(client).execute(argThat((req) -> "size=1000&index=1".equals(req.getURI().getQuery())));
-        doReturn(MockHttpResponse.create(200, page2)).when(client).execute(argThat((req) -> "size=1000&index=2".equals(req.getURI().getQuery())));
+        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> isPage(req, 0)));
+        doReturn(MockHttpResponse.create(200, page1)).when(client).execute(argThat((req) -> isPage(req, 1)));
+        doReturn(MockHttpResponse.create(200, page2)).when(client).execute(argThat((req) -> isPage(req, 2)));
 
         // when
         List<Body> allResults = testApi.getForAll(PATH, Body.class);
@@ -319,7 +553,7 @@ public class AbstractApiTest {
         // given
         Page<Body> page0 = aPageOf(() -> BODY, 0).metadata(aMetadata().index(0).totalPages(0).build()).build();
 
-        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> "size=1000&index=0".equals(req.getURI().getQuery())));
+        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> isPage(req, 0)));
 
         // when
         List<Body> allResults = testApi.getForAll(PATH, Body.class);
@@ -330,8 +564,573 @@ public class AbstractApiTest {
         assertEquals(expected, allResults);
     }
 
+    // RETRY
+
+    @Test
+    public void getById_retriesTransientFailure() throws IOException {
+        // given
+        AbstractApi retryingApi = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, DISABLED_CIRCUIT_BREAKER, RETRY_TWICE);
+
+        given(client.execute(any(HttpGet.class))).willReturn(MockHttpResponse.create(503),
+                                                              MockHttpResponse.create(503),
+                                                              MockHttpResponse.create(200, BODY));
+
+        // when
+        Body body = retryingApi.getById(PATH, ID, Body.class);
+
+        // then
+        assertEquals(BODY, body);
+
+        verify(client, times(3)).execute(any(HttpGet.class));
+    }
+
+    @Test
+    public void getById_retriesExhausted() throws IOException {
+        // given
+        AbstractApi retryingApi = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, DISABLED_CIRCUIT_BREAKER, RETRY_TWICE);
+
+        HttpResponse response = MockHttpResponse.create(503);
+        given(client.execute(any(HttpGet.class))).willReturn(response);
+
+        exception.expect(APIException.class);
+        exception.expectMessage(format("Error occurred during GET for [%s] with id [%s]", Body.class.getSimpleName(), ID));
+
+        // when
+        try {
+            retryingApi.getById(PATH, ID, Body.class);
+        } finally {
+            verify(client, times(3)).execute(any(HttpGet.class));
+        }
+
+        // then
+        // expected exception
+    }
+
+    @Test
+    public void postForAll_retriesOnlyFailedPage() throws IOException {
+        // given
+        AbstractApi retryingApi = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, DISABLED_CIRCUIT_BREAKER, RETRY_TWICE);
+
+        Page<Body> page0 = aPageOf(() -> BODY, 50).metadata(aMetadata().index(0).totalPages(2).build()).build();
+        Page<Body> page1 = aPageOf(() -> BODY, 10).metadata(aMetadata().index(1).totalPages(2).build()).build();
+
+        doReturn(MockHttpResponse.create(200, page0)).when(client).execute(argThat((req) -> isPage(req, 0)));
+        doReturn(MockHttpResponse.create(502), MockHttpResponse.create(200, page1)).when(client).execute(argThat((req) -> isPage(req, 1)));
+
+        // when
+        List<Body> allResults = retryingApi.postForAll(PATH, Body.class, BODY);
+
+        // then
+        assertEquals(60, allResults.size());
+
+        verify(client, times(1)).execute(argThat((req) -> isPage(req, 0)));
+        verify(client, times(2)).execute(argThat((req) -> isPage(req, 1)));
+    }
+
+    @Test
+    public void post_notRetried() throws IOException {
+        // given
+        AbstractApi retryingApi = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, DISABLED_CIRCUIT_BREAKER, RETRY_TWICE);
+
+        given(client.execute(any(HttpPost.class))).willReturn(MockHttpResponse.create(503));
+
+        exception.expect(APIException.class);
+
+        // when
+        try {
+            retryingApi.post(PATH, BODY);
+        } finally {
+            verify(client, times(1)).execute(any(HttpPost.class));
+        }
+
+        // then
+        // expected exception
+    }
+
+    @Test
+    public void getByIdAsync_retriesTransientFailure() throws IOException {
+        // given
+        AbstractApi retryingApi = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, DISABLED_CIRCUIT_BREAKER, RETRY_TWICE);
+
+        Iterator<HttpResponse> responses = Arrays.<HttpResponse>asList(MockHttpResponse.create(503),
+                                                                       MockHttpResponse.create(200, BODY)).iterator();
+        givenAsyncResponse(req -> responses.next());
+
+        // when
+        Body body = retryingApi.getByIdAsync(PATH, ID, Body.class).join();
+
+        // then
+        assertEquals(BODY, body);
+
+        verify(asyncClient, times(2)).execute(any(HttpGet.class), any());
+    }
+
+    // CIRCUIT BREAKER
+
+    @Test
+    public void getById_circuitOpen() throws IOException {
+        // given
+        AbstractApi api = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, new CircuitBreaker(HOST, 1, 60000), RetryPolicy.NEVER);
+
+        given(client.execute(any(HttpGet.class))).willReturn(MockHttpResponse.create(500));
+
+        exception.expect(CircuitOpenException.class);
+
+        // when
+        try {
+            api.getById(PATH, ID, Body.class);
+        } catch (APIException e) {
+            api.getById(PATH, ID, Body.class);
+        } finally {
+            verify(client, times(1)).execute(any(HttpGet.class));
+        }
+
+        // then
+        // expected exception
+    }
+
+    @Test
+    public void getById_clientErrorKeepsCircuitClosed() throws IOException {
+        // given
+        CircuitBreaker circuitBreaker = new CircuitBreaker(HOST, 1, 60000);
+        AbstractApi api = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, circuitBreaker, RetryPolicy.NEVER);
+
+        given(client.execute(any(HttpGet.class))).willReturn(MockHttpResponse.create(404));
+
+        // when
+        try {
+            api.getById(PATH, ID, Body.class);
+        } catch (APIException e) {
+            // expected
+        }
+
+        // then
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void getByIdAsync_connectionFailureOpensCircuit() {
+        // given
+        CircuitBreaker circuitBreaker = new CircuitBreaker(HOST, 1, 60000);
+        AbstractApi api = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, circuitBreaker, RetryPolicy.NEVER);
+
+        given(asyncClient.execute(any(HttpGet.class), any())).willAnswer(invocation -> {
+            invocation.<FutureCallback<HttpResponse>>getArgument(1).failed(new IOException());
+            return null;
+        });
+
+        // when
+        api.getByIdAsync(PATH, ID, Body.class).exceptionally(e -> null).join();
+
+        // then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void getByIdAsync_abortedAtDeadlineKeepsCircuitClosed() {
+        // given
+        CircuitBreaker circuitBreaker = new CircuitBreaker(HOST, 1, 60000);
+        AbstractApi api = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, circuitBreaker, RetryPolicy.NEVER);
+        AbstractApi boundedApi = new BoundedTestApi(api, Deadline.after(100));
+
+        given(asyncClient.execute(any(HttpGet.class), any())).willAnswer(invocation -> {
+            FutureCallback<HttpResponse> callback = invocation.getArgument(1);
+            Future<HttpResponse> exchange = mock(Future.class);
+            given(exchange.cancel(true)).willAnswer(cancel -> {
+                callback.failed(new RequestAbortedException("Request aborted"));
+                return true;
+            });
+            return exchange;
+        });
+
+        // when
+        boundedApi.getByIdAsync(PATH, ID, Body.class).exceptionally(e -> null).join();
+
+        // then
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    // TIMEOUTS
+
+    @Test
+    public void getById_timesOutAsRequestType() throws IOException {
+        // given
+        given(client.execute(any(HttpGet.class))).willReturn(MockHttpResponse.create(200, BODY));
+
+        // when
+        testApi.getById(PATH, ID, Body.class, RequestTimeouts.RequestType.POLL);
+
+        // then
+        int pollTimeout = REQUEST_TIMEOUTS_INSTANCE.getTimeout(RequestTimeouts.RequestType.POLL);
+        verify(client).execute(argThat(req -> ((HttpRequestBase) req).getConfig().getSocketTimeout() == pollTimeout));
+    }
+
+    @Test
+    public void postForAll_timesOutAsSearch() throws IOException {
+        // given
+        Page<Body> page0 = aPageOf(() -> BODY, 1).metadata(aMetadata().index(0).totalPages(1).build()).build();
+        given(client.execute(any(HttpPost.class))).willReturn(MockHttpResponse.create(200, page0));
+
+        // when
+        testApi.postForAll(PATH, Body.class, BODY);
+
+        // then
+        int searchTimeout = REQUEST_TIMEOUTS_INSTANCE.getTimeout(RequestTimeouts.RequestType.SEARCH);
+        verify(client).execute(argThat(req -> ((HttpRequestBase) req).getConfig().getSocketTimeout() == searchTimeout));
+    }
+
+    @Test
+    public void getById_deadlineBoundsTimeouts() throws IOException {
+        // given
+        AbstractApi boundedApi = new BoundedTestApi(testApi, Deadline.after(1000));
+
+        given(client.execute(any(HttpGet.class))).willReturn(MockHttpResponse.create(200, BODY));
+
+        // when
+        boundedApi.getById(PATH, ID, Body.class);
+
+        // then
+        verify(client).execute(argThat(req -> ((HttpRequestBase) req).getConfig().getSocketTimeout() <= 1000 &&
+                                              ((HttpRequestBase) req).getConfig().getConnectTimeout() <= 1000));
+    }
+
+    @Test
+    public void getById_deadlinePassed() throws IOException {
+        // given
+        AbstractApi boundedApi = new BoundedTestApi(testApi, Deadline.at(System.currentTimeMillis() - 1));
+
+        exception.expect(DeadlineExceededException.class);
+
+        // when
+        try {
+            boundedApi.getById(PATH, ID, Body.class);
+        } finally {
+            verify(client, never()).execute(any(HttpUriRequest.class));
+        }
+
+        // then
+        // expected exception
+    }
+
+    @Test
+    public void getByIdAsync_deadlinePassed() {
+        // given
+        AbstractApi boundedApi = new BoundedTestApi(testApi, Deadline.at(System.currentTimeMillis() - 1));
+
+        exception.expect(CompletionException.class);
+        exception.expectCause(isA(DeadlineExceededException.class));
+
+        // when
+        try {
+            boundedApi.getByIdAsync(PATH, ID, Body.class).join();
+        } finally {
+            verify(asyncClient, never()).execute(any(HttpUriRequest.class), any());
+        }
+
+        // then
+        // expected exception
+    }
+
+    @Test
+    public void getById_retryNotAttemptedPastDeadline() throws IOException {
+        // given
+        RetryPolicy retryAfterFiveSeconds = (attempt, failure, previousDelay) -> 5000;
+        AbstractApi retryingApi = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, DISABLED_CIRCUIT_BREAKER, retryAfterFiveSeconds);
+        AbstractApi boundedApi = new BoundedTestApi(retryingApi, Deadline.after(1000));
+
+        given(client.execute(any(HttpGet.class))).willReturn(MockHttpResponse.create(503));
+
+        exception.expect(APIException.class);
+
+        // when
+        try {
+            boundedApi.getById(PATH, ID, Body.class);
+        } finally {
+            verify(client, times(1)).execute(any(HttpGet.class));
+        }
+
+        // then
+        // expected exception
+    }
+
+    // PAGE SIZE
+
+    @Test
+    public void postForAll_rateLimitWaitNotTimed() throws IOException {
+        // given
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        willAnswer(invocation -> {
+            Thread.sleep(400);
+            return null;
+        }).given(rateLimiter).acquire();
+        AbstractApi rateLimitedApi = new ConfiguredTestApi(client, asyncClient, rateLimiter, DISABLED_CIRCUIT_BREAKER, RetryPolicy.NEVER);
+
+        given(client.execute(any(HttpPost.class))).willReturn(MockHttpResponse.create(200, aPageOfMax()));
+
+        // when
+        int pageSize = retrieveTuned(() -> rateLimitedApi.postForAll("/rate-limited", Body.class, BODY), "/rate-limited");
+
+        // then
+        assertEquals(PageSizeTuner.MAX_PAGE_SIZE, pageSize);
+    }
+
+    @Test
+    public void getForAll_retryDelayNotTimed() throws IOException {
+        // given
+        RetryPolicy retryAfterDelay = (attempt, failure, previousDelay) -> attempt <= 1 ? 400 : -1;
+        AbstractApi retryingApi = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, DISABLED_CIRCUIT_BREAKER, retryAfterDelay);
+
+        given(client.execute(any(HttpGet.class))).willReturn(MockHttpResponse.create(503),
+                                                              MockHttpResponse.create(200, aPageOfMax()));
+
+        // when
+        int pageSize = retrieveTuned(() -> retryingApi.getForAll("/retried", Body.class), "/retried");
+
+        // then
+        assertEquals(PageSizeTuner.MAX_PAGE_SIZE, pageSize);
+    }
+
+    // RATE LIMIT
+
+    @Test
+    public void getById_acquiresFromRateLimiter() throws IOException {
+        // given
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        AbstractApi rateLimitedApi = new ConfiguredTestApi(client, asyncClient, rateLimiter, DISABLED_CIRCUIT_BREAKER, RETRY_TWICE);
+
+        given(client.execute(any(HttpGet.class))).willReturn(MockHttpResponse.create(503),
+                                                              MockHttpResponse.create(200, BODY));
+
+        // when
+        rateLimitedApi.getById(PATH, ID, Body.class);
+
+        // then
+        verify(rateLimiter, times(2)).acquire(); // including retry
+    }
+
+    @Test
+    public void getByIdAsync_reservesFromRateLimiter() throws IOException {
+        // given
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        AbstractApi rateLimitedApi = new ConfiguredTestApi(client, asyncClient, rateLimiter, DISABLED_CIRCUIT_BREAKER, RetryPolicy.NEVER);
+
+        given(rateLimiter.reserve()).willReturn(TimeUnit.MILLISECONDS.toNanos(10));
+        givenAsyncResponse(req -> MockHttpResponse.create(200, BODY));
+
+        // when
+        Body body = rateLimitedApi.getByIdAsync(PATH, ID, Body.class).join();
+
+        // then
+        assertEquals(BODY, body);
+
+        verify(rateLimiter).reserve();
+    }
+
+    // BASE URL
+
+    @Test
+    public void getById_baseUrlAsHost() throws IOException {
+        // given
+        AbstractApi stubApi = new ConfiguredTestApi(client, asyncClient, "http://localhost:8080/", RateLimiter.UNLIMITED, DISABLED_CIRCUIT_BREAKER, RetryPolicy.NEVER);
+
+        given(client.execute(any(HttpGet.class))).willReturn(MockHttpResponse.create(200, BODY));
+
+        // when
+        stubApi.getById(PATH, ID, Body.class);
+
+        // then
+        verify(client).execute(argThat((req) -> URI.create("http://localhost:8080/ias/v1" + PATH).equals(req.getURI())));
+    }
+
+    // METRICS
+
+    @Test
+    public void getById_recordsMetrics() throws IOException {
+        // given
+        AbstractApi retryingApi = new ConfiguredTestApi(client, asyncClient, RateLimiter.UNLIMITED, DISABLED_CIRCUIT_BREAKER, RETRY_TWICE);
+        ApiMetrics.Recorder recorder = mock(ApiMetrics.Recorder.class);
+
+        given(client.execute(any(HttpGet.class))).willReturn(MockHttpResponse.create(503),
+                                                              MockHttpResponse.create(200, BODY));
+
+        // when
+        API_METRICS_INSTANCE.setRecorder(recorder);
+        try {
+            retryingApi.getById(PATH, ID, Body.class);
+        } finally {
+            API_METRICS_INSTANCE.setRecorder(ApiMetrics.Recorder.NONE);
+        }
+
+        // then
+        String endpoint = "GET /test/{id}";
+        long bodyBytes = MappingConfiguration.OBJECT_MAPPER_INSTANCE.writeValueAsBytes(BODY).length;
+
+        verify(recorder).onResponse(eq(endpoint), eq(503), anyLong());
+        verify(recorder).onResponse(eq(endpoint), eq(200), anyLong());
+        verify(recorder).onRetry(endpoint);
+        verify(recorder).onResponseBytes(endpoint, bodyBytes);
+    }
+
+    @Test
+    public void put_nonStreamingBodyUnreadRecorded() throws IOException {
+        // given
+        ApiMetrics.Recorder recorder = mock(ApiMetrics.Recorder.class);
+        MockHttpResponse response = MockHttpResponse.create(200);
+        response.setEntity(new ByteArrayEntity("{}".getBytes(StandardCharsets.UTF_8)));
+
+        given(client.execute(any(HttpPut.class))).willReturn(response);
+
+        // when
+        API_METRICS_INSTANCE.setRecorder(recorder);
+        try {
+            testApi.put(PATH, BODY);
+        } finally {
+            API_METRICS_INSTANCE.setRecorder(ApiMetrics.Recorder.NONE);
+        }
+
+        // then
+        verify(recorder).onResponseBytes("PUT /test", 0);
+    }
+
+    // ASYNC
+
+    @Test
+    public void getByIdAsync_200Response() throws IOException {
+        // given
+        givenAsyncResponse(req -> MockHttpResponse.create(200, BODY));
+
+        // when
+        Body body = testApi.getByIdAsync(PATH, ID, Body.class).join();
+
+        // then
+        assertEquals(BODY, body);
+
+        verify(asyncClient).execute(argThat((req) -> expectedUri().equals(req.getURI())), any());
+        verify(client, never()).execute(any());
+    }
+
+    @Test
+    public void getByIdAsync_non200Response() {
+        // given
+        HttpResponse response = MockHttpResponse.create(500);
+        givenAsyncResponse(req -> response);
+
+        exception.expect(CompletionException.class);
+        exception.expectCause(isA(APIException.class));
+        exception.expectMessage(format("Error occurred during GET for [%s] with id [%s]. Expected status code [%s]. Response was: %n %s",
+                                       Body.class.getSimpleName(),
+                                       ID,
+                                       HttpStatus.SC_OK,
+                                       response));
+
+        // when
+        testApi.getByIdAsync(PATH, ID, Body.class).join();
+
+        // then
+        // excepted exception
+    }
+
+    @Test
+    public void getByIdAsync_error() {
+        // given
+        given(asyncClient.execute(any(HttpGet.class), any())).willAnswer(invocation -> {
+            invocation.<FutureCallback<HttpResponse>>getArgument(1).failed(new IOException());
+            return null;
+        });
+
+        exception.expect(CompletionException.class);
+        exception.expectCause(isA(APIException.class));
+        exception.expectMessage(format("Error occurred during GET for [%s] with id [%s]",
+                                       Body.class.getSimpleName(),
+                                       ID));
+
+        // when
+        testApi.getByIdAsync(PATH, ID, Body.class).join();
+
+        // then
+        // excepted exception
+    }
+
+    @Test
+    public void postForAllAsync_multiPage() {
+        // given
+        Page<Body> page0 = aPageOf(() -> BODY, 50).metadata(aMetadata().index(0).totalPages(3).build()).build();
+        Page<Body> page1 = aPageOf(() -> BODY, 50).metadata(aMetadata().index(1).totalPages(3).build()).build();
+        Page<Body> page2 = aPageOf(() -> BODY, 10).metadata(aMetadata().index(2).totalPages(3).build()).build();
+
+        List<Page<Body>> pages = Arrays.asList(page0, page1, page2);
+        givenAsyncResponse(req -> MockHttpResponse.create(200, pages.get(pageIndex(req))));
+
+        // when
+        List<Body> allResults = testApi.postForAllAsync(PATH, Body.class, BODY).join();
+
+        // then
+        List<Body> expected = new ArrayList<>(page0.getData());
+        expected.addAll(page1.getData());
+        expected.addAll(page2.getData());
+
+        assertEquals(expected, allResults);
+    }
+
+    @Test
+    public void postForAllAsync_zeroResults() {
+        // given
+        Page<Body> page0 = aPageOf(() -> BODY, 0).metadata(aMetadata().index(0).totalPages(0).build()).build();
+        givenAsyncResponse(req -> MockHttpResponse.create(200, page0));
+
+        // when
+        List<Body> allResults = testApi.postForAllAsync(PATH, Body.class, BODY).join();
+
+        // then
+        assertEquals(page0.getData(), allResults);
+    }
+
     // TEST HELPERS
 
+    private static Page<Body> aPageOfMax() {
+        return aPageOf(() -> BODY, PageSizeTuner.MAX_PAGE_SIZE).metadata(aMetadata().index(0).totalPages(1).build()).build();
+    }
+
+    /**
+     * Retrieve with a target page latency of 100ms, which any wait before the page is sent would exceed.
+     * @return the page size then tuned for the path.
+     */
+    private static int retrieveTuned(Runnable retrieval,
+                                     String path) {
+        PAGE_SIZE_TUNER_INSTANCE.configure(PageSizeTuner.DEFAULT_TARGET_PAGE_KILOBYTES, 100);
+        try {
+            retrieval.run();
+        } finally {
+            PAGE_SIZE_TUNER_INSTANCE.configure(PageSizeTuner.DEFAULT_TARGET_PAGE_KILOBYTES, PageSizeTuner.DEFAULT_TARGET_PAGE_MILLIS);
+        }
+
+        return PAGE_SIZE_TUNER_INSTANCE.getPageSize(PageSizeTuner.key(HOST, path, Body.class));
+    }
+
+    /**
+     * Give a response content which is never read, so that it is only closed if the response is released.
+     */
+    private InputStream givenUnreadContent(HttpResponse response) {
+        InputStream content = mock(InputStream.class);
+
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(content);
+        response.setEntity(entity);
+
+        return content;
+    }
+
+    /**
+     * Complete each request made by the async client with the response for that request.
+     */
+    private void givenAsyncResponse(AsyncResponder responder) {
+        given(asyncClient.execute(any(HttpUriRequest.class), any())).willAnswer(invocation -> {
+            HttpUriRequest request = invocation.getArgument(0);
+            invocation.<FutureCallback<HttpResponse>>getArgument(1).completed(responder.respond(request));
+            return null;
+        });
+    }
+
     /**
      * There is no .equals() method on apache HttpX request classes, to use with given(..)thenReturn(..),
      * Use an argument capture to verify.
@@ -382,6 +1181,22 @@ public class AbstractApiTest {
         }
     }
 
+    /**
+     * The page size is tuned between retrievals, so pages are matched by their index alone.
+     */
+    private static boolean isPage(HttpUriRequest request,
+                                  int index) {
+        return pageIndex(request) == index;
+    }
+
+    private static int pageIndex(HttpUriRequest request) {
+        return URLEncodedUtils.parse(request.getURI(), "UTF-8").stream()
+                              .filter(param -> "index".equals(param.getName()))
+                              .mapToInt(param -> Integer.parseInt(param.getValue()))
+                              .findFirst()
+                              .orElse(-1);
+    }
+
     private Header[] locationHeader() {
         return header(HttpHeaders.LOCATION, "http://some.location.com/" + ID);
     }
@@ -397,10 +1212,47 @@ public class AbstractApiTest {
 
     // TEST CLASSES
 
+    private interface AsyncResponder {
+
+        HttpResponse respond(HttpUriRequest request) throws IOException;
+
+    }
+
     private static class TestApi extends AbstractApi {
 
-        private TestApi(HttpClient client) {
-            super(client, HOST, API_KEY);
+        private TestApi(HttpClient client,
+                        HttpAsyncClient asyncClient) {
+            super(client, asyncClient, HOST, API_KEY, RateLimiter.UNLIMITED, DISABLED_CIRCUIT_BREAKER, PageRetrievalPool.PAGE_RETRIEVAL_POOL_INSTANCE, RetryPolicy.NEVER);
+        }
+
+    }
+
+    private static class ConfiguredTestApi extends AbstractApi {
+
+        private ConfiguredTestApi(HttpClient client,
+                                  HttpAsyncClient asyncClient,
+                                  RateLimiter rateLimiter,
+                                  CircuitBreaker circuitBreaker,
+                                  RetryPolicy retryPolicy) {
+            super(client, asyncClient, HOST, API_KEY, rateLimiter, circuitBreaker, PageRetrievalPool.PAGE_RETRIEVAL_POOL_INSTANCE, retryPolicy);
+        }
+
+        private ConfiguredTestApi(HttpClient client,
+                                  HttpAsyncClient asyncClient,
+                                  String host,
+                                  RateLimiter rateLimiter,
+                                  CircuitBreaker circuitBreaker,
+                                  RetryPolicy retryPolicy) {
+            super(client, asyncClient, host, API_KEY, rateLimiter, circuitBreaker, PageRetrievalPool.PAGE_RETRIEVAL_POOL_INSTANCE, retryPolicy);
+        }
+
+    }
+
+    private static class BoundedTestApi extends AbstractApi {
+
+        private BoundedTestApi(AbstractApi api,
+                               Deadline deadline) {
+            super(api, deadline);
         }
 
     }
@@ -0,0 +1,102 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.apache.http.entity.ByteArrayEntity;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.jenkins.plugins.insightappsec.api.ApiMetrics.API_METRICS_INSTANCE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ApiMetricsTest {
+
+    @After
+    public void teardown() {
+        API_METRICS_INSTANCE.setRecorder(ApiMetrics.Recorder.NONE);
+    }
+
+    @Test
+    public void endpoint_replacesIds() {
+        // given
+        URI uri = URI.create("https://us.api.insight.rapid7.com/ias/v1/scans/" + UUID.randomUUID() + "/execution-details");
+
+        // when
+        String endpoint = ApiMetrics.endpoint("GET", uri);
+
+        // then
+        assertEquals("GET /scans/{id}/execution-details", endpoint);
+    }
+
+    @Test
+    public void endpoint_ignoresQuery() {
+        // given
+        URI uri = URI.create("https://us.api.insight.rapid7.com/ias/v1/search?index=3&size=100");
+
+        // when
+        String endpoint = ApiMetrics.endpoint("POST", uri);
+
+        // then
+        assertEquals("POST /search", endpoint);
+    }
+
+    @Test
+    public void endpoint_numericIds() {
+        // given
+        URI uri = URI.create("https://test.com/apps/123");
+
+        // when
+        String endpoint = ApiMetrics.endpoint("GET", uri);
+
+        // then
+        assertEquals("GET /apps/{id}", endpoint);
+    }
+
+    @Test
+    public void setRecorder_enables() {
+        // given
+        ApiMetrics.Recorder recorder = mock(ApiMetrics.Recorder.class);
+
+        // when
+        API_METRICS_INSTANCE.setRecorder(recorder);
+        API_METRICS_INSTANCE.onResponse("GET /scans", 200, 10);
+        API_METRICS_INSTANCE.onRetry("GET /scans");
+
+        // then
+        assertTrue(API_METRICS_INSTANCE.isEnabled());
+
+        verify(recorder).onResponse("GET /scans", 200, 10);
+        verify(recorder).onRetry("GET /scans");
+    }
+
+    @Test
+    public void isEnabled_disabledByDefault() {
+        // then
+        assertFalse(API_METRICS_INSTANCE.isEnabled());
+    }
+
+    @Test
+    public void meteredEntity_reportsBytesReadOnce() throws IOException {
+        // given
+        AtomicLong reported = new AtomicLong();
+        MeteredEntity entity = new MeteredEntity(new ByteArrayEntity(new byte[10]), reported::addAndGet);
+
+        // when
+        try (InputStream content = entity.getContent()) {
+            content.read(new byte[4]);
+        }
+        entity.getContent().close();
+
+        // then
+        assertEquals(4, reported.get());
+    }
+
+}
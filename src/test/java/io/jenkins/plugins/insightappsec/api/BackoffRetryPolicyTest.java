@@ -0,0 +1,139 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import io.jenkins.plugins.insightappsec.exception.APIException;
+import io.jenkins.plugins.insightappsec.mock.MockHttpResponse;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.message.BasicHeader;
+import org.junit.Test;
+
+import javax.net.ssl.SSLHandshakeException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BackoffRetryPolicyTest {
+
+    private final BackoffRetryPolicy retryPolicy = new BackoffRetryPolicy();
+
+    @Test
+    public void getRetryDelay_retryableStatus() {
+        // when
+        long delay = retryPolicy.getRetryDelay(1, failure(503), 0);
+
+        // then
+        assertEquals(BackoffRetryPolicy.BASE_DELAY, delay);
+    }
+
+    @Test
+    public void getRetryDelay_decorrelatedJitter() {
+        for (int i = 0; i < 100; i++) {
+            // when
+            long delay = retryPolicy.getRetryDelay(2, failure(502), 1000);
+
+            // then
+            assertTrue(delay >= BackoffRetryPolicy.BASE_DELAY);
+            assertTrue(delay <= 3000);
+        }
+    }
+
+    @Test
+    public void getRetryDelay_cappedByMaxDelay() {
+        // when
+        long delay = retryPolicy.getRetryDelay(3, failure(504), BackoffRetryPolicy.MAX_DELAY);
+
+        // then
+        assertTrue(delay <= BackoffRetryPolicy.MAX_DELAY);
+    }
+
+    @Test
+    public void getRetryDelay_nonRetryableStatus() {
+        // when
+        long delay = retryPolicy.getRetryDelay(1, failure(500), 0);
+
+        // then
+        assertEquals(-1, delay);
+    }
+
+    @Test
+    public void getRetryDelay_connectionFailure() {
+        for (IOException failure : Arrays.asList(new ConnectException(),
+                                                 new SocketException("Connection reset"),
+                                                 new SocketTimeoutException(),
+                                                 new NoHttpResponseException("test"))) {
+            // when
+            long delay = retryPolicy.getRetryDelay(1, new APIException("test", failure), 0);
+
+            // then
+            assertEquals(BackoffRetryPolicy.BASE_DELAY, delay);
+        }
+    }
+
+    @Test
+    public void getRetryDelay_nonConnectionFailure() {
+        for (IOException failure : Arrays.asList(new IOException(),
+                                                 new JsonParseException(null, "test"),
+                                                 new SSLHandshakeException("test"))) {
+            // when
+            long delay = retryPolicy.getRetryDelay(1, new APIException("test", failure), 0);
+
+            // then
+            assertEquals(-1, delay);
+        }
+    }
+
+    @Test
+    public void getRetryDelay_maxRetriesExceeded() {
+        // given
+        retryPolicy.setMaxRetries(2);
+
+        // when
+        long delay = retryPolicy.getRetryDelay(3, failure(503), 1000);
+
+        // then
+        assertEquals(-1, delay);
+    }
+
+    @Test
+    public void getRetryDelay_retryAfterSeconds() {
+        // when
+        long delay = retryPolicy.getRetryDelay(1, failure(429, new BasicHeader(HttpHeaders.RETRY_AFTER, "2")), 0);
+
+        // then
+        assertEquals(2000, delay);
+    }
+
+    @Test
+    public void getRetryDelay_retryAfterBeyondMaxDelay() {
+        // when
+        long delay = retryPolicy.getRetryDelay(1, failure(429, new BasicHeader(HttpHeaders.RETRY_AFTER, "3600")), 0);
+
+        // then
+        assertEquals(-1, delay);
+    }
+
+    @Test
+    public void setMaxRetries_atLeastZero() {
+        // when
+        retryPolicy.setMaxRetries(-1);
+
+        // then
+        assertEquals(0, retryPolicy.getMaxRetries());
+    }
+
+    // TEST HELPERS
+
+    private static APIException failure(int statusCode,
+                                        Header... headers) {
+        return new APIException("test", MockHttpResponse.create(statusCode, headers));
+    }
+
+}
@@ -0,0 +1,51 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class CircuitBreakerRegistryTest {
+
+    private static final String US_HOST = "us.api.insight.rapid7.com";
+    private static final String EU_HOST = "eu.api.insight.rapid7.com";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = new CircuitBreakerRegistry();
+
+    @Test
+    public void getCircuitBreaker_sameHost() {
+        // when
+        CircuitBreaker circuitBreaker0 = circuitBreakerRegistry.getCircuitBreaker(US_HOST);
+        CircuitBreaker circuitBreaker1 = circuitBreakerRegistry.getCircuitBreaker(US_HOST);
+
+        // then
+        assertSame(circuitBreaker0, circuitBreaker1);
+    }
+
+    @Test
+    public void getCircuitBreaker_differentHosts() {
+        // when
+        CircuitBreaker circuitBreaker0 = circuitBreakerRegistry.getCircuitBreaker(US_HOST);
+        CircuitBreaker circuitBreaker1 = circuitBreakerRegistry.getCircuitBreaker(EU_HOST);
+
+        // then
+        assertNotSame(circuitBreaker0, circuitBreaker1);
+    }
+
+    @Test
+    public void configureCircuitBreakers_existingBreakers() {
+        // given
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.getCircuitBreaker(US_HOST);
+
+        // when
+        circuitBreakerRegistry.configureCircuitBreakers(1, 60);
+
+        // then
+        circuitBreaker.acquirePermission();
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+}
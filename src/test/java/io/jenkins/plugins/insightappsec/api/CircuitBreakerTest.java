@@ -0,0 +1,187 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.exception.CircuitOpenException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class CircuitBreakerTest {
+
+    private static final String HOST = "test.com";
+    private static final long OPEN_DURATION = 30000;
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(HOST, 3, OPEN_DURATION, now::get);
+
+    @Test
+    public void onFailure_opensAtThreshold() {
+        // when
+        fail(2);
+
+        // then
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        // when
+        fail(1);
+
+        // then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void onFailure_lateFailureDoesNotExtendOpen() {
+        // given a request let through before the circuit opened
+        circuitBreaker.acquirePermission();
+        fail(3);
+        elapse(OPEN_DURATION / 2);
+
+        // when
+        circuitBreaker.onFailure();
+        elapse(OPEN_DURATION / 2);
+        circuitBreaker.acquirePermission();
+
+        // then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void onResponse_successResetsFailures() {
+        // given
+        fail(2);
+
+        // when
+        circuitBreaker.acquirePermission();
+        circuitBreaker.onResponse(404);
+        fail(2);
+
+        // then
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void acquirePermission_open() {
+        // given
+        fail(3);
+
+        exception.expect(CircuitOpenException.class);
+
+        // when
+        circuitBreaker.acquirePermission();
+
+        // then
+        // expected exception
+    }
+
+    @Test
+    public void acquirePermission_singleProbeWhenHalfOpen() {
+        // given
+        fail(3);
+        elapse(OPEN_DURATION);
+
+        // when
+        circuitBreaker.acquirePermission();
+
+        // then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        exception.expect(CircuitOpenException.class);
+        circuitBreaker.acquirePermission();
+    }
+
+    @Test
+    public void onResponse_probeSuccessCloses() {
+        // given
+        fail(3);
+        elapse(OPEN_DURATION);
+        circuitBreaker.acquirePermission();
+
+        // when
+        circuitBreaker.onResponse(200);
+
+        // then
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void onResponse_probeFailureReopens() {
+        // given
+        fail(3);
+        elapse(OPEN_DURATION);
+        circuitBreaker.acquirePermission();
+
+        // when
+        circuitBreaker.onResponse(503);
+
+        // then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void release_allowsNextProbe() {
+        // given
+        fail(3);
+        elapse(OPEN_DURATION);
+        circuitBreaker.acquirePermission();
+
+        // when
+        circuitBreaker.release();
+        circuitBreaker.acquirePermission();
+
+        // then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void configure_disabled() {
+        // given
+        fail(3);
+
+        // when
+        circuitBreaker.configure(0, OPEN_DURATION);
+        fail(10);
+
+        // then
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void getRejections() {
+        // given
+        fail(3);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            try {
+                circuitBreaker.acquirePermission();
+            } catch (CircuitOpenException e) {
+                // expected
+            }
+        }
+
+        // then
+        assertEquals(5, circuitBreaker.getRejections());
+    }
+
+    // TEST HELPERS
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            circuitBreaker.acquirePermission();
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private void elapse(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+}
@@ -0,0 +1,93 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ConnectionLeakDetectorTest {
+
+    private static final HttpRoute ROUTE = new HttpRoute(new HttpHost("test.com", 443, "https"));
+    private static final long THRESHOLD = 1000;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final ConnectionLeakDetector detector = new ConnectionLeakDetector(now::get);
+
+    private final HttpClientConnection connection0 = mock(HttpClientConnection.class);
+    private final HttpClientConnection connection1 = mock(HttpClientConnection.class);
+
+    @Before
+    public void setup() {
+        detector.setEnabled(true);
+        detector.setLeakThreshold(THRESHOLD);
+    }
+
+    @Test
+    public void findLeaks_heldBeyondThreshold() {
+        // given
+        detector.onLease(connection0, ROUTE);
+        now.addAndGet(THRESHOLD / 2);
+        detector.onLease(connection1, ROUTE);
+
+        // when
+        now.addAndGet(THRESHOLD / 2);
+        List<ConnectionLeakDetector.Lease> leaks = detector.findLeaks();
+
+        // then
+        assertEquals(1, leaks.size());
+        assertEquals(0, leaks.get(0).getLeasedAt());
+        assertEquals(Thread.currentThread().getName(), leaks.get(0).getThreadName());
+        assertEquals(ROUTE, leaks.get(0).getRoute());
+        assertEquals("onLease", leaks.get(0).getLeasedFrom()[0].getMethodName());
+    }
+
+    @Test
+    public void findLeaks_released() {
+        // given
+        detector.onLease(connection0, ROUTE);
+        detector.onRelease(connection0);
+
+        // when
+        now.addAndGet(THRESHOLD);
+
+        // then
+        assertTrue(detector.findLeaks().isEmpty());
+    }
+
+    @Test
+    public void findLeaks_disabled() {
+        // given
+        detector.setEnabled(false);
+        detector.onLease(connection0, ROUTE);
+
+        // when
+        now.addAndGet(THRESHOLD);
+
+        // then
+        assertTrue(detector.findLeaks().isEmpty());
+    }
+
+    @Test
+    public void setEnabled_disablingForgetsLeases() {
+        // given
+        detector.onLease(connection0, ROUTE);
+        now.addAndGet(THRESHOLD);
+
+        // when
+        detector.setEnabled(false);
+        detector.setEnabled(true);
+
+        // then
+        assertTrue(detector.findLeaks().isEmpty());
+    }
+
+}
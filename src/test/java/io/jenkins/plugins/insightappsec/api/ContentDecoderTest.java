@@ -0,0 +1,123 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.mock.MockHttpResponse;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHeader;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ContentDecoderTest {
+
+    private static final String CONTENT = repeat("{\"request\":\"GET / HTTP/1.1\"}", 100);
+
+    private final TransferStatistics statistics = new TransferStatistics();
+
+    @Test
+    public void open_gzip() throws IOException {
+        // given
+        byte[] body = gzip(CONTENT);
+        HttpResponse response = response(body, "gzip");
+
+        // when
+        String content = read(response);
+
+        // then
+        assertEquals(CONTENT, content);
+
+        assertEquals(1, statistics.getCompressedResponses());
+        assertEquals(body.length, statistics.getWireBytes());
+        assertEquals(CONTENT.length(), statistics.getContentBytes());
+        assertTrue(statistics.getSavedBytes() > 0);
+    }
+
+    @Test
+    public void open_deflate() throws IOException {
+        // given
+        byte[] body = deflate(CONTENT);
+        HttpResponse response = response(body, "deflate");
+
+        // when
+        String content = read(response);
+
+        // then
+        assertEquals(CONTENT, content);
+
+        assertEquals(1, statistics.getCompressedResponses());
+        assertEquals(body.length, statistics.getWireBytes());
+    }
+
+    @Test
+    public void open_identity() throws IOException {
+        // given
+        HttpResponse response = response(CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        // when
+        String content = read(response);
+
+        // then
+        assertEquals(CONTENT, content);
+
+        assertEquals(1, statistics.getResponses());
+        assertEquals(0, statistics.getCompressedResponses());
+        assertEquals(0, statistics.getSavedBytes());
+    }
+
+    // TEST HELPERS
+
+    private String read(HttpResponse response) throws IOException {
+        try (InputStream content = ContentDecoder.open(response, statistics)) {
+            return IOUtils.toString(content, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static HttpResponse response(byte[] body,
+                                         String... contentEncoding) {
+        Header[] headers = contentEncoding.length > 0
+                ? new Header[] {new BasicHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding[0])}
+                : new Header[0];
+
+        HttpResponse response = MockHttpResponse.create(200, headers);
+        response.setEntity(new ByteArrayEntity(body));
+
+        return response;
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String repeat(String str,
+                                 int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(str);
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,224 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import jenkins.model.Jenkins;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.pool.PoolStats;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(Jenkins.class) // must use powermock to mock Jenkins static method calls
+public class HttpClientCacheTest {
+
+    private static final String US_HOST = "us.api.insight.rapid7.com";
+    private static final String EU_HOST = "eu.api.insight.rapid7.com";
+
+    @Mock
+    private Jenkins jenkins;
+
+    private HttpClientCache httpClientCache;
+
+    @Before
+    public void setup() {
+        PowerMockito.mockStatic(Jenkins.class);
+        PowerMockito.when(Jenkins.getInstance()).thenReturn(jenkins);
+
+        httpClientCache = new HttpClientCache();
+    }
+
+    @Test
+    public void getHttpClient_sameHost() {
+        // when
+        HttpClient client0 = httpClientCache.getHttpClient(US_HOST);
+        HttpClient client1 = httpClientCache.getHttpClient(US_HOST);
+
+        // then
+        assertSame(client0, client1);
+    }
+
+    @Test
+    public void getHttpClient_differentHosts() {
+        // when
+        HttpClient client0 = httpClientCache.getHttpClient(US_HOST);
+        HttpClient client1 = httpClientCache.getHttpClient(EU_HOST);
+
+        // then
+        assertNotSame(client0, client1);
+        assertNotSame(httpClientCache.getConnectionManager(US_HOST), httpClientCache.getConnectionManager(EU_HOST));
+    }
+
+    @Test
+    public void getHttpClient_defaultLimits() {
+        // when
+        httpClientCache.getHttpClient(US_HOST);
+
+        // then
+        PoolingHttpClientConnectionManager connectionManager = httpClientCache.getConnectionManager(US_HOST);
+
+        assertEquals(HttpClientCache.DEFAULT_MAX_CONNECTIONS_TOTAL, connectionManager.getMaxTotal());
+        assertEquals(HttpClientCache.DEFAULT_MAX_CONNECTIONS_PER_ROUTE, connectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test
+    public void configureConnectionPools_existingAndNewPools() {
+        // given
+        httpClientCache.getHttpClient(US_HOST);
+
+        // when
+        httpClientCache.configureConnectionPools(40, 20);
+        httpClientCache.getHttpClient(EU_HOST);
+
+        // then
+        assertEquals(40, httpClientCache.getConnectionManager(US_HOST).getMaxTotal());
+        assertEquals(20, httpClientCache.getConnectionManager(US_HOST).getDefaultMaxPerRoute());
+
+        assertEquals(40, httpClientCache.getConnectionManager(EU_HOST).getMaxTotal());
+        assertEquals(20, httpClientCache.getConnectionManager(EU_HOST).getDefaultMaxPerRoute());
+    }
+
+    @Test
+    public void getHttpAsyncClient_sameHost() {
+        // when
+        HttpAsyncClient client0 = httpClientCache.getHttpAsyncClient(US_HOST);
+        HttpAsyncClient client1 = httpClientCache.getHttpAsyncClient(US_HOST);
+
+        // then
+        assertSame(client0, client1);
+    }
+
+    @Test
+    public void configureConnectionPools_asyncPools() {
+        // given
+        httpClientCache.getHttpAsyncClient(US_HOST);
+
+        // when
+        httpClientCache.configureConnectionPools(40, 20);
+
+        // then
+        assertEquals(40, httpClientCache.getAsyncConnectionManager(US_HOST).getMaxTotal());
+        assertEquals(20, httpClientCache.getAsyncConnectionManager(US_HOST).getDefaultMaxPerRoute());
+    }
+
+    @Test
+    public void getConnectionPoolStats_perHost() {
+        // given
+        httpClientCache.getHttpClient(US_HOST);
+        httpClientCache.getHttpAsyncClient(EU_HOST);
+
+        // when
+        Map<String, PoolStats> stats = httpClientCache.getConnectionPoolStats();
+        Map<String, PoolStats> asyncStats = httpClientCache.getAsyncConnectionPoolStats();
+
+        // then
+        assertEquals(Collections.singleton(US_HOST), stats.keySet());
+        assertEquals(0, stats.get(US_HOST).getLeased());
+        assertEquals(HttpClientCache.DEFAULT_MAX_CONNECTIONS_TOTAL, stats.get(US_HOST).getMax());
+
+        assertEquals(Collections.singleton(EU_HOST), asyncStats.keySet());
+    }
+
+    @Test
+    public void getHttpClient_leaksDetected() {
+        // when
+        httpClientCache.getHttpClient(US_HOST);
+
+        // then
+        assertSame(httpClientCache.getLeakDetector().newConnectionManager().getClass(),
+                   httpClientCache.getConnectionManager(US_HOST).getClass());
+    }
+
+    @Test
+    public void configureConnectionPools_perRouteCappedByTotal() {
+        // when
+        httpClientCache.configureConnectionPools(10, 20);
+        httpClientCache.getHttpClient(US_HOST);
+
+        // then
+        assertEquals(10, httpClientCache.getConnectionManager(US_HOST).getDefaultMaxPerRoute());
+    }
+
+    @Test
+    public void getTransport_http1ByDefault() {
+        // when
+        HttpTransport transport = httpClientCache.getTransport(US_HOST);
+
+        // then
+        assertTrue(transport instanceof ApacheHttpTransport);
+        assertTrue(transport.isAsyncSupported());
+    }
+
+    @Test
+    public void getTransport_asyncClientCreatedOnFirstAsyncRequest() {
+        // given
+        HttpTransport transport = httpClientCache.getTransport(US_HOST);
+
+        // then
+        assertNull(httpClientCache.getAsyncConnectionManager(US_HOST));
+
+        // when
+        transport.execute(new HttpGet("http://localhost:1/"), null);
+
+        // then
+        assertNotNull(httpClientCache.getAsyncConnectionManager(US_HOST));
+    }
+
+    @Test
+    public void getTransport_http2Unavailable() {
+        Assume.assumeFalse(HttpClientCache.isHttp2Available());
+
+        // given
+        httpClientCache.setHttp2Enabled(true);
+
+        // when
+        HttpTransport transport = httpClientCache.getTransport(US_HOST);
+
+        // then
+        assertTrue(transport instanceof ApacheHttpTransport);
+    }
+
+    @Test
+    public void setHttp2Enabled_transportsRebuilt() {
+        Assume.assumeTrue(HttpClientCache.isHttp2Available());
+
+        // given
+        httpClientCache.setHttp2Enabled(true);
+        HttpTransport transport = httpClientCache.getTransport(US_HOST);
+
+        // when
+        httpClientCache.setHttp2Enabled(true);
+
+        // then
+        assertNotSame(transport, httpClientCache.getTransport(US_HOST));
+    }
+
+    @Test
+    public void getHttp2Unavailable_reason() {
+        Assume.assumeFalse(HttpClientCache.isHttp2Available());
+
+        // when
+        String unavailable = HttpClientCache.getHttp2Unavailable();
+
+        // then
+        assertNotNull(unavailable);
+    }
+
+}
@@ -0,0 +1,82 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.jenkins.plugins.insightappsec.api.search.SearchRequest;
+import io.jenkins.plugins.insightappsec.exception.APIException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aMetadata;
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aPage;
+import static io.jenkins.plugins.insightappsec.api.search.SearchRequestModels.aVulnerabilitySearchRequest;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class JsonCodecTest {
+
+    private static final SearchRequest SEARCH_REQUEST = aVulnerabilitySearchRequest().query("vulnerability.app.id = 'test'")
+                                                                                     .build();
+
+    private final JsonCodec codec = new JsonCodec();
+
+    @Test
+    public void readerFor_cachedPerClass() {
+        // when
+        ObjectReader reader = codec.readerFor(SearchRequest.class);
+
+        // then
+        assertSame(reader, codec.readerFor(SearchRequest.class));
+        assertNotSame(reader, codec.pageReaderFor(SearchRequest.class));
+        assertSame(codec.pageReaderFor(SearchRequest.class), codec.pageReaderFor(SearchRequest.class));
+        assertSame(codec.writerFor(SearchRequest.class), codec.writerFor(SearchRequest.class));
+    }
+
+    @Test
+    public void write() {
+        // when
+        byte[] json = codec.write(SEARCH_REQUEST);
+
+        // then
+        assertEquals("{\"type\":\"VULNERABILITY\",\"query\":\"vulnerability.app.id = 'test'\"}", new String(json, UTF_8));
+    }
+
+    @Test(expected = APIException.class)
+    public void write_unmappable() {
+        // when
+        codec.write(new Object());
+    }
+
+    @Test
+    public void pageReaderFor() throws IOException {
+        // given
+        Page<SearchRequest> page = aPage().metadata(aMetadata().index(0).totalPages(1).build())
+                                          .data(Collections.singletonList(SEARCH_REQUEST))
+                                          .build();
+
+        // when
+        Page<SearchRequest> read = codec.pageReaderFor(SearchRequest.class).readValue(codec.write(page));
+
+        // then
+        assertEquals(page, read);
+    }
+
+    @Test
+    public void setAfterburnerEnabled_rebuildsReaders() throws IOException {
+        // given
+        ObjectReader reader = codec.readerFor(SearchRequest.class);
+
+        // when
+        codec.setAfterburnerEnabled(true);
+
+        // then
+        assertTrue(codec.isAfterburnerEnabled());
+        assertNotSame(reader, codec.readerFor(SearchRequest.class));
+        assertEquals(SEARCH_REQUEST, codec.readerFor(SearchRequest.class).readValue(codec.write(SEARCH_REQUEST)));
+    }
+
+}
@@ -0,0 +1,187 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.exception.APIException;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PageRetrievalPoolTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final PageRetrievalPool pool = new PageRetrievalPool(executor);
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void retrieve_indexOrder() {
+        // given
+        pool.setParallelism(4);
+
+        // when
+        List<Integer> pages = pool.retrieve(index -> {
+            sleepQuietly((10 - index) * 5); // later indices complete first
+            return index;
+        }, 1, 10);
+
+        // then
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), pages);
+    }
+
+    @Test
+    public void retrieve_emptyRange() {
+        // when
+        List<Integer> pages = pool.retrieve(index -> index, 1, 1);
+
+        // then
+        assertEquals(Collections.emptyList(), pages);
+    }
+
+    @Test
+    public void retrieve_sequentialUsesCallingThread() {
+        // given
+        pool.setParallelism(1);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        // when
+        pool.retrieve(index -> threads.add(Thread.currentThread()), 1, 5);
+
+        // then
+        assertEquals(Collections.singleton(Thread.currentThread()), threads);
+    }
+
+    @Test
+    public void retrieve_boundedParallelism() {
+        // given
+        pool.setParallelism(3);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        // when
+        pool.retrieve(index -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleepQuietly(20);
+            inFlight.decrementAndGet();
+            return index;
+        }, 1, 20);
+
+        // then
+        assertTrue(maxInFlight.get() <= 3);
+    }
+
+    @Test
+    public void retrieve_failure() {
+        // given
+        pool.setParallelism(4);
+        APIException failure = new APIException();
+
+        exception.expect(sameInstance(failure));
+
+        // when
+        pool.retrieve(index -> {
+            if (index == 5) {
+                throw failure;
+            }
+            return index;
+        }, 1, 10);
+
+        // then
+        // expected exception
+    }
+
+    @Test
+    public void retrieve_busyPoolRetrievedByCallingThread() throws InterruptedException {
+        // given
+        ExecutorService busyExecutor = Executors.newSingleThreadExecutor();
+        PageRetrievalPool busyPool = new PageRetrievalPool(busyExecutor);
+        busyPool.setParallelism(4);
+
+        CountDownLatch release = new CountDownLatch(1);
+        busyExecutor.execute(() -> awaitQuietly(release));
+
+        // when
+        try {
+            List<Integer> pages = busyPool.retrieve(index -> index, 1, 10);
+
+            // then
+            assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), pages);
+        } finally {
+            release.countDown();
+            busyExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void setParallelism_resizesPool() {
+        // given
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(4, 4, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        PageRetrievalPool resizedPool = new PageRetrievalPool(threadPoolExecutor);
+
+        // when
+        resizedPool.setParallelism(2);
+
+        // then
+        assertEquals(PageRetrievalPool.poolSize(2), threadPoolExecutor.getCorePoolSize());
+        assertEquals(PageRetrievalPool.poolSize(2), threadPoolExecutor.getMaximumPoolSize());
+
+        // when
+        resizedPool.setParallelism(1);
+
+        // then
+        assertEquals(PageRetrievalPool.poolSize(1), threadPoolExecutor.getMaximumPoolSize());
+
+        threadPoolExecutor.shutdownNow();
+    }
+
+    @Test
+    public void setParallelism_atLeastOne() {
+        // when
+        pool.setParallelism(0);
+
+        // then
+        assertEquals(1, pool.getParallelism());
+    }
+
+    // TEST HELPERS
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.api.vulnerability.Vulnerability;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.jenkins.plugins.insightappsec.api.PageSizeTuner.INITIAL_PAGE_SIZE;
+import static io.jenkins.plugins.insightappsec.api.PageSizeTuner.MAX_PAGE_SIZE;
+import static io.jenkins.plugins.insightappsec.api.PageSizeTuner.MIN_PAGE_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PageSizeTunerTest {
+
+    private static final String KEY = PageSizeTuner.key("test.com", "/search", Vulnerability.class);
+    private static final long ONE_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final PageSizeTuner tuner = new PageSizeTuner(now::get);
+
+    @Before
+    public void setup() {
+        tuner.configure(100, 1000); // 100 KB, 1 second
+    }
+
+    @Test
+    public void getPageSize_initial() {
+        // then
+        assertEquals(INITIAL_PAGE_SIZE, tuner.getPageSize(KEY));
+        assertTrue(tuner.getPageSizes().isEmpty());
+    }
+
+    @Test
+    public void record_smallResultsGrowToMax() {
+        // when
+        for (int i = 0; i < 10; i++) {
+            retrieve(tuner.getPageSize(KEY), 100, ONE_MILLI / 10);
+        }
+
+        // then
+        assertEquals(MAX_PAGE_SIZE, tuner.getPageSize(KEY));
+        assertEquals(Collections.singletonMap(KEY, MAX_PAGE_SIZE), tuner.getPageSizes());
+    }
+
+    @Test
+    public void record_tunesTowardTargetBytes() {
+        // when
+        for (int i = 0; i < 10; i++) {
+            retrieve(tuner.getPageSize(KEY), 2048, ONE_MILLI / 10); // 50 results per 100 KB
+        }
+
+        // then
+        assertEquals(50, tuner.getPageSize(KEY));
+    }
+
+    @Test
+    public void record_tunesTowardTargetLatency() {
+        // when
+        for (int i = 0; i < 10; i++) {
+            retrieve(tuner.getPageSize(KEY), 100, 40 * ONE_MILLI); // 25 results per second
+        }
+
+        // then
+        assertEquals(25, tuner.getPageSize(KEY));
+    }
+
+    @Test
+    public void record_changesAtMostTwofoldPerPage() {
+        // when
+        retrieve(INITIAL_PAGE_SIZE, 1024 * 1024, ONE_MILLI);
+
+        // then
+        assertEquals(INITIAL_PAGE_SIZE / 2, tuner.getPageSize(KEY));
+    }
+
+    @Test
+    public void record_neverBelowMin() {
+        // when
+        for (int i = 0; i < 10; i++) {
+            retrieve(tuner.getPageSize(KEY), 1024 * 1024, ONE_MILLI);
+        }
+
+        // then
+        assertEquals(MIN_PAGE_SIZE, tuner.getPageSize(KEY));
+    }
+
+    @Test
+    public void record_emptyPageIgnored() {
+        // when
+        startedSample().record(0, 100);
+
+        // then
+        assertTrue(tuner.getPageSizes().isEmpty());
+    }
+
+    @Test
+    public void record_timedFromLatestStart() {
+        // given
+        PageSizeTuner.Sample sample = tuner.newSample(KEY);
+
+        // when
+        sample.start();
+        now.addAndGet(30_000 * ONE_MILLI); // e.g. a failed attempt, then backoff
+        sample.start();
+        now.addAndGet(INITIAL_PAGE_SIZE * ONE_MILLI / 10);
+        sample.record(INITIAL_PAGE_SIZE, INITIAL_PAGE_SIZE * 100L);
+
+        // then
+        assertEquals(INITIAL_PAGE_SIZE, tuner.getPageSize(KEY));
+    }
+
+    @Test
+    public void record_notStartedIgnored() {
+        // when
+        tuner.newSample(KEY).record(INITIAL_PAGE_SIZE, 100);
+
+        // then
+        assertTrue(tuner.getPageSizes().isEmpty());
+    }
+
+    // TEST HELPERS
+
+    private PageSizeTuner.Sample startedSample() {
+        PageSizeTuner.Sample sample = tuner.newSample(KEY);
+        sample.start();
+
+        return sample;
+    }
+
+    private void retrieve(int results,
+                          long bytesPerResult,
+                          long nanosPerResult) {
+        PageSizeTuner.Sample sample = startedSample();
+        now.addAndGet(results * nanosPerResult);
+        sample.record(results, results * bytesPerResult);
+    }
+
+}
@@ -0,0 +1,59 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import hudson.ProxyConfiguration;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ProxyUtilTest {
+
+    private final ProxyConfiguration config = new ProxyConfiguration("proxy", 3128, null, null, "*.internal\nlocalhost");
+
+    @Test
+    public void noProxyHostSelector_bypassesNoProxyHosts() {
+        // given
+        ProxyUtil.NoProxyHostSelector selector = new ProxyUtil.NoProxyHostSelector(config);
+
+        // when
+        List<Proxy> proxied = selector.select(URI.create("https://us.api.insight.rapid7.com/ias/v1/apps"));
+        List<Proxy> bypassed = selector.select(URI.create("https://api.internal/ias/v1/apps"));
+
+        // then
+        assertEquals(new InetSocketAddress("proxy", 3128), proxied.get(0).address());
+        assertEquals(Proxy.NO_PROXY, bypassed.get(0));
+        assertEquals(Proxy.NO_PROXY, selector.select(URI.create("http://localhost:8080/test")).get(0));
+    }
+
+    @Test
+    public void getRoutePlanner_bypassesNoProxyHosts() throws Exception {
+        // given
+        HttpRoutePlanner routePlanner = ProxyUtil.getRoutePlanner(config);
+
+        // when
+        HttpRoute proxied = route(routePlanner, new HttpHost("us.api.insight.rapid7.com", 443, "https"));
+        HttpRoute bypassed = route(routePlanner, new HttpHost("api.internal", 443, "https"));
+
+        // then
+        assertEquals(3128, proxied.getProxyHost().getPort());
+        assertNull(bypassed.getProxyHost());
+    }
+
+    // TEST HELPERS
+
+    private static HttpRoute route(HttpRoutePlanner routePlanner,
+                                   HttpHost target) throws Exception {
+        return routePlanner.determineRoute(target, new HttpGet(target.toURI()), new BasicHttpContext());
+    }
+
+}
@@ -0,0 +1,53 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterRegistryTest {
+
+    private static final String US_HOST = "us.api.insight.rapid7.com";
+    private static final String EU_HOST = "eu.api.insight.rapid7.com";
+
+    private final RateLimiterRegistry rateLimiterRegistry = new RateLimiterRegistry();
+
+    @Test
+    public void getRateLimiter_sameCredentialsAndHost() {
+        // when
+        RateLimiter rateLimiter0 = rateLimiterRegistry.getRateLimiter("credentials", US_HOST);
+        RateLimiter rateLimiter1 = rateLimiterRegistry.getRateLimiter("credentials", US_HOST);
+
+        // then
+        assertSame(rateLimiter0, rateLimiter1);
+    }
+
+    @Test
+    public void getRateLimiter_differentCredentialsOrHost() {
+        // when
+        RateLimiter rateLimiter0 = rateLimiterRegistry.getRateLimiter("credentials", US_HOST);
+        RateLimiter rateLimiter1 = rateLimiterRegistry.getRateLimiter("credentials", EU_HOST);
+        RateLimiter rateLimiter2 = rateLimiterRegistry.getRateLimiter("other-credentials", US_HOST);
+
+        // then
+        assertNotSame(rateLimiter0, rateLimiter1);
+        assertNotSame(rateLimiter0, rateLimiter2);
+        assertEquals(3, rateLimiterRegistry.getRateLimiters().size());
+    }
+
+    @Test
+    public void configureRateLimiters_existingLimiters() {
+        // given
+        RateLimiter rateLimiter = rateLimiterRegistry.getRateLimiter("credentials", US_HOST);
+
+        // when
+        rateLimiterRegistry.configureRateLimiters(1, 1);
+
+        // then
+        assertEquals(0, rateLimiter.reserve());
+        assertTrue(rateLimiter.reserve() > 0);
+    }
+
+}
@@ -0,0 +1,107 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void reserve_burstWithoutWaiting() {
+        // given
+        RateLimiter rateLimiter = new RateLimiter(2, 3, now::get);
+
+        // when
+        long wait0 = rateLimiter.reserve();
+        long wait1 = rateLimiter.reserve();
+        long wait2 = rateLimiter.reserve();
+
+        // then
+        assertEquals(0, wait0);
+        assertEquals(0, wait1);
+        assertEquals(0, wait2);
+    }
+
+    @Test
+    public void reserve_queuedInArrivalOrder() {
+        // given
+        RateLimiter rateLimiter = new RateLimiter(2, 1, now::get);
+
+        // when
+        long wait0 = rateLimiter.reserve();
+        long wait1 = rateLimiter.reserve();
+        long wait2 = rateLimiter.reserve();
+
+        // then
+        assertEquals(0, wait0);
+        assertEquals(SECOND / 2, wait1);
+        assertEquals(SECOND, wait2);
+    }
+
+    @Test
+    public void reserve_refillsWhileQuiet() {
+        // given
+        RateLimiter rateLimiter = new RateLimiter(1, 2, now::get);
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+
+        // when
+        now.addAndGet(2 * SECOND);
+
+        // then
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(SECOND, rateLimiter.reserve());
+    }
+
+    @Test
+    public void reserve_unlimited() {
+        // given
+        RateLimiter rateLimiter = new RateLimiter(0, 1, now::get);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, rateLimiter.reserve());
+        }
+
+        // then
+        assertEquals(0, rateLimiter.getThrottledAcquisitions());
+    }
+
+    @Test
+    public void reserve_metrics() {
+        // given
+        RateLimiter rateLimiter = new RateLimiter(1, 1, now::get);
+
+        // when
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+
+        // then
+        assertEquals(3, rateLimiter.getAcquisitions());
+        assertEquals(2, rateLimiter.getThrottledAcquisitions());
+        assertEquals(3000, rateLimiter.getTotalWaitMillis());
+    }
+
+    @Test
+    public void setRate_appliesToLaterReservations() {
+        // given
+        RateLimiter rateLimiter = new RateLimiter(0, 1, now::get);
+
+        // when
+        rateLimiter.setRate(1, 1);
+
+        // then
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(SECOND, rateLimiter.reserve());
+    }
+
+}
@@ -0,0 +1,202 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+
+public class RefreshingCacheTest {
+
+    private static final String KEY = "key";
+    private static final long TTL = 1000;
+    private static final long MAX_STALE = 5000;
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    private final RefreshingCache<Integer> cache = new RefreshingCache<>(2, TTL, MAX_STALE, refreshes::add, now::get);
+
+    @Test
+    public void get_fresh() {
+        // when
+        int value0 = cache.get(KEY, loads::incrementAndGet);
+        now.addAndGet(TTL - 1);
+        int value1 = cache.get(KEY, loads::incrementAndGet);
+
+        // then
+        assertEquals(1, value0);
+        assertEquals(1, value1);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void get_staleWhileRefreshing() {
+        // given
+        cache.get(KEY, loads::incrementAndGet);
+        now.addAndGet(TTL);
+
+        // when
+        int value0 = cache.get(KEY, loads::incrementAndGet);
+        int value1 = cache.get(KEY, loads::incrementAndGet);
+
+        // then
+        assertEquals(1, value0);
+        assertEquals(1, value1);
+        assertEquals(1, refreshes.size()); // single refresh
+
+        // when
+        refreshes.get(0).run();
+
+        // then
+        assertEquals(2, (int) cache.get(KEY, loads::incrementAndGet));
+    }
+
+    @Test
+    public void get_staleAfterFailedRefresh() {
+        // given
+        cache.get(KEY, loads::incrementAndGet);
+        now.addAndGet(TTL);
+
+        cache.get(KEY, () -> {
+            throw new RuntimeException();
+        });
+
+        // when
+        refreshes.get(0).run();
+
+        // then
+        assertEquals(1, (int) cache.get(KEY, loads::incrementAndGet));
+        assertEquals(2, refreshes.size()); // refresh attempted again
+    }
+
+    @Test
+    public void get_expired() {
+        // given
+        cache.get(KEY, loads::incrementAndGet);
+        now.addAndGet(TTL + MAX_STALE);
+
+        // when
+        int value = cache.get(KEY, loads::incrementAndGet);
+
+        // then
+        assertEquals(2, value);
+        assertEquals(0, refreshes.size());
+    }
+
+    @Test
+    public void get_expiredLoadedOnceForConcurrentCallers() throws Exception {
+        // given
+        cache.get(KEY, loads::incrementAndGet);
+        now.addAndGet(TTL + MAX_STALE);
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> cache.get(KEY, () -> {
+            loading.countDown();
+            await(release);
+
+            return loads.incrementAndGet();
+        }));
+        loading.await(10, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<Integer> waiter = CompletableFuture.supplyAsync(() -> cache.get(KEY, loads::incrementAndGet));
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        assertEquals(2, (int) leader.get(10, TimeUnit.SECONDS));
+        assertEquals(2, (int) waiter.get(10, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void get_loadFailure() {
+        // given
+        RuntimeException failure = new RuntimeException();
+
+        exception.expect(sameInstance(failure));
+
+        // when
+        cache.get(KEY, () -> {
+            throw failure;
+        });
+
+        // then
+        // expected exception
+    }
+
+    @Test
+    public void get_evictsLeastRecentlyUsed() {
+        // given
+        cache.get("0", loads::incrementAndGet);
+        cache.get("1", loads::incrementAndGet);
+        cache.get("0", loads::incrementAndGet);
+
+        // when
+        cache.get("2", loads::incrementAndGet);
+
+        // then
+        assertEquals(2, cache.size());
+        assertEquals(1, (int) cache.get("0", loads::incrementAndGet));
+        assertEquals(4, (int) cache.get("1", loads::incrementAndGet)); // reloaded
+    }
+
+    @Test
+    public void get_nextLoadAfterFailure() {
+        // given
+        try {
+            cache.get(KEY, () -> {
+                throw new RuntimeException();
+            });
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        // when
+        int value = cache.get(KEY, loads::incrementAndGet);
+
+        // then
+        assertEquals(1, value);
+    }
+
+    @Test
+    public void setTtl_disabled() {
+        // given
+        cache.setTtl(0, MAX_STALE);
+
+        // when
+        cache.get(KEY, loads::incrementAndGet);
+        cache.get(KEY, loads::incrementAndGet);
+
+        // then
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    // TEST HELPERS
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
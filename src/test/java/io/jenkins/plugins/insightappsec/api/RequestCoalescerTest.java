@@ -0,0 +1,224 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.exception.APIException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestCoalescerTest {
+
+    private static final String API_KEY = "api-key";
+    private static final URI URI_0 = URI.create("https://test.com/ias/v1/search?index=0");
+    private static final String KEY = RequestCoalescer.key("POST", URI_0, "{}".getBytes(UTF_8), API_KEY);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void key_separatedByMethodUriBodyAndApiKey() {
+        // then
+        assertEquals(KEY, RequestCoalescer.key("POST", URI_0, "{}".getBytes(UTF_8), API_KEY));
+
+        assertNotEquals(KEY, RequestCoalescer.key("GET", URI_0, "{}".getBytes(UTF_8), API_KEY));
+        assertNotEquals(KEY, RequestCoalescer.key("POST", URI.create("https://test.com/ias/v1/search?index=1"), "{}".getBytes(UTF_8), API_KEY));
+        assertNotEquals(KEY, RequestCoalescer.key("POST", URI_0, "{\"type\":\"APP\"}".getBytes(UTF_8), API_KEY));
+        assertNotEquals(KEY, RequestCoalescer.key("POST", URI_0, "{}".getBytes(UTF_8), "other-api-key"));
+        assertFalse(KEY.contains(API_KEY));
+    }
+
+    @Test
+    public void execute_concurrentShareOneRequest() throws Exception {
+        // given
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object value = new Object();
+
+        Future<Object> first = executor.submit(() -> coalescer.execute(KEY, () -> {
+            requests.incrementAndGet();
+            started.countDown();
+            awaitQuietly(release);
+            return value;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // when
+        Future<Object> second = executor.submit(() -> coalescer.execute(KEY, () -> {
+            requests.incrementAndGet();
+            return new Object();
+        }));
+        awaitCoalesced(1);
+        release.countDown();
+
+        // then
+        assertSame(value, first.get(5, TimeUnit.SECONDS));
+        assertSame(value, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, requests.get());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    public void execute_sequentialNotShared() {
+        // when
+        Object value0 = coalescer.execute(KEY, Object::new);
+        Object value1 = coalescer.execute(KEY, Object::new);
+
+        // then
+        assertNotEquals(value0, value1);
+        assertEquals(0, coalescer.getCoalesced());
+    }
+
+    @Test
+    public void execute_concurrentShareFailure() throws Exception {
+        // given
+        APIException failure = new APIException();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> first = executor.submit(() -> coalescer.execute(KEY, () -> {
+            started.countDown();
+            awaitQuietly(release);
+            throw failure;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<Object> second = executor.submit(() -> coalescer.execute(KEY, Object::new));
+        awaitCoalesced(1);
+
+        // when
+        release.countDown();
+
+        // then
+        assertFailedWith(failure, first);
+        assertFailedWith(failure, second);
+
+        // and the next request is made afresh
+        Object value = new Object();
+        assertSame(value, coalescer.execute(KEY, () -> value));
+    }
+
+    @Test
+    public void executeAsync_concurrentShareOneRequest() {
+        // given
+        AtomicInteger requests = new AtomicInteger();
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        Object value = new Object();
+
+        // when
+        CompletableFuture<Object> first = coalescer.executeAsync(KEY, () -> {
+            requests.incrementAndGet();
+            return response;
+        });
+        CompletableFuture<Object> second = coalescer.executeAsync(KEY, () -> {
+            requests.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        second.cancel(false);
+        CompletableFuture<Object> third = coalescer.executeAsync(KEY, CompletableFuture::new);
+
+        response.complete(value);
+
+        // then
+        assertSame(value, first.join());
+        assertSame(value, third.join());
+        assertEquals(1, requests.get());
+        assertEquals(2, coalescer.getCoalesced());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    public void executeAsync_leaderCancelledWaitersComplete() {
+        // given
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        Object value = new Object();
+
+        CompletableFuture<Object> leader = coalescer.executeAsync(KEY, () -> response);
+        CompletableFuture<Object> waiter = coalescer.executeAsync(KEY, CompletableFuture::new);
+
+        // when
+        leader.cancel(false);
+        response.complete(value);
+
+        // then
+        assertTrue(leader.isCancelled());
+        assertSame(value, waiter.join());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    public void executeAsync_concurrentShareUnwrappedFailure() throws Exception {
+        // given
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        APIException failure = new APIException();
+
+        CompletableFuture<Object> leader = coalescer.executeAsync(KEY, () -> response.thenApply(value -> value));
+        CompletableFuture<Object> waiter = coalescer.executeAsync(KEY, CompletableFuture::new);
+
+        AtomicReference<Throwable> leaderFailure = new AtomicReference<>();
+        AtomicReference<Throwable> waiterFailure = new AtomicReference<>();
+        leader.whenComplete((value, e) -> leaderFailure.set(e));
+        waiter.whenComplete((value, e) -> waiterFailure.set(e));
+
+        // when
+        response.completeExceptionally(failure);
+
+        // then
+        assertSame(failure, leaderFailure.get());
+        assertSame(failure, waiterFailure.get());
+        assertFailedWith(failure, leader);
+        assertFailedWith(failure, waiter);
+    }
+
+    // TEST HELPERS
+
+    private void awaitCoalesced(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (coalescer.getCoalesced() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void assertFailedWith(Exception failure,
+                                         Future<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected failure");
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.exception.DeadlineExceededException;
+import org.apache.http.client.config.RequestConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RequestTimeoutsTest {
+
+    private final RequestTimeouts requestTimeouts = new RequestTimeouts();
+
+    @Before
+    public void setup() {
+        requestTimeouts.configure(5, 60, 30, 120);
+    }
+
+    @Test
+    public void getRequestConfig_perRequestType() {
+        // when
+        RequestConfig defaultConfig = requestTimeouts.getRequestConfig(RequestTimeouts.RequestType.DEFAULT, Deadline.NONE);
+        RequestConfig pollConfig = requestTimeouts.getRequestConfig(RequestTimeouts.RequestType.POLL, Deadline.NONE);
+        RequestConfig searchConfig = requestTimeouts.getRequestConfig(RequestTimeouts.RequestType.SEARCH, Deadline.NONE);
+
+        // then
+        assertEquals(60000, defaultConfig.getSocketTimeout());
+        assertEquals(30000, pollConfig.getSocketTimeout());
+        assertEquals(120000, searchConfig.getSocketTimeout());
+
+        assertEquals(5000, pollConfig.getConnectTimeout());
+        assertEquals(5000, pollConfig.getConnectionRequestTimeout());
+    }
+
+    @Test
+    public void getRequestConfig_boundedByDeadline() {
+        // when
+        RequestConfig config = requestTimeouts.getRequestConfig(RequestTimeouts.RequestType.SEARCH, Deadline.after(2000));
+
+        // then
+        assertTrue(config.getSocketTimeout() <= 2000);
+        assertTrue(config.getConnectTimeout() <= 2000);
+        assertTrue(config.getConnectionRequestTimeout() <= 2000);
+    }
+
+    @Test(expected = DeadlineExceededException.class)
+    public void getRequestConfig_deadlinePassed() {
+        requestTimeouts.getRequestConfig(RequestTimeouts.RequestType.DEFAULT, Deadline.at(System.currentTimeMillis() - 1));
+    }
+
+    @Test
+    public void configure_minimumOneSecond() {
+        // when
+        requestTimeouts.configure(0, 0, 0, 0);
+
+        // then
+        assertEquals(1000, requestTimeouts.getTimeout(RequestTimeouts.RequestType.DEFAULT));
+    }
+
+}
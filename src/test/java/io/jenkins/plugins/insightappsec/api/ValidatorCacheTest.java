@@ -0,0 +1,88 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import io.jenkins.plugins.insightappsec.mock.MockHttpResponse;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.junit.Test;
+
+import java.net.URI;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ValidatorCacheTest {
+
+    private static final String API_KEY = "api-key";
+    private static final URI URI_0 = URI.create("https://test.com/ias/v1/scans/0");
+    private static final URI URI_1 = URI.create("https://test.com/ias/v1/scans/1");
+
+    private final ValidatorCache validatorCache = new ValidatorCache();
+
+    @Test
+    public void put_eTagAndLastModified() {
+        // given
+        Object value = new Object();
+
+        HttpResponse response = MockHttpResponse.create(200);
+        response.setHeader(HttpHeaders.ETAG, "\"v1\"");
+        response.setHeader(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT");
+
+        // when
+        validatorCache.put(API_KEY, URI_0, response, value);
+
+        // then
+        ValidatorCache.Entry entry = validatorCache.get(API_KEY, URI_0);
+
+        assertEquals("\"v1\"", entry.getETag());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", entry.getLastModified());
+        assertSame(value, entry.getValue());
+    }
+
+    @Test
+    public void put_noValidators() {
+        // given
+        validatorCache.put(API_KEY, URI_0, withETag("\"v1\""), new Object());
+
+        // when
+        validatorCache.put(API_KEY, URI_0, MockHttpResponse.create(200), new Object());
+
+        // then
+        assertNull(validatorCache.get(API_KEY, URI_0));
+    }
+
+    @Test
+    public void get_separatedByApiKeyAndUri() {
+        // given
+        validatorCache.put(API_KEY, URI_0, withETag("\"v1\""), new Object());
+
+        // then
+        assertNull(validatorCache.get("other-api-key", URI_0));
+        assertNull(validatorCache.get(API_KEY, URI_1));
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsed() {
+        // given
+        validatorCache.put(API_KEY, URI_0, withETag("\"v1\""), new Object());
+
+        // when
+        for (int i = 0; i < ValidatorCache.MAX_ENTRIES; i++) {
+            validatorCache.put(API_KEY, URI.create("https://test.com/ias/v1/apps/" + i), withETag("\"v1\""), new Object());
+        }
+
+        // then
+        assertNull(validatorCache.get(API_KEY, URI_0));
+        assertEquals(ValidatorCache.MAX_ENTRIES, validatorCache.size());
+    }
+
+    // TEST HELPERS
+
+    private static HttpResponse withETag(String eTag) {
+        HttpResponse response = MockHttpResponse.create(200);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+
+        return response;
+    }
+
+}
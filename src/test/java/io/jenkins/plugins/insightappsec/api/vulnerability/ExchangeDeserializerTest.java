@@ -0,0 +1,117 @@
+package io.jenkins.plugins.insightappsec.api.vulnerability;
+
+import io.jenkins.plugins.insightappsec.api.FetchMode;
+import hudson.util.XStream2;
+import io.jenkins.plugins.insightappsec.api.Page;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static io.jenkins.plugins.insightappsec.MappingConfiguration.OBJECT_MAPPER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.JsonCodec.JSON_CODEC_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aMetadata;
+import static io.jenkins.plugins.insightappsec.api.search.PageModels.aPage;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.aCompleteVulnerability;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ExchangeDeserializerTest {
+
+    private final Vulnerability vulnerability = aCompleteVulnerability().build();
+
+    @Test
+    public void full() throws IOException {
+        // when
+        Vulnerability read = readPage(FetchMode.FULL);
+
+        // then
+        assertEquals(vulnerability, read);
+        assertTrue(read.getVariances().get(0).getOriginalExchange().isParsed());
+    }
+
+    @Test
+    public void summary_skipsExchanges() throws IOException {
+        // when
+        Vulnerability read = readPage(FetchMode.SUMMARY);
+
+        // then
+        Vulnerability.Variance variance = read.getVariances().get(0);
+
+        assertNull(variance.getOriginalExchange());
+        assertNull(variance.getAttackExchanges());
+        assertEquals("originalValue", variance.getOriginalValue());
+        assertEquals("attackValue", variance.getAttackValue());
+        assertEquals(vulnerability.getRootCause(), read.getRootCause());
+    }
+
+    @Test
+    public void lazy_parsesOnRead() throws IOException {
+        // when
+        Vulnerability read = readPage(FetchMode.LAZY);
+
+        // then
+        Vulnerability.Variance.Exchange exchange = read.getVariances().get(0).getAttackExchanges().get(1);
+
+        assertFalse(exchange.isParsed());
+        assertEquals("request", exchange.getRequest());
+        assertEquals("response", exchange.getResponse());
+        assertEquals(vulnerability, read);
+    }
+
+    @Test
+    public void lazy_parsedOnce() throws IOException {
+        // given
+        Vulnerability.Variance.Exchange exchange = readPage(FetchMode.LAZY).getVariances().get(0).getOriginalExchange();
+
+        // when
+        String request = exchange.getRequest();
+
+        // then
+        assertSame(request, exchange.getRequest());
+    }
+
+    @Test
+    public void lazy_savedParsed() throws IOException {
+        // given
+        XStream2 xStream = new XStream2();
+        Vulnerability read = readPage(FetchMode.LAZY);
+
+        // when
+        String xml = xStream.toXML(read);
+
+        // then
+        assertFalse(xml.contains("<raw>"));
+        assertTrue(xml.contains("<request>request</request>"));
+        assertEquals(vulnerability, xStream.fromXML(xml));
+    }
+
+    @Test
+    public void ignoresUnknownFields() throws IOException {
+        // when
+        Vulnerability.Variance.Exchange exchange = JSON_CODEC_INSTANCE.readerFor(Vulnerability.Variance.Exchange.class)
+                                                                      .readValue("{\"id\":{\"nested\":[1]},\"request\":\"request\",\"response\":null}");
+
+        // then
+        assertEquals("request", exchange.getRequest());
+        assertNull(exchange.getResponse());
+    }
+
+    // TEST HELPERS
+
+    private Vulnerability readPage(FetchMode fetchMode) throws IOException {
+        Page<Vulnerability> page = aPage().metadata(aMetadata().index(0).totalPages(1).build())
+                                          .data(Collections.singletonList(vulnerability))
+                                          .build();
+
+        byte[] json = OBJECT_MAPPER_INSTANCE.writeValueAsBytes(page);
+
+        Page<Vulnerability> read = JSON_CODEC_INSTANCE.pageReaderFor(Vulnerability.class, fetchMode).readValue(json);
+
+        return read.getData().get(0);
+    }
+
+}
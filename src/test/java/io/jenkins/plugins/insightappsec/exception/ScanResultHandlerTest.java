@@ -53,6 +53,24 @@ public class ScanResultHandlerTest {
                                             true);
     }
 
+    @Test
+    public void handleScanResult_vulnerabilityResultsIndicator_vulnerabilitiesCounted() {
+        // given
+        ScanResults scanResults = ScanResults.builder()
+                                             .vulnerabilityCount(3)
+                                             .build();
+
+        exception.expect(VulnerabilitySearchException.class);
+        exception.expectMessage("Non-filtered vulnerabilities were found");
+
+        // when
+        scanResultHandler.handleScanResults(run,
+                                            logger,
+                                            BuildAdvanceIndicator.VULNERABILITY_QUERY,
+                                            scanResults,
+                                            false);
+    }
+
     @Test
     public void handleScanResult_vulnerabilityResultsIndicator_noVulnerabilitiesPresent() {
         // given
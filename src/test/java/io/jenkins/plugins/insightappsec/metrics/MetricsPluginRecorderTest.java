@@ -0,0 +1,88 @@
+package io.jenkins.plugins.insightappsec.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import io.jenkins.plugins.insightappsec.api.PageSizeTuner;
+import io.jenkins.plugins.insightappsec.api.vulnerability.Vulnerability;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsPluginRecorderTest {
+
+    private static final String ENDPOINT = "GET /scans/{id}/execution-details";
+
+    private final MetricRegistry registry = new MetricRegistry();
+
+    private final MetricsPluginRecorder recorder = new MetricsPluginRecorder(registry);
+
+    @Test
+    public void endpointName() {
+        // when
+        String name = MetricsPluginRecorder.endpointName(ENDPOINT, "latency");
+
+        // then
+        assertEquals("insightappsec.api.get.scans.id.execution-details.latency", name);
+    }
+
+    @Test
+    public void onResponse_timesAndCountsByStatus() {
+        // when
+        recorder.onResponse(ENDPOINT, 200, TimeUnit.MILLISECONDS.toNanos(5));
+        recorder.onResponse(ENDPOINT, 503, TimeUnit.MILLISECONDS.toNanos(5));
+
+        // then
+        assertEquals(2, registry.timer("insightappsec.api.get.scans.id.execution-details.latency").getCount());
+        assertEquals(1, registry.counter("insightappsec.api.get.scans.id.execution-details.responses.200").getCount());
+        assertEquals(1, registry.counter("insightappsec.api.get.scans.id.execution-details.responses.503").getCount());
+        assertEquals(1, registry.counter("insightappsec.api.responses.5xx").getCount());
+    }
+
+    @Test
+    public void onFailure_countsErrors() {
+        // when
+        recorder.onFailure(ENDPOINT, TimeUnit.MILLISECONDS.toNanos(5));
+
+        // then
+        assertEquals(1, registry.counter("insightappsec.api.get.scans.id.execution-details.errors").getCount());
+        assertEquals(1, registry.counter("insightappsec.api.errors").getCount());
+    }
+
+    @Test
+    public void onResponseBytes_histogram() {
+        // when
+        recorder.onResponseBytes(ENDPOINT, 100);
+        recorder.onResponseBytes(ENDPOINT, 300);
+
+        // then
+        assertEquals(300, registry.histogram("insightappsec.api.get.scans.id.execution-details.response-bytes").getSnapshot().getMax());
+    }
+
+    @Test
+    public void onPage_namedByEndpointWhateverTheHost() {
+        // when
+        recorder.onPageSize(PageSizeTuner.key("us.api.insight.rapid7.com", "/search", Vulnerability.class), 1000);
+        recorder.onPage(PageSizeTuner.key("us.api.insight.rapid7.com", "/search", Vulnerability.class), 1000);
+        recorder.onPage(PageSizeTuner.key("http://localhost:8080", "/search", Vulnerability.class), 10);
+
+        // then
+        assertEquals(1000, registry.histogram("insightappsec.api.page-size.search.vulnerability").getSnapshot().getMax());
+        assertEquals(2, registry.counter("insightappsec.api.pages.search.vulnerability").getCount());
+    }
+
+    @Test
+    public void registerGauges_poolsOfEachRegion() {
+        // when
+        recorder.registerGauges();
+        recorder.registerGauges(); // re-registration replaces
+
+        // then
+        assertTrue(registry.getGauges().containsKey("insightappsec.pool.us.leased"));
+        assertTrue(registry.getGauges().containsKey("insightappsec.async-pool.eu.max"));
+        assertEquals(0, registry.getGauges().get("insightappsec.pool.ap.pending").getValue());
+        assertTrue(registry.getGauges().containsKey("insightappsec.rate-limiter.throttled"));
+    }
+
+}
@@ -0,0 +1,405 @@
+package io.jenkins.plugins.insightappsec.mock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jenkins.plugins.insightappsec.api.Page;
+import io.jenkins.plugins.insightappsec.api.app.App;
+import io.jenkins.plugins.insightappsec.api.scan.Scan;
+import io.jenkins.plugins.insightappsec.api.scan.ScanAction;
+import io.jenkins.plugins.insightappsec.api.scan.ScanExecutionDetails;
+import io.jenkins.plugins.insightappsec.api.search.SearchRequest;
+import io.jenkins.plugins.insightappsec.api.vulnerability.Vulnerability;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.entity.ContentType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static io.jenkins.plugins.insightappsec.MappingConfiguration.OBJECT_MAPPER_INSTANCE;
+import static io.jenkins.plugins.insightappsec.api.app.AppModels.aCompleteApp;
+import static io.jenkins.plugins.insightappsec.api.scan.ScanExecutionDetailsModels.aCompleteScanExecutionDetails;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.aCompleteVulnerability;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.aCompleteVariance;
+import static io.jenkins.plugins.insightappsec.api.vulnerability.VulnerabilityModels.anExchange;
+
+/**
+ * A stand-in for the InsightAppSec API on a local port, so that the real client stack, i.e. sockets, pagination,
+ * retries and the polling loop, can be exercised offline by tests and benchmarks.
+ * Serves 'scans', 'scans/{id}', 'scans/{id}/execution-details', 'scans/{id}/action', 'search' and 'apps' under
+ * '/ias/v1', with each scan moving through a scripted lifecycle as it is polled, and configurable result volumes.
+ * Point APIs at it by using {@link #getBaseUrl()} as their host.
+ */
+public class StubInsightAppSecServer implements Closeable {
+
+    public static final String BASE_PATH = "/ias/v1";
+
+    private static final Pattern SCAN_PATH = Pattern.compile(BASE_PATH + "/scans/([^/]+)(/execution-details|/action)?");
+    private static final Pattern SCAN_ID_CLAUSE = Pattern.compile("scans?\\.id='([^']+)'");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final Map<String, StubScan> scans = new ConcurrentHashMap<>();
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+
+    private volatile List<Scan.ScanStatus> lifecycle = Arrays.asList(Scan.ScanStatus.PENDING,
+                                                                     Scan.ScanStatus.RUNNING,
+                                                                     Scan.ScanStatus.COMPLETE);
+    private volatile int pollsPerStatus = 1;
+    private volatile int vulnerabilitiesPerScan;
+    private volatile int appCount;
+    private volatile int failureStatusCode;
+    private volatile long latencyMillis;
+    private volatile String vulnerabilityJson = "{}";
+
+    private StubInsightAppSecServer(HttpServer server,
+                                    ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+
+        withVulnerabilities(0, 0);
+    }
+
+    /**
+     * Start a server on an ephemeral port of the loopback address.
+     */
+    public static StubInsightAppSecServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+
+        StubInsightAppSecServer stub = new StubInsightAppSecServer(server, executor);
+        server.createContext(BASE_PATH, stub::handle);
+        server.start();
+
+        return stub;
+    }
+
+    /**
+     * @return the base URL of the server, e.g. 'http://127.0.0.1:54321', for use as the host of APIs.
+     */
+    public String getBaseUrl() {
+        return String.format("http://%s:%s",
+                             server.getAddress().getAddress().getHostAddress(),
+                             server.getAddress().getPort());
+    }
+
+    /**
+     * Script the lifecycle of scans submitted from now. Each scan reports each status for a number of polls, by ID or
+     * by search, then remains in the last status.
+     */
+    public StubInsightAppSecServer withLifecycle(int pollsPerStatus,
+                                                 Scan.ScanStatus... statuses) {
+        this.pollsPerStatus = pollsPerStatus;
+        this.lifecycle = Arrays.asList(statuses);
+
+        return this;
+    }
+
+    /**
+     * @param perScan       The vulnerabilities found by a search of any scan.
+     * @param exchangeBytes The size of the request and response of each exchange, to scale the size of results.
+     */
+    public StubInsightAppSecServer withVulnerabilities(int perScan,
+                                                       int exchangeBytes) {
+        String padding = StringUtils.repeat("x", exchangeBytes);
+        Vulnerability.Variance.Exchange exchange = anExchange().request(padding)
+                                                               .response(padding)
+                                                               .build();
+        Vulnerability vulnerability = aCompleteVulnerability().variances(Collections.singletonList(aCompleteVariance().originalExchange(exchange)
+                                                                                                                    .attackExchanges(Collections.singletonList(exchange))
+                                                                                                                    .build()))
+                                                              .build();
+
+        this.vulnerabilityJson = toJson(vulnerability);
+        this.vulnerabilitiesPerScan = perScan;
+
+        return this;
+    }
+
+    public StubInsightAppSecServer withApps(int count) {
+        this.appCount = count;
+
+        return this;
+    }
+
+    /**
+     * Delay every response, e.g. to simulate the latency of the real API.
+     */
+    public StubInsightAppSecServer withLatency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+
+        return this;
+    }
+
+    /**
+     * Fail the next requests, whatever they are, with a status code.
+     */
+    public StubInsightAppSecServer failNext(int count,
+                                            int statusCode) {
+        this.failureStatusCode = statusCode;
+        this.failuresRemaining.set(count);
+
+        return this;
+    }
+
+    /**
+     * @return the method and path of each request received, e.g. 'GET /ias/v1/scans/{id}', in order.
+     */
+    public List<String> getRequests() {
+        synchronized (requests) {
+            return new ArrayList<>(requests);
+        }
+    }
+
+    public long countRequests(String method,
+                              String pathPrefix) {
+        return getRequests().stream()
+                            .filter(request -> request.startsWith(method + " " + pathPrefix))
+                            .count();
+    }
+
+    /**
+     * @return the actions submitted for a scan, in order.
+     */
+    public List<ScanAction.Action> getActions(String scanId) {
+        return Optional.ofNullable(scans.get(scanId))
+                       .map(scan -> new ArrayList<>(scan.actions))
+                       .orElseGet(ArrayList::new);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // HANDLERS
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            requests.add(method + " " + path);
+
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+
+            if (failuresRemaining.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                respond(exchange, failureStatusCode, null);
+                return;
+            }
+
+            route(exchange, method, path);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            respond(exchange, HttpStatus.SC_INTERNAL_SERVER_ERROR, null);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange,
+                       String method,
+                       String path) throws IOException {
+        if ("POST".equals(method) && path.equals(BASE_PATH + "/scans")) {
+            submitScan(exchange);
+        } else if ("POST".equals(method) && path.equals(BASE_PATH + "/search")) {
+            search(exchange);
+        } else if ("GET".equals(method) && path.equals(BASE_PATH + "/apps")) {
+            respondPage(exchange, appCount, index -> toJson(aCompleteApp().id("app-" + index).build()));
+        } else {
+            Matcher matcher = SCAN_PATH.matcher(path);
+            StubScan scan = matcher.matches() ? scans.get(matcher.group(1)) : null;
+
+            if (scan == null) {
+                respond(exchange, HttpStatus.SC_NOT_FOUND, null);
+            } else if ("GET".equals(method) && matcher.group(2) == null) {
+                respond(exchange, HttpStatus.SC_OK, toJson(scan.poll()));
+            } else if ("GET".equals(method) && "/execution-details".equals(matcher.group(2))) {
+                respond(exchange, HttpStatus.SC_OK, toJson(executionDetails()));
+            } else if ("PUT".equals(method) && "/action".equals(matcher.group(2))) {
+                scan.onAction(read(exchange, ScanAction.class).getAction());
+                respond(exchange, HttpStatus.SC_OK, null);
+            } else {
+                respond(exchange, HttpStatus.SC_METHOD_NOT_ALLOWED, null);
+            }
+        }
+    }
+
+    private void submitScan(HttpExchange exchange) throws IOException {
+        Scan submitted = read(exchange, Scan.class);
+
+        StubScan scan = new StubScan(UUID.randomUUID().toString(), submitted, lifecycle, pollsPerStatus);
+        scans.put(scan.id, scan);
+
+        exchange.getResponseHeaders().add(HttpHeaders.LOCATION, getBaseUrl() + BASE_PATH + "/scans/" + scan.id);
+        respond(exchange, HttpStatus.SC_CREATED, null);
+    }
+
+    private void search(HttpExchange exchange) throws IOException {
+        SearchRequest searchRequest = read(exchange, SearchRequest.class);
+
+        switch (searchRequest.getType()) {
+            case VULNERABILITY:
+                respondPage(exchange, vulnerabilitiesPerScan, index -> vulnerabilityJson);
+                break;
+            case SCAN:
+                List<String> found = new ArrayList<>();
+                Matcher matcher = SCAN_ID_CLAUSE.matcher(searchRequest.getQuery());
+                while (matcher.find()) {
+                    StubScan scan = scans.get(matcher.group(1));
+                    if (scan != null) {
+                        found.add(toJson(scan.poll()));
+                    }
+                }
+                respondPage(exchange, found.size(), found::get);
+                break;
+            default:
+                respondPage(exchange, 0, index -> null);
+        }
+    }
+
+    // HELPERS
+
+    /**
+     * Respond with the page of results requested by the 'index' and 'size' parameters, built without a model of the
+     * whole page so that large volumes are cheap to serve.
+     */
+    private void respondPage(HttpExchange exchange,
+                             int total,
+                             ResultJson resultJson) throws IOException {
+        Map<String, String> params = URLEncodedUtils.parse(exchange.getRequestURI(), StandardCharsets.UTF_8.name())
+                                                    .stream()
+                                                    .collect(Collectors.toMap(NameValuePair::getName, NameValuePair::getValue, (p0, p1) -> p1));
+        int index = Integer.parseInt(params.getOrDefault("index", "0"));
+        int size = Integer.parseInt(params.getOrDefault("size", "1000"));
+
+        int totalPages = (total + size - 1) / size;
+        int from = Math.min(total, index * size);
+        int to = Math.min(total, from + size);
+
+        StringBuilder page = new StringBuilder();
+        page.append("{\"metadata\":").append(toJson(new Page.Metadata(index, totalPages))).append(",\"data\":[");
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                page.append(',');
+            }
+            page.append(resultJson.get(i));
+        }
+        page.append("]}");
+
+        respond(exchange, HttpStatus.SC_OK, page.toString());
+    }
+
+    private static ScanExecutionDetails executionDetails() {
+        return aCompleteScanExecutionDetails().build();
+    }
+
+    private static <T> T read(HttpExchange exchange,
+                              Class<T> clazz) throws IOException {
+        return OBJECT_MAPPER_INSTANCE.readValue(exchange.getRequestBody(), clazz);
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return OBJECT_MAPPER_INSTANCE.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange,
+                                int statusCode,
+                                String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(statusCode, -1);
+            return;
+        }
+
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.toString());
+        exchange.sendResponseHeaders(statusCode, body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            IOUtils.write(body, out);
+        }
+    }
+
+    private interface ResultJson {
+
+        String get(int index);
+
+    }
+
+    private static class StubScan {
+
+        private final String id;
+        private final Scan submitted;
+        private final List<Scan.ScanStatus> lifecycle;
+        private final int pollsPerStatus;
+        private final List<ScanAction.Action> actions = Collections.synchronizedList(new ArrayList<>());
+
+        private int polls;
+        private Scan.ScanStatus actionStatus;
+
+        private StubScan(String id,
+                         Scan submitted,
+                         List<Scan.ScanStatus> lifecycle,
+                         int pollsPerStatus) {
+            this.id = id;
+            this.submitted = submitted;
+            this.lifecycle = lifecycle;
+            this.pollsPerStatus = pollsPerStatus;
+        }
+
+        /**
+         * @return the scan as of this poll, moving it on through its lifecycle.
+         */
+        private synchronized Scan poll() {
+            Scan.ScanStatus status = actionStatus != null
+                    ? actionStatus
+                    : lifecycle.get(Math.min(polls / Math.max(1, pollsPerStatus), lifecycle.size() - 1));
+            polls++;
+
+            return new Scan(id, submitted.getScanConfig(), status);
+        }
+
+        /**
+         * A stopped scan completes with the results found so far, a cancelled scan is abandoned.
+         */
+        private synchronized void onAction(ScanAction.Action action) {
+            actions.add(action);
+            actionStatus = action == ScanAction.Action.CANCEL ? Scan.ScanStatus.CANCELING : Scan.ScanStatus.COMPLETE;
+        }
+
+    }
+
+}
@@ -0,0 +1,203 @@
+package io.jenkins.plugins.insightappsec.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JdkHttpTransportTest {
+
+    private static final String BODY = "{\"test\":\"test\"}";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private HttpServer server;
+    private JdkHttpTransport transport;
+
+    private volatile String receivedApiKey;
+    private volatile String receivedContentType;
+    private volatile String receivedBody;
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/test", this::respond);
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange);
+        });
+        server.start();
+
+        transport = new JdkHttpTransport(HttpClient.newHttpClient());
+    }
+
+    @After
+    public void teardown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void execute_get() throws IOException {
+        // given
+        HttpGet get = new HttpGet(uri("/test"));
+        get.addHeader("x-api-key", "key");
+
+        // when
+        HttpResponse response = transport.execute(get);
+
+        // then
+        assertEquals(200, response.getStatusLine().getStatusCode());
+        assertEquals("\"etag\"", response.getFirstHeader(HttpHeaders.ETAG).getValue());
+        assertEquals(ContentType.APPLICATION_JSON.getMimeType(), response.getEntity().getContentType().getValue());
+        assertEquals(BODY, IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8));
+        assertEquals("key", receivedApiKey);
+    }
+
+    @Test
+    public void execute_post() throws IOException {
+        // given
+        HttpPost post = new HttpPost(uri("/test"));
+        post.setEntity(new StringEntity(BODY, ContentType.APPLICATION_JSON));
+
+        // when
+        transport.execute(post);
+
+        // then
+        assertEquals(BODY, receivedBody);
+        assertEquals(ContentType.APPLICATION_JSON.toString(), receivedContentType);
+    }
+
+    @Test
+    public void execute_async() throws Exception {
+        // given
+        CompletableFuture<HttpResponse> completed = new CompletableFuture<>();
+
+        // when
+        transport.execute(new HttpGet(uri("/test")), callback(completed));
+
+        // then
+        HttpResponse response = completed.get(10, TimeUnit.SECONDS);
+
+        assertEquals(200, response.getStatusLine().getStatusCode());
+        assertEquals(BODY, IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void execute_aborted() throws Exception {
+        // given
+        HttpGet get = new HttpGet(uri("/slow"));
+        CompletableFuture.runAsync(() -> {
+            sleep(200);
+            get.abort();
+        });
+
+        // when
+        try {
+            transport.execute(get);
+
+            fail("Expected abort");
+        } catch (RequestAbortedException e) {
+            // then
+            // expected exception
+        }
+    }
+
+    @Test
+    public void execute_timesOut() throws Exception {
+        // given
+        HttpGet get = new HttpGet(uri("/slow"));
+        get.setConfig(RequestConfig.custom().setSocketTimeout(200).build());
+
+        // when
+        try {
+            transport.execute(get);
+
+            fail("Expected timeout");
+        } catch (IOException e) {
+            // then
+            assertTrue(e instanceof SocketTimeoutException);
+            assertTrue(e.getCause() instanceof java.net.http.HttpTimeoutException);
+        }
+    }
+
+    // TEST HELPERS
+
+    private void respond(HttpExchange exchange) throws IOException {
+        receivedApiKey = exchange.getRequestHeaders().getFirst("x-api-key");
+        receivedContentType = exchange.getRequestHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+        receivedBody = IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add(HttpHeaders.ETAG, "\"etag\"");
+        exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.getMimeType());
+        exchange.sendResponseHeaders(200, body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(String.format("http://localhost:%s%s", server.getAddress().getPort(), path));
+    }
+
+    private static FutureCallback<HttpResponse> callback(CompletableFuture<HttpResponse> completed) {
+        return new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse result) {
+                completed.complete(result);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                completed.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                completed.cancel(false);
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
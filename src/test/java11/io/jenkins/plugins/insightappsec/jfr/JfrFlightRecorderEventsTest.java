@@ -0,0 +1,119 @@
+package io.jenkins.plugins.insightappsec.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.jenkins.plugins.insightappsec.jfr.FlightRecorderEvents.FLIGHT_RECORDER_EVENTS_INSTANCE;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class JfrFlightRecorderEventsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final JfrFlightRecorderEvents events = new JfrFlightRecorderEvents();
+
+    private Recording recording;
+
+    @Before
+    public void setup() {
+        recording = new Recording();
+        recording.enable(ApiCallEvent.NAME);
+        recording.enable(PollEvent.NAME);
+        recording.enable(ResultsProcessingEvent.NAME);
+        recording.start();
+    }
+
+    @After
+    public void teardown() {
+        recording.close();
+    }
+
+    @Test
+    public void instance_loadedWhenAvailable() {
+        // then
+        assertTrue(FLIGHT_RECORDER_EVENTS_INSTANCE.isAvailable());
+    }
+
+    @Test
+    public void beginApiCall_recorded() throws IOException {
+        // when
+        FlightRecorderEvents.ApiCall call = events.beginApiCall("GET /scans/{id}");
+        call.end(200, 1024);
+
+        // then
+        assertTrue(call.isEnabled());
+
+        RecordedEvent event = single(ApiCallEvent.NAME);
+        assertEquals("GET /scans/{id}", event.getString("endpoint"));
+        assertEquals(200, event.getInt("statusCode"));
+        assertEquals(1024, event.getLong("bytes"));
+    }
+
+    @Test
+    public void beginPoll_recordsFailure() throws IOException {
+        // when
+        events.beginPoll("scan-id").end(null);
+
+        // then
+        RecordedEvent event = single(PollEvent.NAME);
+        assertEquals("scan-id", event.getString("scanId"));
+        assertTrue(event.getBoolean("failed"));
+    }
+
+    @Test
+    public void beginResultsProcessing_recorded() throws IOException {
+        // when
+        events.beginResultsProcessing("job#1").end(3);
+
+        // then
+        RecordedEvent event = single(ResultsProcessingEvent.NAME);
+        assertEquals("job#1", event.getString("buildId"));
+        assertEquals(3, event.getInt("vulnerabilityCount"));
+    }
+
+    @Test
+    public void beginApiCall_notRecording() {
+        // given
+        recording.disable(ApiCallEvent.NAME);
+
+        // when
+        FlightRecorderEvents.ApiCall call = events.beginApiCall("GET /scans/{id}");
+
+        // then
+        assertFalse(call.isEnabled());
+        assertSame(FlightRecorderEvents.ApiCall.NONE, call);
+    }
+
+    // TEST HELPERS
+
+    private RecordedEvent single(String name) throws IOException {
+        recording.stop();
+
+        Path dump = folder.getRoot().toPath().resolve("test.jfr");
+        recording.dump(dump);
+
+        List<RecordedEvent> recorded = RecordingFile.readAllEvents(dump)
+                                                    .stream()
+                                                    .filter(e -> e.getEventType().getName().equals(name))
+                                                    .collect(toList());
+        assertEquals(1, recorded.size());
+
+        return recorded.get(0);
+    }
+
+}